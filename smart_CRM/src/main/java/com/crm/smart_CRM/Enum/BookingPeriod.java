@@ -0,0 +1,43 @@
+package com.crm.smart_CRM.Enum;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Period bookings are counted over, as a [start, end) date range around a day
+ */
+public enum BookingPeriod {
+    TODAY,
+    WEEK,
+    MONTH,
+    SEMESTER,
+    CUSTOM;
+
+    /**
+     * First day of the period the date falls in (weeks start on Monday, semesters in January and July)
+     */
+    public LocalDate startOf(LocalDate date) {
+        return switch (this) {
+            case TODAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case SEMESTER -> LocalDate.of(date.getYear(), date.getMonthValue() <= 6 ? 1 : 7, 1);
+            case CUSTOM -> throw new IllegalStateException("A custom period has no fixed range");
+        };
+    }
+
+    /**
+     * First day after the period the date falls in
+     */
+    public LocalDate endOf(LocalDate date) {
+        LocalDate start = startOf(date);
+        return switch (this) {
+            case TODAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+            case SEMESTER -> start.plusMonths(6);
+            case CUSTOM -> throw new IllegalStateException("A custom period has no fixed range");
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.crm.smart_CRM.Enum;
+
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY
+}
@@ -0,0 +1,7 @@
+package com.crm.smart_CRM.Enum;
+
+
+public enum SeriesConflictPolicy {
+    SKIP, // create the free occurrences, report the rest
+    FAIL  // create nothing if any occurrence is rejected
+}
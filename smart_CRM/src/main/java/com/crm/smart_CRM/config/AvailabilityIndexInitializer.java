@@ -0,0 +1,28 @@
+package com.crm.smart_CRM.config;
+
+import java.time.LocalDate;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.service.BookingAvailabilityIndex;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Warms the in-memory availability index from CONFIRMED bookings at startup
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndexInitializer implements CommandLineRunner {
+
+    private final BookingRepository bookingRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+
+    @Override
+    public void run(String... args) {
+        LocalDate today = LocalDate.now();
+        availabilityIndex.warm(bookingRepository.findConfirmedIntervalsFrom(today), today);
+    }
+}
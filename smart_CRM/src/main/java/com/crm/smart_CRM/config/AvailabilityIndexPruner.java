@@ -0,0 +1,25 @@
+package com.crm.smart_CRM.config;
+
+import java.time.LocalDate;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.crm.smart_CRM.service.BookingAvailabilityIndex;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Drops past resource-days from the availability index after midnight
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndexPruner {
+
+    private final BookingAvailabilityIndex availabilityIndex;
+
+    @Scheduled(cron = "${booking.availability-prune.cron:0 5 0 * * *}")
+    public void prune() {
+        availabilityIndex.pruneBefore(LocalDate.now());
+    }
+}
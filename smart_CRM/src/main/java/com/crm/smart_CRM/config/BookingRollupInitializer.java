@@ -0,0 +1,23 @@
+package com.crm.smart_CRM.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.crm.smart_CRM.service.BookingRollupService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Backfills the booking rollups at startup when they have never been built
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingRollupInitializer implements CommandLineRunner {
+
+    private final BookingRollupService bookingRollupService;
+
+    @Override
+    public void run(String... args) {
+        bookingRollupService.backfillIfEmpty();
+    }
+}
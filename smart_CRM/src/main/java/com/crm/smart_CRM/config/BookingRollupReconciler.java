@@ -0,0 +1,23 @@
+package com.crm.smart_CRM.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.crm.smart_CRM.service.BookingRollupService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Periodically rebuilds the booking rollups from the bookings table
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingRollupReconciler {
+
+    private final BookingRollupService bookingRollupService;
+
+    @Scheduled(cron = "${booking.rollup-rebuild.cron:0 45 3 * * *}")
+    public void reconcile() {
+        bookingRollupService.rebuildRollups();
+    }
+}
@@ -0,0 +1,23 @@
+package com.crm.smart_CRM.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.crm.smart_CRM.service.ReviewService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Periodically rebuilds the rating aggregates stored on resources from the reviews table
+ */
+@Component
+@RequiredArgsConstructor
+public class RatingAggregateReconciler {
+
+    private final ReviewService reviewService;
+
+    @Scheduled(cron = "${resource.rating-reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        reviewService.reconcileRatingAggregates();
+    }
+}
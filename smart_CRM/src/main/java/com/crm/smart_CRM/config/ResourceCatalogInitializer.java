@@ -0,0 +1,23 @@
+package com.crm.smart_CRM.config;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.crm.smart_CRM.service.ResourceCatalog;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Loads the in-memory resource catalog snapshot at startup
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceCatalogInitializer implements CommandLineRunner {
+
+    private final ResourceCatalog resourceCatalog;
+
+    @Override
+    public void run(String... args) {
+        resourceCatalog.warm();
+    }
+}
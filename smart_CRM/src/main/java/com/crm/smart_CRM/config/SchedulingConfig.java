@@ -0,0 +1,12 @@
+package com.crm.smart_CRM.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled maintenance jobs
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -8,6 +8,7 @@ import java.util.List;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,17 +16,30 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.crm.smart_CRM.dto.request.BatchBookingRequest;
 import com.crm.smart_CRM.dto.request.BookingCancellationRequest;
 import com.crm.smart_CRM.dto.request.BookingRequest;
+import com.crm.smart_CRM.dto.request.BookingSeriesRequest;
+import com.crm.smart_CRM.dto.request.BookingView;
 import com.crm.smart_CRM.dto.response.ApiResponse;
+import com.crm.smart_CRM.dto.response.AvailabilityMatrixResponse;
 import com.crm.smart_CRM.dto.response.AvailableSlotsResponse;
+import com.crm.smart_CRM.dto.response.BatchBookingResponse;
+import com.crm.smart_CRM.dto.response.BookingPageResponse;
 import com.crm.smart_CRM.dto.response.BookingResponse;
+import com.crm.smart_CRM.dto.response.BookingSeriesResponse;
 import com.crm.smart_CRM.dto.response.BookingStatistics;
+import com.crm.smart_CRM.dto.response.CursorPage;
+import com.crm.smart_CRM.service.BookingPageService;
+import com.crm.smart_CRM.service.BookingSeriesService;
 import com.crm.smart_CRM.service.BookingService;
+import com.crm.smart_CRM.service.IdempotencyStore;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -38,27 +52,77 @@ import lombok.extern.slf4j.Slf4j;
 @CrossOrigin(origins = "*")
 public class BookingController {
     
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    
     private final BookingService bookingService;
+    private final BookingSeriesService bookingSeriesService;
+    private final BookingPageService bookingPageService;
+    private final IdempotencyStore idempotencyStore;
     
     /**
-     * Create a new booking
+     * Create a new booking; retries carrying the same Idempotency-Key get the original booking
      * POST /api/bookings
      */
     @PostMapping("/ss")
     public ResponseEntity<ApiResponse<BookingResponse>> createBooking(
-            @Valid @RequestBody BookingRequest request) {
+            @Valid @RequestBody BookingRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         System.out.println("create booking is starting....");
         log.info("Create booking request received for user: {} and resource: {}", 
                 request.getUserId(), request.getResourceId());
         System.out.println("create booking is starting....");
 
-        BookingResponse booking = bookingService.createBooking(request);
+        BookingResponse booking = idempotencyStore.execute(
+                "create", idempotencyKey, request,
+                () -> bookingService.createBooking(request));
         
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Booking created successfully", booking));
     }
     
+    /**
+     * Create several bookings at once
+     * POST /api/bookings/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchBookingResponse>> createBookings(
+            @Valid @RequestBody BatchBookingRequest request) {
+        
+        log.info("Batch booking request received with {} bookings", request.getBookings().size());
+        
+        BatchBookingResponse result = bookingService.createBookings(request.getBookings(), request.isAllOrNothing());
+        
+        return ResponseEntity
+                .status(result.getSucceeded() > 0 ? HttpStatus.CREATED : HttpStatus.OK)
+                .body(ApiResponse.success(result.getSucceeded() + " of " + result.getRequested()
+                        + " bookings created", result));
+    }
+    
+    /**
+     * Create a recurring booking series
+     * POST /api/bookings/series
+     */
+    @PostMapping("/series")
+    public ResponseEntity<ApiResponse<BookingSeriesResponse>> createSeries(
+            @Valid @RequestBody BookingSeriesRequest request) {
+        
+        log.info("Create booking series request for user: {} and resource: {}", 
+                request.getUserId(), request.getResourceId());
+        
+        BookingSeriesResponse series = bookingSeriesService.createSeries(request);
+        
+        if (series.getSeriesId() == null) {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse<>(false, "Booking series not created", series));
+        }
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Booking series created with " + series.getCreatedCount() 
+                        + " occurrences", series));
+    }
+    
     /**
      * Get available time slots for a resource
      * GET /api/bookings/available-slots?resourceId={id}&date={date}
@@ -75,6 +139,40 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success("Available slots retrieved successfully", slots));
     }
     
+    /**
+     * Get everything a resource's booking page shows in one response
+     * GET /api/bookings/page?resourceId={id}&date={date}&reviews={limit}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<BookingPageResponse>> getBookingPage(
+            @RequestParam Long resourceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "5") int reviews) {
+        
+        log.info("Get booking page request for resource: {} on date: {}", resourceId, date);
+        
+        BookingPageResponse page = bookingPageService.getBookingPage(resourceId, date, reviews);
+        
+        return ResponseEntity.ok(ApiResponse.success("Booking page retrieved successfully", page));
+    }
+    
+    /**
+     * Get slot occupancy of a category's resources over a date range
+     * GET /api/bookings/availability-matrix?categoryId={id}&startDate={date}&endDate={date}
+     */
+    @GetMapping("/availability-matrix")
+    public ResponseEntity<ApiResponse<AvailabilityMatrixResponse>> getAvailabilityMatrix(
+            @RequestParam Long categoryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        log.info("Get availability matrix request for category: {} from {} to {}", categoryId, startDate, endDate);
+        
+        AvailabilityMatrixResponse matrix = bookingService.getAvailabilityMatrix(categoryId, startDate, endDate);
+        
+        return ResponseEntity.ok(ApiResponse.success("Availability matrix retrieved successfully", matrix));
+    }
+    
     /**
      * Check booking availability
      * GET /api/bookings/check-availability?resourceId={id}&date={date}&startTime={time}&endTime={time}
@@ -98,57 +196,88 @@ public class BookingController {
     
     /**
      * Get user's bookings
-     * GET /api/bookings/my-bookings?userId={id}
+     * GET /api/bookings/my-bookings?userId={id}&fields={names}&expand={associations}
      */
     @GetMapping("/my-bookings")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getUserBookings(
-            @RequestParam Long userId) {
+            @RequestParam Long userId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
         
         log.info("Get user bookings request for user ID: {}", userId);
         
-        List<BookingResponse> bookings = bookingService.getUserBookings(userId);
+        List<BookingResponse> bookings = bookingService.getUserBookings(userId, BookingView.of(fields, expand));
         
         return ResponseEntity.ok(ApiResponse.success("Bookings retrieved successfully", bookings));
     }
     
     /**
-     * Get all bookings (Admin only)
-     * GET /api/bookings
+     * Get all bookings (Admin only), paginated by ID
+     * GET /api/bookings?after={lastId}&size={size}&fields={names}&expand={associations}
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<BookingResponse>>> getAllBookings() {
-        log.info("Get all bookings request received");
+    public ResponseEntity<ApiResponse<CursorPage<BookingResponse>>> getAllBookings(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+        log.info("Get all bookings request received (after: {}, size: {})", after, size);
         
-        List<BookingResponse> bookings = bookingService.getAllBookings();
+        CursorPage<BookingResponse> bookings = bookingService.getAllBookings(after, size,
+                BookingView.of(fields, expand));
         
         return ResponseEntity.ok(ApiResponse.success("Bookings retrieved successfully", bookings));
     }
     
+    /**
+     * Stream all bookings (Admin only) as NDJSON, one booking per line
+     * GET /api/bookings?after={lastId}&fields={names}&expand={associations} with Accept: application/x-ndjson
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookings(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+        log.info("Stream all bookings request received (after: {})", after);
+        
+        // Parsed up front: once streaming starts the status can no longer become 400
+        BookingView view = BookingView.of(fields, expand);
+        StreamingResponseBody body = out -> bookingService.streamAllBookings(after, view, out);
+        
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     /**
      * Get booking by ID
-     * GET /api/bookings/{id}
+     * GET /api/bookings/{id}?fields={names}&expand={associations}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<BookingResponse>> getBookingById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<BookingResponse>> getBookingById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
         log.info("Get booking by ID request: {}", id);
         
-        BookingResponse booking = bookingService.getBookingById(id);
+        BookingResponse booking = bookingService.getBookingById(id, BookingView.of(fields, expand));
         
         return ResponseEntity.ok(ApiResponse.success("Booking retrieved successfully", booking));
     }
     
     /**
-     * Cancel booking
+     * Cancel booking; retries carrying the same Idempotency-Key get the original result
      * PUT /api/bookings/{id}/cancel
      */
     @PutMapping("/{id}/cancel")
     public ResponseEntity<ApiResponse<BookingResponse>> cancelBooking(
             @PathVariable Long id,
-            @RequestBody BookingCancellationRequest request) {
+            @RequestBody BookingCancellationRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         
         log.info("Cancel booking request for ID: {}", id);
         
-        BookingResponse booking = bookingService.cancelBooking(id, request);
+        BookingResponse booking = idempotencyStore.execute(
+                "cancel:" + id, idempotencyKey, request,
+                () -> bookingService.cancelBooking(id, request));
         
         return ResponseEntity.ok(ApiResponse.success("Booking cancelled successfully", booking));
     }
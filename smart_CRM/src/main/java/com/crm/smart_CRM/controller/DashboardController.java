@@ -1,9 +1,11 @@
 package com.crm.smart_CRM.controller;
 
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,8 +14,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.crm.smart_CRM.Enum.BookingPeriod;
+import com.crm.smart_CRM.Enum.TrendBucket;
 import com.crm.smart_CRM.dto.response.ApiResponse;
+import com.crm.smart_CRM.dto.response.BookingPeriodCount;
 import com.crm.smart_CRM.dto.response.DashboardResponse;
+import com.crm.smart_CRM.service.CacheStatisticsService;
+import com.crm.smart_CRM.service.DashboardCache;
 import com.crm.smart_CRM.service.DashboardService;
 
 import lombok.RequiredArgsConstructor;
@@ -27,6 +34,14 @@ import lombok.extern.slf4j.Slf4j;
 public class DashboardController {
     
     private final DashboardService dashboardService;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final DashboardCache dashboardCache;
+    
+    // Dashboards polled by every open admin page, served from the dashboard cache
+    private static final String ADMIN_DASHBOARD = "admin";
+    private static final String PEAK_HOURS = "peakHours";
+    private static final String DAY_WISE_BOOKINGS = "dayWiseBookings";
+    private static final String CATEGORY_UTILIZATION = "categoryUtilization";
     
     /**
      * Get student dashboard
@@ -66,26 +81,55 @@ public class DashboardController {
     public ResponseEntity<ApiResponse<DashboardResponse>> getAdminDashboard() {
         log.info("Get admin dashboard request");
         
-        DashboardResponse dashboard = dashboardService.getAdminDashboard();
+        // A payload with degraded sections is refreshed on the next request
+        DashboardResponse dashboard = dashboardCache.get(ADMIN_DASHBOARD, dashboardService::getAdminDashboard,
+                payload -> payload.getDegradedSections().isEmpty());
         
         return ResponseEntity.ok(ApiResponse.success("Dashboard data retrieved successfully", dashboard));
     }
     
     /**
-     * Get booking trend data
+     * Get booking trend data, for the last days or between two dates, per day, week or month
      * GET /api/dashboard/booking-trend?days={days}
+     * GET /api/dashboard/booking-trend?startDate={date}&endDate={date}&bucket=WEEK&categoryId={id}&resourceId={id}
      */
     @GetMapping("/booking-trend")
     public ResponseEntity<ApiResponse<Map<String, Long>>> getBookingTrend(
-            @RequestParam(defaultValue = "30") int days) {
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAY") TrendBucket bucket,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long resourceId) {
         
-        log.info("Get booking trend request for last {} days", days);
+        log.info("Get {} booking trend request from {} to {} (last {} days)", bucket, startDate, endDate, days);
         
-        Map<String, Long> trendData = dashboardService.getBookingTrend(days);
+        // Without dates, the last days up to today
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(Math.max(days, 1) - 1);
+        Map<String, Long> trendData = dashboardService.getBookingTrend(start, end, bucket, categoryId, resourceId);
         
         return ResponseEntity.ok(ApiResponse.success("Booking trend data retrieved successfully", trendData));
     }
     
+    /**
+     * Count bookings of today, this week, month or semester, or between two dates
+     * GET /api/dashboard/booking-count?period=WEEK
+     * GET /api/dashboard/booking-count?period=CUSTOM&startDate={date}&endDate={date}
+     */
+    @GetMapping("/booking-count")
+    public ResponseEntity<ApiResponse<BookingPeriodCount>> countBookings(
+            @RequestParam(defaultValue = "TODAY") BookingPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        log.info("Get {} booking count request from {} to {}", period, startDate, endDate);
+        
+        BookingPeriodCount count = dashboardService.countBookings(period, startDate, endDate);
+        
+        return ResponseEntity.ok(ApiResponse.success("Booking count retrieved successfully", count));
+    }
+    
     /**
      * Get peak hours analysis
      * GET /api/dashboard/peak-hours
@@ -94,7 +138,7 @@ public class DashboardController {
     public ResponseEntity<ApiResponse<Map<Integer, Long>>> getPeakHoursAnalysis() {
         log.info("Get peak hours analysis request");
         
-        Map<Integer, Long> peakHours = dashboardService.getPeakHoursAnalysis();
+        Map<Integer, Long> peakHours = dashboardCache.get(PEAK_HOURS, dashboardService::getPeakHoursAnalysis);
         
         return ResponseEntity.ok(ApiResponse.success("Peak hours data retrieved successfully", peakHours));
     }
@@ -107,7 +151,7 @@ public class DashboardController {
     public ResponseEntity<ApiResponse<Map<String, Long>>> getDayWiseBookings() {
         log.info("Get day-wise bookings request");
         
-        Map<String, Long> dayWiseData = dashboardService.getDayWiseBookings();
+        Map<String, Long> dayWiseData = dashboardCache.get(DAY_WISE_BOOKINGS, dashboardService::getDayWiseBookings);
         
         return ResponseEntity.ok(ApiResponse.success("Day-wise booking data retrieved successfully", dayWiseData));
     }
@@ -120,7 +164,8 @@ public class DashboardController {
     public ResponseEntity<ApiResponse<Map<String, Double>>> getCategoryUtilization() {
         log.info("Get category utilization request");
         
-        Map<String, Double> utilization = dashboardService.getCategoryUtilization();
+        Map<String, Double> utilization =
+                dashboardCache.get(CATEGORY_UTILIZATION, dashboardService::getCategoryUtilization);
         
         return ResponseEntity.ok(ApiResponse.success("Category utilization data retrieved successfully", utilization));
     }
@@ -178,4 +223,17 @@ public class DashboardController {
         
         return ResponseEntity.ok(ApiResponse.success("Average durations retrieved successfully", avgDurations));
     }
+    
+    /**
+     * Get second-level cache hit/miss statistics per region (Admin only)
+     * GET /api/dashboard/cache-stats
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCacheStatistics() {
+        log.info("Get cache statistics request");
+        
+        Map<String, Object> cacheStats = cacheStatisticsService.getCacheStatistics();
+        
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully", cacheStats));
+    }
 }
\ No newline at end of file
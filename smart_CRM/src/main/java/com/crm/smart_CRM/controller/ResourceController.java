@@ -1,9 +1,13 @@
 package com.crm.smart_CRM.controller;
 
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,15 +19,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.crm.smart_CRM.Enum.ResourceStatus;
 import com.crm.smart_CRM.dto.request.MaintenanceRequest;
 import com.crm.smart_CRM.dto.request.ResourceCategoryRequest;
 import com.crm.smart_CRM.dto.request.ResourceRequest;
 import com.crm.smart_CRM.dto.response.ApiResponse;
+import com.crm.smart_CRM.dto.response.CursorPage;
 import com.crm.smart_CRM.dto.response.ResourceCategoryResponse;
 import com.crm.smart_CRM.dto.response.ResourceResponse;
 import com.crm.smart_CRM.dto.response.ResourceUtilization;
+import com.crm.smart_CRM.service.CatalogVersions;
 import com.crm.smart_CRM.service.ResourceService;
 
 import jakarta.validation.Valid;
@@ -38,6 +46,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ResourceController {
     
     private final ResourceService resourceService;
+    private final CatalogVersions catalogVersions;
     
     // ========== CATEGORY ENDPOINTS ==========
     
@@ -46,9 +55,14 @@ public class ResourceController {
      * GET /api/categories
      */
     @GetMapping("/categories")
-    public ResponseEntity<ApiResponse<List<ResourceCategoryResponse>>> getAllCategories() {
+    public ResponseEntity<ApiResponse<List<ResourceCategoryResponse>>> getAllCategories(WebRequest webRequest) {
         log.info("Get all categories request received");
         
+        // Unchanged since the client's copy: 304 without querying or serializing
+        if (webRequest.checkNotModified(catalogVersions.categoriesTag())) {
+            return null;
+        }
+        
         List<ResourceCategoryResponse> categories = resourceService.getAllCategories();
         
         return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
@@ -59,9 +73,14 @@ public class ResourceController {
      * GET /api/categories/{id}
      */
     @GetMapping("/categories/{id}")
-    public ResponseEntity<ApiResponse<ResourceCategoryResponse>> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<ResourceCategoryResponse>> getCategoryById(@PathVariable Long id,
+            WebRequest webRequest) {
         log.info("Get category by ID request: {}", id);
         
+        if (webRequest.checkNotModified(catalogVersions.categoriesTag())) {
+            return null;
+        }
+        
         ResourceCategoryResponse category = resourceService.getCategoryById(id);
         
         return ResponseEntity.ok(ApiResponse.success("Category retrieved successfully", category));
@@ -116,26 +135,52 @@ public class ResourceController {
     // ========== RESOURCE ENDPOINTS ==========
     
     /**
-     * Get all resources
-     * GET /api/resources
+     * Get all resources, paginated by ID
+     * GET /api/resources?after={lastId}&size={size}
      */
     @GetMapping("/resources")
-    public ResponseEntity<ApiResponse<List<ResourceResponse>>> getAllResources() {
-        log.info("Get all resources request received");
+    public ResponseEntity<ApiResponse<CursorPage<ResourceResponse>>> getAllResources(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        log.info("Get all resources request received (after: {}, size: {})", after, size);
+        
+        if (webRequest.checkNotModified(catalogVersions.resourcesTag())) {
+            return null;
+        }
         
-        List<ResourceResponse> resources = resourceService.getAllResources();
+        CursorPage<ResourceResponse> resources = resourceService.getAllResources(after, size);
         
         return ResponseEntity.ok(ApiResponse.success("Resources retrieved successfully", resources));
     }
     
+    /**
+     * Stream all resources as NDJSON, one resource per line
+     * GET /api/resources?after={lastId} with Accept: application/x-ndjson
+     */
+    @GetMapping(value = "/resources", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllResources(
+            @RequestParam(required = false) Long after) {
+        log.info("Stream all resources request received (after: {})", after);
+        
+        StreamingResponseBody body = out -> resourceService.streamAllResources(after, out);
+        
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     /**
      * Get resource by ID
      * GET /api/resources/{id}
      */
     @GetMapping("/resources/{id}")
-    public ResponseEntity<ApiResponse<ResourceResponse>> getResourceById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<ResourceResponse>> getResourceById(@PathVariable Long id,
+            WebRequest webRequest) {
         log.info("Get resource by ID request: {}", id);
         
+        if (webRequest.checkNotModified(catalogVersions.resourcesTag())) {
+            return null;
+        }
+        
         ResourceResponse resource = resourceService.getResourceById(id);
         
         return ResponseEntity.ok(ApiResponse.success("Resource retrieved successfully", resource));
@@ -147,10 +192,15 @@ public class ResourceController {
      */
     @GetMapping("/resources/category/{categoryId}")
     public ResponseEntity<ApiResponse<List<ResourceResponse>>> getResourcesByCategory(
-            @PathVariable Long categoryId) {
+            @PathVariable Long categoryId,
+            WebRequest webRequest) {
         
         log.info("Get resources by category request: {}", categoryId);
         
+        if (webRequest.checkNotModified(catalogVersions.resourcesTag())) {
+            return null;
+        }
+        
         List<ResourceResponse> resources = resourceService.getResourcesByCategory(categoryId);
         
         return ResponseEntity.ok(ApiResponse.success("Resources retrieved successfully", resources));
@@ -162,10 +212,15 @@ public class ResourceController {
      */
     @GetMapping("/resources/status/{status}")
     public ResponseEntity<ApiResponse<List<ResourceResponse>>> getResourcesByStatus(
-            @PathVariable ResourceStatus status) {
+            @PathVariable ResourceStatus status,
+            WebRequest webRequest) {
         
         log.info("Get resources by status request: {}", status);
         
+        if (webRequest.checkNotModified(catalogVersions.resourcesTag())) {
+            return null;
+        }
+        
         List<ResourceResponse> resources = resourceService.getResourcesByStatus(status);
         
         return ResponseEntity.ok(ApiResponse.success("Resources retrieved successfully", resources));
@@ -177,15 +232,42 @@ public class ResourceController {
      */
     @GetMapping("/resources/search")
     public ResponseEntity<ApiResponse<List<ResourceResponse>>> searchResources(
-            @RequestParam String keyword) {
+            @RequestParam String keyword,
+            WebRequest webRequest) {
         
         log.info("Search resources request with keyword: {}", keyword);
         
+        if (webRequest.checkNotModified(catalogVersions.resourcesTag())) {
+            return null;
+        }
+        
         List<ResourceResponse> resources = resourceService.searchResources(keyword);
         
         return ResponseEntity.ok(ApiResponse.success("Resources retrieved successfully", resources));
     }
     
+    /**
+     * Find free resources for a time window, best capacity fit first (bookable by the user when given)
+     * GET /api/resources/free?categoryId={id}&minCapacity={n}&date={date}&startTime={time}&endTime={time}&userId={id}
+     */
+    @GetMapping("/resources/free")
+    public ResponseEntity<ApiResponse<List<ResourceResponse>>> findFreeResources(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "1") Integer minCapacity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime,
+            @RequestParam(required = false) Long userId) {
+        
+        log.info("Free resource search in category: {} for {} people on {} from {} to {} for user: {}",
+                categoryId, minCapacity, date, startTime, endTime, userId);
+        
+        List<ResourceResponse> resources = resourceService.findFreeResources(
+                categoryId, minCapacity, date, startTime, endTime, userId);
+        
+        return ResponseEntity.ok(ApiResponse.success("Free resources retrieved successfully", resources));
+    }
+    
     /**
      * Create resource (Admin only)
      * POST /api/resources
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,11 +17,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.crm.smart_CRM.dto.request.ReviewRequest;
 import com.crm.smart_CRM.dto.request.ReviewUpdateRequest;
 import com.crm.smart_CRM.dto.response.ApiResponse;
+import com.crm.smart_CRM.dto.response.CursorPage;
 import com.crm.smart_CRM.dto.response.ReviewResponse;
+import com.crm.smart_CRM.service.CatalogVersions;
 import com.crm.smart_CRM.service.ReviewService;
 
 import jakarta.validation.Valid;
@@ -35,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ReviewController {
     
     private final ReviewService reviewService;
+    private final CatalogVersions catalogVersions;
     
     /**
      * Submit a new review
@@ -55,20 +61,45 @@ public class ReviewController {
     }
     
     /**
-     * Get all reviews for a resource
-     * GET /api/reviews/resource/{resourceId}
+     * Get reviews for a resource, paginated by ID
+     * GET /api/reviews/resource/{resourceId}?after={lastId}&size={size}
      */
     @GetMapping("/resource/{resourceId}")
-    public ResponseEntity<ApiResponse<List<ReviewResponse>>> getReviewsByResource(
-            @PathVariable Long resourceId) {
+    public ResponseEntity<ApiResponse<CursorPage<ReviewResponse>>> getReviewsByResource(
+            @PathVariable Long resourceId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
         
-        log.info("Get reviews for resource ID: {}", resourceId);
+        log.info("Get reviews for resource ID: {} (after: {}, size: {})", resourceId, after, size);
         
-        List<ReviewResponse> reviews = reviewService.getReviewsByResource(resourceId);
+        if (webRequest.checkNotModified(catalogVersions.reviewsTag(resourceId))) {
+            return null;
+        }
+        
+        CursorPage<ReviewResponse> reviews = reviewService.getReviewsByResource(resourceId, after, size);
         
         return ResponseEntity.ok(ApiResponse.success("Reviews retrieved successfully", reviews));
     }
     
+    /**
+     * Stream the reviews of a resource as NDJSON, one review per line
+     * GET /api/reviews/resource/{resourceId}?after={lastId} with Accept: application/x-ndjson
+     */
+    @GetMapping(value = "/resource/{resourceId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamReviewsByResource(
+            @PathVariable Long resourceId,
+            @RequestParam(required = false) Long after) {
+        
+        log.info("Stream reviews for resource ID: {} (after: {})", resourceId, after);
+        
+        // Checked up front: once streaming starts the status can no longer become 404
+        reviewService.requireResource(resourceId);
+        StreamingResponseBody body = out -> reviewService.streamReviewsByResource(resourceId, after, out);
+        
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     /**
      * Get recent reviews for a resource
      * GET /api/reviews/resource/{resourceId}/recent?limit={limit}
@@ -76,10 +107,15 @@ public class ReviewController {
     @GetMapping("/resource/{resourceId}/recent")
     public ResponseEntity<ApiResponse<List<ReviewResponse>>> getRecentReviewsByResource(
             @PathVariable Long resourceId,
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest) {
         
         log.info("Get recent {} reviews for resource ID: {}", limit, resourceId);
         
+        if (webRequest.checkNotModified(catalogVersions.reviewsTag(resourceId))) {
+            return null;
+        }
+        
         List<ReviewResponse> reviews = reviewService.getRecentReviewsByResource(resourceId, limit);
         
         return ResponseEntity.ok(ApiResponse.success("Recent reviews retrieved successfully", reviews));
@@ -3,6 +3,7 @@ package com.crm.smart_CRM.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +13,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.crm.smart_CRM.Enum.AccountStatus;
 import com.crm.smart_CRM.Enum.UserRole;
 import com.crm.smart_CRM.dto.request.UserUpdateRequest;
 import com.crm.smart_CRM.dto.response.ApiResponse;
+import com.crm.smart_CRM.dto.response.CursorPage;
 import com.crm.smart_CRM.dto.response.UserResponse;
 import com.crm.smart_CRM.service.UserService;
 
@@ -34,18 +37,34 @@ public class UserController {
     private final UserService userService;
     
     /**
-     * Get all users (Admin only)
-     * GET /api/users
+     * Get all users (Admin only), paginated by ID
+     * GET /api/users?after={lastId}&size={size}
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
-        log.info("Get all users request received");
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getAllUsers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        log.info("Get all users request received (after: {}, size: {})", after, size);
         
-        List<UserResponse> users = userService.getAllUsers();
+        CursorPage<UserResponse> users = userService.getAllUsers(after, size);
         
         return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", users));
     }
     
+    /**
+     * Stream all users (Admin only) as NDJSON, one user per line
+     * GET /api/users?after={lastId} with Accept: application/x-ndjson
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(
+            @RequestParam(required = false) Long after) {
+        log.info("Stream all users request received (after: {})", after);
+        
+        StreamingResponseBody body = out -> userService.streamAllUsers(after, out);
+        
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     /**
      * Get user by ID
      * GET /api/users/{id}
@@ -0,0 +1,28 @@
+package com.crm.smart_CRM.dto.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+
+/**
+ * Booking columns of a BookingResponse plus the ids of its owner, resource and canceller,
+ * selected by JPQL constructor expression
+ */
+public record BookingRow(
+        Long id,
+        LocalDate bookingDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        Integer duration,
+        String purpose,
+        Integer attendeesCount,
+        BookingStatus status,
+        String cancellationReason,
+        LocalDateTime cancelledAt,
+        LocalDateTime createdAt,
+        Long userId,
+        Long resourceId,
+        Long cancelledById) {
+}
@@ -0,0 +1,36 @@
+package com.crm.smart_CRM.dto.projection;
+
+import java.time.LocalDateTime;
+
+import com.crm.smart_CRM.Enum.ResourceStatus;
+
+/**
+ * Resource columns of a ResourceResponse, selected by JPQL constructor expression
+ */
+public record ResourceRow(
+        Long id,
+        String name,
+        String description,
+        Integer capacity,
+        String location,
+        String amenities,
+        String imageUrl,
+        ResourceStatus status,
+        Integer maxBookingDuration,
+        Integer minBookingDuration,
+        Integer advanceBookingDays,
+        Integer slotMinutes,
+        LocalDateTime maintenanceStart,
+        LocalDateTime maintenanceEnd,
+        String maintenanceReason,
+        long ratingSum,
+        long ratingCount,
+        LocalDateTime createdAt) {
+
+    /**
+     * Mean rating, null when the resource has no reviews
+     */
+    public Double averageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.crm.smart_CRM.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingRequest {
+    
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 100, message = "A batch can contain at most 100 bookings")
+    private List<@Valid BookingRequest> bookings;
+    
+    private boolean allOrNothing; // reject the whole batch when any booking fails
+}
@@ -0,0 +1,64 @@
+package com.crm.smart_CRM.dto.request;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.crm.smart_CRM.Enum.RecurrenceFrequency;
+import com.crm.smart_CRM.Enum.SeriesConflictPolicy;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesRequest {
+    
+    @NotNull(message = "User ID is required")
+    private Long userId;
+    
+    @NotNull(message = "Resource ID is required")
+    private Long resourceId;
+    
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+    
+    @Min(value = 1, message = "Repeat interval must be at least 1")
+    @Max(value = 4, message = "Repeat interval must not exceed 4")
+    private Integer repeatInterval = 1;
+    
+    @NotNull(message = "Start date is required")
+    @FutureOrPresent(message = "Start date must be today or in the future")
+    private LocalDate startDate;
+    
+    @NotNull(message = "Until date is required")
+    private LocalDate untilDate;
+    
+    @NotNull(message = "Start time is required")
+    @JsonFormat(pattern = "HH:mm")
+    @Schema(type = "string", example = "10:00")
+    private LocalTime startTime;
+    
+    @NotNull(message = "End time is required")
+    @JsonFormat(pattern = "HH:mm")
+    @Schema(type = "string", example = "12:00")
+    private LocalTime endTime;
+    
+    @NotBlank(message = "Purpose is required")
+    @Size(min = 10, max = 255, message = "Purpose must be between 10 and 255 characters")
+    private String purpose;
+    
+    @Min(value = 1, message = "Attendees count must be at least 1")
+    private Integer attendeesCount;
+    
+    private SeriesConflictPolicy conflictPolicy = SeriesConflictPolicy.SKIP;
+}
@@ -0,0 +1,80 @@
+package com.crm.smart_CRM.dto.request;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.validation.ValidationException;
+
+/**
+ * The parts of a BookingResponse a client asked for, from the fields= and expand= query
+ * parameters (comma separated).
+ *
+ * fields lists the properties to return, all of them when absent or blank; id is always
+ * returned. expand lists the associations embedded as full objects, all of them when absent
+ * and none when blank. An association that isn't expanded is returned as its id only
+ * (userId, resourceId, cancelledById), so nothing is looked up for it; this holds when only
+ * the association is listed in fields, too.
+ */
+public record BookingView(Set<String> fields, Set<String> expand) {
+
+    public static final Set<String> FIELDS = Set.of("id", "userId", "user", "resourceId", "resource",
+            "bookingDate", "startTime", "endTime", "duration", "purpose", "attendeesCount", "status",
+            "cancellationReason", "cancelledAt", "cancelledById", "cancelledBy", "createdAt");
+
+    public static final Set<String> ASSOCIATIONS = Set.of("user", "resource", "cancelledBy");
+
+    // Id property returned for an association listed in fields but not expanded
+    private static final Map<String, String> ASSOCIATION_IDS = Map.of(
+            "user", "userId", "resource", "resourceId", "cancelledBy", "cancelledById");
+
+    public static final BookingView FULL = new BookingView(FIELDS, ASSOCIATIONS);
+
+    /**
+     * Parse the query parameters, rejecting unknown names
+     */
+    public static BookingView of(String fields, String expand) {
+        Set<String> selected = fields == null || fields.isBlank() ? FIELDS : parse(fields, FIELDS, "field");
+        Set<String> expanded = expand == null ? ASSOCIATIONS : parse(expand, ASSOCIATIONS, "expansion");
+        if (selected != FIELDS) {
+            ASSOCIATION_IDS.forEach((association, idField) -> {
+                if (selected.contains(association) && !expanded.contains(association)) {
+                    selected.add(idField);
+                }
+            });
+        }
+        return new BookingView(selected, expanded);
+    }
+
+    /**
+     * Whether the property is returned
+     */
+    public boolean includes(String field) {
+        return field.equals("id") || fields.contains(field);
+    }
+
+    /**
+     * Whether the association is returned as a full object
+     */
+    public boolean expands(String association) {
+        return includes(association) && expand.contains(association);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static Set<String> parse(String names, Set<String> allowed, String kind) {
+        Set<String> parsed = Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String name : parsed) {
+            if (!allowed.contains(name)) {
+                throw new ValidationException("Unknown booking " + kind + ": " + name
+                        + " (allowed: " + String.join(", ", allowed.stream().sorted().toList()) + ")");
+            }
+        }
+        return parsed;
+    }
+}
@@ -18,4 +18,6 @@ public class ResourceCategoryRequest {
     private String description;
     
     private String icon;
+    
+    private Integer slotMinutes; // 15, 30 or 60; null means hourly slots
 }
\ No newline at end of file
@@ -37,4 +37,6 @@ public class ResourceRequest {
     private Integer minBookingDuration = 60; // 1 hour default
     
     private Integer advanceBookingDays = 7;
+    
+    private Integer slotMinutes; // 15, 30 or 60; null uses the category's granularity
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.crm.smart_CRM.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Slot occupancy of every resource in a category over a date range.
+ * Each resource row holds one bitstring per day: character i is '1' when the slot
+ * starting at dayStart + i * slotMinutes is booked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityMatrixResponse {
+    
+    private Long categoryId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalTime dayStart;
+    private Integer slotMinutes;
+    private Integer slotsPerDay;
+    private List<ResourceAvailabilityRow> resources;
+}
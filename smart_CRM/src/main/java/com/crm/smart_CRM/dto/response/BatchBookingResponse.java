@@ -0,0 +1,17 @@
+package com.crm.smart_CRM.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResponse {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<BatchBookingResult> results;
+}
@@ -0,0 +1,23 @@
+package com.crm.smart_CRM.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResult {
+    private int index; // position in the request list
+    private boolean success;
+    private String message;
+    private BookingResponse booking;
+    
+    public static BatchBookingResult success(int index, BookingResponse booking) {
+        return new BatchBookingResult(index, true, "Booking created successfully", booking);
+    }
+    
+    public static BatchBookingResult failure(int index, String message) {
+        return new BatchBookingResult(index, false, message, null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.crm.smart_CRM.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the booking page of a resource shows, in one response. The average rating and
+ * review count are on the resource. Sections listed in degradedSections could not be loaded
+ * in time and are returned empty.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageResponse {
+
+    private ResourceResponse resource;
+    private AvailableSlotsResponse availability;
+    private List<ReviewResponse> recentReviews;
+    private Map<Integer, Long> ratingDistribution;
+    private List<String> degradedSections;
+}
@@ -0,0 +1,20 @@
+package com.crm.smart_CRM.dto.response;
+
+import java.time.LocalDate;
+
+import com.crm.smart_CRM.Enum.BookingPeriod;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPeriodCount {
+    
+    private BookingPeriod period;
+    private LocalDate startDate;
+    private LocalDate endDate; // last day counted
+    private Long bookingCount;
+}
@@ -5,16 +5,25 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import com.crm.smart_CRM.Enum.BookingStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+
+/**
+ * Booking as returned by the API. Properties left out by a BookingView are null and not
+ * serialized; unexpanded associations are only present as their id.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class BookingResponse {
 private Long id;
+private Long userId;
 private UserResponse user;
+private Long resourceId;
 private ResourceResponse resource;
 private LocalDate bookingDate;
 private LocalTime startTime;
@@ -25,6 +34,7 @@ private Integer attendeesCount;
 private BookingStatus status;
 private String cancellationReason;
 private LocalDateTime cancelledAt;
+private Long cancelledById;
 private UserResponse cancelledBy;
 private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.crm.smart_CRM.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.crm.smart_CRM.Enum.RecurrenceFrequency;
+import com.crm.smart_CRM.Enum.SeriesConflictPolicy;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesResponse {
+    private Long seriesId; // null when nothing was created
+    private Long resourceId;
+    private RecurrenceFrequency frequency;
+    private Integer repeatInterval;
+    private LocalDate startDate;
+    private LocalDate untilDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private SeriesConflictPolicy conflictPolicy;
+    private int createdCount;
+    private int rejectedCount;
+    private List<SeriesOccurrenceResult> occurrences;
+}
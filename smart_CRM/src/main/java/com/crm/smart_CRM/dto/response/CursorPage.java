@@ -0,0 +1,66 @@
+package com.crm.smart_CRM.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+
+import jakarta.validation.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a list paginated by id (keyset). Pass nextCursor back as "after" to get the
+ * next page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private List<T> items;
+    private Long nextCursor;
+    private int size;
+
+    /**
+     * Validated page size, DEFAULT_SIZE when not given
+     */
+    public static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Rows to fetch for a page: one more than its size, to know whether another page follows
+     */
+    public static Limit limitFor(int size) {
+        return Limit.of(size + 1);
+    }
+
+    /**
+     * Cursor to start from: ids are positive, so 0 means the first page
+     */
+    public static long after(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    /**
+     * Build the page from rows fetched with limitFor(size), ordered by id
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, Long> idOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null, fetched.size());
+        }
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, idOf.apply(items.get(size - 1)), size);
+    }
+}
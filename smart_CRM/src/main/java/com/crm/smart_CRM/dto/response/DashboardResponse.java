@@ -33,4 +33,5 @@ public class DashboardResponse {
     private Map<String, Long> categoryWiseBookings;
     private Map<String, Long> statusWiseBookings;
     private List<ResourceUtilization> topResources;
+    private List<String> degradedSections; // admin sections left empty, slow or failed
 }
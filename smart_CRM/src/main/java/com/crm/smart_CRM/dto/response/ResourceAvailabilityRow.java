@@ -0,0 +1,21 @@
+package com.crm.smart_CRM.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import com.crm.smart_CRM.Enum.ResourceStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceAvailabilityRow {
+    
+    private Long resourceId;
+    private String resourceName;
+    private Integer capacity;
+    private ResourceStatus status;
+    private List<String> days;
+}
@@ -16,5 +16,6 @@ public class ResourceCategoryResponse {
     private String name;
     private String description;
     private String icon;
+    private Integer slotMinutes;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -26,6 +26,7 @@ public class ResourceResponse {
     private Integer maxBookingDuration;
     private Integer minBookingDuration;
     private Integer advanceBookingDays;
+    private Integer slotMinutes;
     private LocalDateTime maintenanceStart;
     private LocalDateTime maintenanceEnd;
     private String maintenanceReason;
@@ -0,0 +1,17 @@
+package com.crm.smart_CRM.dto.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesOccurrenceResult {
+    private LocalDate date;
+    private boolean created;
+    private Long bookingId;
+    private String message;
+}
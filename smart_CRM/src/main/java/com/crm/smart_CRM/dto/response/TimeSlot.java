@@ -1,19 +1,17 @@
 package com.crm.smart_CRM.dto.response;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
 import java.time.LocalTime;
 
 import com.crm.smart_CRM.Enum.SlotStatus;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+/**
+ * Immutable, so instances can be shared between responses (see SlotTemplate)
+ */
+@Value
 public class TimeSlot {
     
-    private LocalTime time;
-    private SlotStatus status;
+    LocalTime time;
+    SlotStatus status;
 }
-
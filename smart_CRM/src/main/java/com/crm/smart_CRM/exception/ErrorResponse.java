@@ -2,6 +2,9 @@ package com.crm.smart_CRM.exception;
 
 import java.time.LocalDateTime;
 
+import lombok.Getter;
+
+@Getter
 public class ErrorResponse {
 
     private int status;
@@ -13,7 +16,5 @@ public class ErrorResponse {
         this.message = message;
         this.timestamp = timestamp;
     }
-
-    // getters & setters
 }
 
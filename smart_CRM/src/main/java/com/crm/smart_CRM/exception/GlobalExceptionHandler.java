@@ -2,6 +2,8 @@ package com.crm.smart_CRM.exception;
 
 import java.time.LocalDateTime;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -14,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+	@ExceptionHandler(BookingConflictException.class)
 	public ResponseEntity<ErrorResponse> handleBookingConflict(BookingConflictException ex){
 	     ErrorResponse error = new ErrorResponse(
 	                HttpStatus.CONFLICT.value(),
@@ -22,7 +25,30 @@ public class GlobalExceptionHandler {
 	        );
 	     return new ResponseEntity<>(error, HttpStatus.CONFLICT);
 	}
-	
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex){
+	     log.info("Concurrent update rejected: {}", ex.getMessage());
+	     ErrorResponse error = new ErrorResponse(
+	                HttpStatus.CONFLICT.value(),
+	                "The record was modified concurrently, please retry",
+	                LocalDateTime.now()
+	        );
+	     return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+	}
+
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex){
+	     ErrorResponse error = new ErrorResponse(
+	                HttpStatus.SERVICE_UNAVAILABLE.value(),
+	                ex.getMessage(),
+	                LocalDateTime.now()
+	        );
+	     return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+	             .header(HttpHeaders.RETRY_AFTER, "1")
+	             .body(error);
+	}
+
 	 @ExceptionHandler(ValidationException.class)
 	    public ResponseEntity<ApiResponse<Object>> handleValidationException(
 	            ValidationException ex) {
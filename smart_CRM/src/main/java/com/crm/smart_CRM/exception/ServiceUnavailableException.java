@@ -0,0 +1,8 @@
+package com.crm.smart_CRM.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+	
+    public ServiceUnavailableException(String msg) {
+    	super(msg);
+    }
+}
@@ -19,20 +19,28 @@ import java.time.LocalTime;
     @Index(name = "idx_resource_date", columnList = "resource_id, booking_date"),
     @Index(name = "idx_user_status", columnList = "user_id, status")
 })
+@NamedEntityGraph(name = Booking.WITH_DETAILS, attributeNodes = {
+    @NamedAttributeNode("user"),
+    @NamedAttributeNode(value = "resource", subgraph = "resource.category"),
+    @NamedAttributeNode("cancelledBy")
+}, subgraphs = @NamedSubgraph(name = "resource.category", attributeNodes = @NamedAttributeNode("category")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
     
+    // Owner, resource (with category) and canceller, for use cases that render them (emails)
+    public static final String WITH_DETAILS = "Booking.withDetails";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "resource_id", nullable = false)
     private Resource resource;
     
@@ -64,10 +72,18 @@ public class Booking {
     @Column(name = "cancelled_at")
     private LocalDateTime cancelledAt;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cancelled_by")
     private User cancelledBy;
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private BookingSeries series; // set for occurrences of a recurring series
+    
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long version;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
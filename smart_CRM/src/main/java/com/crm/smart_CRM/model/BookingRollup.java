@@ -0,0 +1,70 @@
+package com.crm.smart_CRM.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Bookings counted per (date, resource, category, start hour, status). Kept up to date in the
+ * transaction of every booking write, so dashboards aggregate these rows instead of scanning
+ * the bookings table.
+ */
+@Entity
+@Table(name = "booking_rollups", indexes = {
+    @Index(name = "idx_rollup_resource", columnList = "resource_id, status")
+})
+@IdClass(BookingRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRollup {
+
+    @Id
+    @Column(name = "booking_date")
+    private LocalDate bookingDate;
+
+    @Id
+    @Column(name = "resource_id")
+    private Long resourceId;
+
+    // The resource's current category, moved along when the resource changes category
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Id
+    @Column(name = "start_hour")
+    private Integer startHour;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private BookingStatus status;
+
+    @Column(name = "booking_count", nullable = false)
+    private long bookingCount;
+
+    @Column(name = "total_minutes", nullable = false)
+    private long totalMinutes;
+
+    @Column(name = "timed_count", nullable = false)
+    private long timedCount; // bookings with a duration, the divisor of average durations
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private LocalDate bookingDate;
+        private Long resourceId;
+        private Long categoryId;
+        private Integer startHour;
+        private BookingStatus status;
+    }
+}
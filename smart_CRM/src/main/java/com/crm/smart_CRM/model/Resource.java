@@ -5,6 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,11 +17,17 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "resources")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "resources")
+@NamedEntityGraph(name = Resource.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Resource {
     
+    // Category, as rendered in resource responses
+    public static final String WITH_CATEGORY = "Resource.withCategory";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,7 +35,7 @@ public class Resource {
     @Column(nullable = false, length = 100)
     private String name;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private ResourceCategory category;
     
@@ -58,6 +67,9 @@ public class Resource {
     @Column(name = "advance_booking_days")
     private Integer advanceBookingDays = 7;
     
+    @Column(name = "slot_minutes")
+    private Integer slotMinutes; // 15, 30 or 60; null uses the category's granularity
+    
     @Column(name = "maintenance_start")
     private LocalDateTime maintenanceStart;
     
@@ -67,6 +79,40 @@ public class Resource {
     @Column(name = "maintenance_reason", columnDefinition = "TEXT")
     private String maintenanceReason;
     
+    // Rating aggregates of the resource's reviews. Maintained only by the relative UPDATEs in
+    // ResourceRepository (never written from the entity, so a stale copy can't overwrite them)
+    @ColumnDefault("0")
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+    private long ratingSum;
+    
+    @ColumnDefault("0")
+    @Column(name = "rating_count", nullable = false, insertable = false, updatable = false)
+    private long ratingCount;
+    
+    @ColumnDefault("0")
+    @Column(name = "rating_1_count", nullable = false, insertable = false, updatable = false)
+    private long rating1Count;
+    
+    @ColumnDefault("0")
+    @Column(name = "rating_2_count", nullable = false, insertable = false, updatable = false)
+    private long rating2Count;
+    
+    @ColumnDefault("0")
+    @Column(name = "rating_3_count", nullable = false, insertable = false, updatable = false)
+    private long rating3Count;
+    
+    @ColumnDefault("0")
+    @Column(name = "rating_4_count", nullable = false, insertable = false, updatable = false)
+    private long rating4Count;
+    
+    @ColumnDefault("0")
+    @Column(name = "rating_5_count", nullable = false, insertable = false, updatable = false)
+    private long rating5Count;
+    
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long version;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -74,4 +120,25 @@ public class Resource {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    /**
+     * Mean rating, null when the resource has no reviews
+     */
+    public Double averageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
+    
+    /**
+     * Number of reviews with the given rating (1-5)
+     */
+    public long ratingCountOf(int rating) {
+        return switch (rating) {
+            case 1 -> rating1Count;
+            case 2 -> rating2Count;
+            case 3 -> rating3Count;
+            case 4 -> rating4Count;
+            case 5 -> rating5Count;
+            default -> 0L;
+        };
+    }
 }
\ No newline at end of file
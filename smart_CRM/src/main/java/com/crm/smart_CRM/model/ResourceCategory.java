@@ -5,12 +5,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "resource_categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "resource-categories")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,6 +33,9 @@ public class ResourceCategory {
     @Column(length = 100)
     private String icon;
     
+    @Column(name = "slot_minutes")
+    private Integer slotMinutes; // 15, 30 or 60; null means hourly slots
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -12,24 +12,31 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "reviews")
+@NamedEntityGraph(name = Review.WITH_AUTHOR_AND_RESOURCE, attributeNodes = {
+    @NamedAttributeNode("user"),
+    @NamedAttributeNode("resource")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Review {
     
+    // Reviewer and resource, as rendered in review responses
+    public static final String WITH_AUTHOR_AND_RESOURCE = "Review.withAuthorAndResource";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "resource_id", nullable = false)
     private Resource resource;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false, unique = true)
     private Booking booking;
     
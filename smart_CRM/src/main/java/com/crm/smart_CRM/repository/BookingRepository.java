@@ -3,21 +3,35 @@ package com.crm.smart_CRM.repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.dto.projection.BookingRow;
 import com.crm.smart_CRM.model.Booking;
 import com.crm.smart_CRM.model.Resource;
 import com.crm.smart_CRM.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
+    // Find by ID with user, resource and canceller loaded (cancellation emails)
+    @EntityGraph(Booking.WITH_DETAILS)
+    Optional<Booking> findDetailedById(Long id);
+    
     // Find by user
     List<Booking> findByUser(User user);
     
@@ -48,6 +62,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                      @Param("date") LocalDate date,
                                                      @Param("status") BookingStatus status);
  // Find by resource ID and status [sunil s]
+    @EntityGraph(Booking.WITH_DETAILS)
     @Query("SELECT b FROM Booking b WHERE b.resource.id = :resourceId " +
            "AND b.status = :status")
     List<Booking> findByResourceIdAndStatus(@Param("resourceId") Long resourceId,@Param("status") BookingStatus status);
@@ -73,18 +88,102 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                           @Param("startTime") LocalTime startTime,
                                           @Param("endTime") LocalTime endTime);
     
-    // Count active bookings by user
+    // Booking list rows selected column by column, no entities hydrated
+    String BOOKING_ROW_SELECT = "SELECT new com.crm.smart_CRM.dto.projection.BookingRow(" +
+           "b.id, b.bookingDate, b.startTime, b.endTime, b.duration, b.purpose, b.attendeesCount, " +
+           "b.status, b.cancellationReason, b.cancelledAt, b.createdAt, b.user.id, b.resource.id, cb.id) " +
+           "FROM Booking b LEFT JOIN b.cancelledBy cb ";
+    
+    @Query(BOOKING_ROW_SELECT + "WHERE b.id = :id")
+    Optional<BookingRow> findBookingRowById(@Param("id") Long id);
+    
+    @Query(BOOKING_ROW_SELECT + "WHERE b.user.id = :userId ORDER BY b.id")
+    List<BookingRow> findBookingRowsByUserId(@Param("userId") Long userId);
+    
+    // Keyset page of booking rows after a booking ID
+    @Query(BOOKING_ROW_SELECT + "WHERE b.id > :after ORDER BY b.id")
+    List<BookingRow> findBookingRowsAfter(@Param("after") Long after, Limit limit);
+    
+    // Booking rows after a booking ID, read incrementally (NDJSON export)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(BOOKING_ROW_SELECT + "WHERE b.id > :after ORDER BY b.id")
+    Stream<BookingRow> streamBookingRowsAfter(@Param("after") Long after);
+    
+    // Find confirmed booking intervals of several resources in a date range (availability matrix)
+    @Query("SELECT b.resource.id, b.bookingDate, b.startTime, b.endTime FROM Booking b " +
+           "WHERE b.resource.id IN :resourceIds AND b.status = 'CONFIRMED' " +
+           "AND b.bookingDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findConfirmedIntervalsByResourcesAndDateRange(@Param("resourceIds") Collection<Long> resourceIds,
+                                                                 @Param("startDate") LocalDate startDate,
+                                                                 @Param("endDate") LocalDate endDate);
+    
+    // Find confirmed bookings of any of the resources on any of the dates (batch conflict check)
+    @Query("SELECT b FROM Booking b WHERE b.resource.id IN :resourceIds " +
+           "AND b.bookingDate IN :dates " +
+           "AND b.status = 'CONFIRMED'")
+    List<Booking> findConfirmedBookingsOn(@Param("resourceIds") Collection<Long> resourceIds,
+                                          @Param("dates") Collection<LocalDate> dates);
+    
+    // Find confirmed booking intervals from a date onwards (availability index warm-up)
+    @Query("SELECT b.id, b.resource.id, b.bookingDate, b.startTime, b.endTime FROM Booking b " +
+           "WHERE b.status = 'CONFIRMED' AND b.bookingDate >= :fromDate")
+    List<Object[]> findConfirmedIntervalsFrom(@Param("fromDate") LocalDate fromDate);
+    
+    // Find confirmed bookings of a resource overlapping a daily time window within a date range
+    @Query("SELECT b FROM Booking b WHERE b.resource.id = :resourceId " +
+           "AND b.bookingDate BETWEEN :startDate AND :endDate " +
+           "AND b.status = 'CONFIRMED' " +
+           "AND b.startTime < :endTime AND b.endTime > :startTime")
+    List<Booking> findConflictingBookingsInRange(@Param("resourceId") Long resourceId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate,
+                                                 @Param("startTime") LocalTime startTime,
+                                                 @Param("endTime") LocalTime endTime);
+    
+    // Count active single bookings by user (series occurrences are not counted)
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId " +
-           "AND b.status IN :statuses")
+           "AND b.status IN :statuses AND b.series IS NULL")
     Long countActiveBookingsByUser(@Param("userId") Long userId, 
                                     @Param("statuses") List<BookingStatus> statuses);
     
+    // Count active single bookings for several users (grouped by user ID)
+    @Query("SELECT b.user.id, COUNT(b) FROM Booking b WHERE b.user.id IN :userIds " +
+           "AND b.status IN :statuses AND b.series IS NULL GROUP BY b.user.id")
+    List<Object[]> countActiveBookingsByUsers(@Param("userIds") Collection<Long> userIds,
+                                              @Param("statuses") List<BookingStatus> statuses);
+    
+    // Count upcoming series occurrences by user (quota for recurring bookings)
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId " +
+           "AND b.status IN :statuses AND b.series IS NOT NULL AND b.bookingDate >= :fromDate")
+    Long countActiveSeriesBookingsByUser(@Param("userId") Long userId,
+                                         @Param("statuses") List<BookingStatus> statuses,
+                                         @Param("fromDate") LocalDate fromDate);
+    
     // Find completed bookings (for scheduler)
+    @EntityGraph(Booking.WITH_DETAILS)
     @Query("SELECT b FROM Booking b WHERE b.status = 'CONFIRMED' " +
            "AND FUNCTION('CONCAT', b.bookingDate, ' ', b.endTime) < :currentDateTime")
     List<Booking> findCompletedBookings(@Param("currentDateTime") String currentDateTime);
     
+    // Next confirmed bookings after a date and time, soonest first (dashboards)
+    @Query("SELECT b FROM Booking b WHERE b.status = 'CONFIRMED' " +
+           "AND (b.bookingDate > :date OR (b.bookingDate = :date AND b.startTime > :time)) " +
+           "ORDER BY b.bookingDate, b.startTime")
+    List<Booking> findUpcomingConfirmed(@Param("date") LocalDate date,
+                                        @Param("time") LocalTime time,
+                                        Limit limit);
+    
+    // Next confirmed bookings of a user after a date and time, soonest first (dashboards)
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId AND b.status = 'CONFIRMED' " +
+           "AND (b.bookingDate > :date OR (b.bookingDate = :date AND b.startTime > :time)) " +
+           "ORDER BY b.bookingDate, b.startTime")
+    List<Booking> findUpcomingConfirmedByUser(@Param("userId") Long userId,
+                                              @Param("date") LocalDate date,
+                                              @Param("time") LocalTime time,
+                                              Limit limit);
+    
     // Find upcoming bookings (for reminders)
+    @EntityGraph(Booking.WITH_DETAILS)
     @Query("SELECT b FROM Booking b WHERE b.status = 'CONFIRMED' " +
            "AND b.bookingDate = :date " +
            "AND b.startTime BETWEEN :startTime AND :endTime")
@@ -92,31 +191,28 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                        @Param("startTime") LocalTime startTime,
                                        @Param("endTime") LocalTime endTime);
     
-    // Count completed bookings by resource
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.resource.id = :resourceId " +
-           "AND b.status = 'COMPLETED'")
-    Long countCompletedBookingsByResource(@Param("resourceId") Long resourceId);
+    // First and last booking date (one row of minDate, maxDate, both null when empty)
+    @Query("SELECT MIN(b.bookingDate), MAX(b.bookingDate) FROM Booking b")
+    List<Object[]> findBookingDateRange();
     
     // Count bookings by date
     Long countByBookingDate(LocalDate date);
     
+    // Count bookings between two dates (inclusive), a range scan of idx_booking_date
+    Long countByBookingDateBetween(LocalDate startDate, LocalDate endDate);
+    
     // Count by status
     Long countByStatus(BookingStatus status);
     
+    // Bookings and cancelled bookings per role of the booking user (rows of role, total, cancelled)
+    @Query("SELECT u.role, COUNT(b), SUM(CASE WHEN b.status = 'CANCELLED' THEN 1 ELSE 0 END) " +
+           "FROM Booking b JOIN b.user u GROUP BY u.role")
+    List<Object[]> countCancellationsByRole();
+    
     // Count by user ID and status
     Long countByUserIdAndStatus(Long userId, BookingStatus status);
     
     // Find today's bookings
     @Query("SELECT b FROM Booking b WHERE b.bookingDate = CURRENT_DATE")
     List<Booking> findTodaysBookings();
-    
-    // Find this week's bookings
-    @Query("SELECT b FROM Booking b WHERE FUNCTION('WEEK', b.bookingDate) = FUNCTION('WEEK', CURRENT_DATE) " +
-           "AND FUNCTION('YEAR', b.bookingDate) = FUNCTION('YEAR', CURRENT_DATE)")
-    List<Booking> findThisWeeksBookings();
-    
-    // Find this month's bookings
-    @Query("SELECT b FROM Booking b WHERE FUNCTION('MONTH', b.bookingDate) = FUNCTION('MONTH', CURRENT_DATE) " +
-           "AND FUNCTION('YEAR', b.bookingDate) = FUNCTION('YEAR', CURRENT_DATE)")
-    List<Booking> findThisMonthsBookings();
 }
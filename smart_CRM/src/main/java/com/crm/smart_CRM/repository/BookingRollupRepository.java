@@ -0,0 +1,90 @@
+package com.crm.smart_CRM.repository;
+
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.model.BookingRollup;
+
+@Repository
+public interface BookingRollupRepository extends JpaRepository<BookingRollup, BookingRollup.Key> {
+
+    // Rollup rows of some resources on some dates (the rows a booking write adjusts)
+    List<BookingRollup> findByResourceIdInAndBookingDateIn(Collection<Long> resourceIds,
+                                                           Collection<LocalDate> bookingDates);
+
+    // Rows of a resource follow it when it changes category
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BookingRollup r SET r.categoryId = :categoryId WHERE r.resourceId = :resourceId")
+    int moveResourceToCategory(@Param("resourceId") Long resourceId, @Param("categoryId") Long categoryId);
+
+    // Drop the rollup rows of a date range (before rebuilding it)
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM BookingRollup r WHERE r.bookingDate BETWEEN :startDate AND :endDate")
+    int deleteRollupsBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Recompute the rollup rows of a date range from the bookings table in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("INSERT INTO BookingRollup (bookingDate, resourceId, categoryId, startHour, status, " +
+           "bookingCount, totalMinutes, timedCount) " +
+           "SELECT b.bookingDate, r.id, r.category.id, EXTRACT(HOUR FROM b.startTime), b.status, " +
+           "COUNT(b), COALESCE(SUM(b.duration), 0), COUNT(b.duration) " +
+           "FROM Booking b JOIN b.resource r WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY b.bookingDate, r.id, r.category.id, EXTRACT(HOUR FROM b.startTime), b.status")
+    int insertRollupsFromBookingsBetween(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    // First and last date with rollup rows (one row of minDate, maxDate, both null when empty)
+    @Query("SELECT MIN(r.bookingDate), MAX(r.bookingDate) FROM BookingRollup r")
+    List<Object[]> findBookingDateRange();
+
+    // Bookings per status (rows of status, count)
+    @Query("SELECT r.status, SUM(r.bookingCount) FROM BookingRollup r GROUP BY r.status")
+    List<Object[]> countByStatus();
+
+    // Bookings per category (rows of categoryName, count)
+    @Query("SELECT c.name, SUM(r.bookingCount) FROM BookingRollup r " +
+           "JOIN ResourceCategory c ON c.id = r.categoryId GROUP BY c.name")
+    List<Object[]> countByCategory();
+
+    // Booking minutes per category (rows of categoryName, totalMinutes, bookings with a duration)
+    @Query("SELECT c.name, SUM(r.totalMinutes), SUM(r.timedCount) FROM BookingRollup r " +
+           "JOIN ResourceCategory c ON c.id = r.categoryId GROUP BY c.name")
+    List<Object[]> sumMinutesByCategory();
+
+    // Booking minutes over all bookings (one row of totalMinutes, bookings with a duration)
+    @Query("SELECT COALESCE(SUM(r.totalMinutes), 0), COALESCE(SUM(r.timedCount), 0) FROM BookingRollup r")
+    List<Object[]> sumMinutes();
+
+    // Bookings per start hour (rows of hour, count)
+    @Query("SELECT r.startHour, SUM(r.bookingCount) FROM BookingRollup r GROUP BY r.startHour")
+    List<Object[]> countByStartHour();
+
+    // Bookings per date (rows of date, count)
+    @Query("SELECT r.bookingDate, SUM(r.bookingCount) FROM BookingRollup r GROUP BY r.bookingDate")
+    List<Object[]> countByBookingDate();
+
+    // Bookings per date in a range, optionally of one category and/or resource (rows of date, count)
+    @Query("SELECT r.bookingDate, SUM(r.bookingCount) FROM BookingRollup r " +
+           "WHERE r.bookingDate BETWEEN :startDate AND :endDate " +
+           "AND (:categoryId IS NULL OR r.categoryId = :categoryId) " +
+           "AND (:resourceId IS NULL OR r.resourceId = :resourceId) " +
+           "GROUP BY r.bookingDate")
+    List<Object[]> countByBookingDateBetween(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate,
+                                             @Param("categoryId") Long categoryId,
+                                             @Param("resourceId") Long resourceId);
+
+    // Bookings in a status per resource (rows of resourceId, count)
+    @Query("SELECT r.resourceId, SUM(r.bookingCount) FROM BookingRollup r " +
+           "WHERE r.status = :status GROUP BY r.resourceId")
+    List<Object[]> countByResourceWithStatus(@Param("status") BookingStatus status);
+}
@@ -0,0 +1,15 @@
+package com.crm.smart_CRM.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.crm.smart_CRM.model.BookingSeries;
+
+@Repository
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+    
+    // Find by user ID
+    List<BookingSeries> findByUserId(Long userId);
+}
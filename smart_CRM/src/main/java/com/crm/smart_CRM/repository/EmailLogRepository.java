@@ -4,6 +4,7 @@ package com.crm.smart_CRM.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,8 +19,8 @@ public interface EmailLogRepository extends JpaRepository<EmailLog, Long> {
     // Find by recipient email
     List<EmailLog> findByRecipientEmail(String email);
     
-    // Find by status
-    List<EmailLog> findByStatus(EmailStatus status);
+    // Keyset page of logs with a status after a log ID
+    List<EmailLog> findByStatusAndIdGreaterThanOrderByIdAsc(EmailStatus status, Long after, Limit limit);
     
     // Find by email type
     List<EmailLog> findByEmailType(String emailType);
@@ -1,10 +1,13 @@
 package com.crm.smart_CRM.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.crm.smart_CRM.dto.response.ResourceCategoryResponse;
 import com.crm.smart_CRM.model.ResourceCategory;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +18,10 @@ public interface ResourceCategoryRepository extends JpaRepository<ResourceCatego
     
     // Check if name exists
     boolean existsByName(String name);
+    
+    // All categories as response DTOs, no entities hydrated
+    @Query("SELECT new com.crm.smart_CRM.dto.response.ResourceCategoryResponse(" +
+           "c.id, c.name, c.description, c.icon, c.slotMinutes, c.createdAt) " +
+           "FROM ResourceCategory c ORDER BY c.id")
+    List<ResourceCategoryResponse> findAllCategoryResponses();
 }
\ No newline at end of file
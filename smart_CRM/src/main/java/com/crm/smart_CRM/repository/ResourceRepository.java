@@ -1,8 +1,13 @@
 package com.crm.smart_CRM.repository;
 
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -10,21 +15,66 @@ import com.crm.smart_CRM.Enum.ResourceStatus;
 import com.crm.smart_CRM.model.Resource;
 import com.crm.smart_CRM.model.ResourceCategory;
 
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ResourceRepository extends JpaRepository<Resource, Long> {
     
+    // Finders below whose resources are rendered as responses load the category with them
+    @Override
+    @EntityGraph(Resource.WITH_CATEGORY)
+    Optional<Resource> findById(Long id);
+    
+    @Override
+    @EntityGraph(Resource.WITH_CATEGORY)
+    List<Resource> findAll();
+    
+    @Override
+    @EntityGraph(Resource.WITH_CATEGORY)
+    List<Resource> findAllById(Iterable<Long> ids);
+    
+    // Resource columns with their category, no entities hydrated.
+    // Each row is [ResourceRow, ResourceCategoryResponse]
+    String RESOURCE_ROW_SELECT = "SELECT new com.crm.smart_CRM.dto.projection.ResourceRow(r.id, r.name, " +
+           "r.description, r.capacity, r.location, r.amenities, r.imageUrl, r.status, r.maxBookingDuration, " +
+           "r.minBookingDuration, r.advanceBookingDays, r.slotMinutes, r.maintenanceStart, r.maintenanceEnd, " +
+           "r.maintenanceReason, r.ratingSum, r.ratingCount, r.createdAt), " +
+           "new com.crm.smart_CRM.dto.response.ResourceCategoryResponse(" +
+           "c.id, c.name, c.description, c.icon, c.slotMinutes, c.createdAt) " +
+           "FROM Resource r JOIN r.category c ";
+    
+    @Query(RESOURCE_ROW_SELECT + "WHERE r.id IN :ids")
+    List<Object[]> findResourceRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    // Keyset page of resource rows after a resource ID
+    @Query(RESOURCE_ROW_SELECT + "WHERE r.id > :after ORDER BY r.id")
+    List<Object[]> findResourceRowsAfter(@Param("after") Long after, Limit limit);
+    
+    // Resource rows after a resource ID, read incrementally (NDJSON export)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESOURCE_ROW_SELECT + "WHERE r.id > :after ORDER BY r.id")
+    Stream<Object[]> streamResourceRowsAfter(@Param("after") Long after);
+    
     // Find by category
+    @EntityGraph(Resource.WITH_CATEGORY)
     List<Resource> findByCategory(ResourceCategory category);
     
     // Find by category ID
     List<Resource> findByCategoryId(Long categoryId);
     
     // Find by status
+    @EntityGraph(Resource.WITH_CATEGORY)
     List<Resource> findByStatus(ResourceStatus status);
     
     // Find by name (case-insensitive, contains)
+    @EntityGraph(Resource.WITH_CATEGORY)
     List<Resource> findByNameContainingIgnoreCase(String name);
     
     // Find by location
@@ -47,6 +97,75 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
     List<Resource> findByCapacityRange(@Param("minCapacity") Integer minCapacity, 
                                         @Param("maxCapacity") Integer maxCapacity);
     
+    // Find resources that allow the window's duration and have no confirmed booking overlapping it,
+    // smallest fitting capacity first
+    @EntityGraph(Resource.WITH_CATEGORY)
+    @Query("SELECT r FROM Resource r WHERE r.status = :status " +
+           "AND (:categoryId IS NULL OR r.category.id = :categoryId) " +
+           "AND r.capacity >= :minCapacity " +
+           "AND r.minBookingDuration <= :durationMinutes AND r.maxBookingDuration >= :durationMinutes " +
+           "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.resource = r " +
+           "AND b.bookingDate = :date AND b.status = 'CONFIRMED' " +
+           "AND b.startTime < :endTime AND b.endTime > :startTime) " +
+           "ORDER BY r.capacity ASC, r.name ASC")
+    List<Resource> findFreeResources(@Param("status") ResourceStatus status,
+                                     @Param("categoryId") Long categoryId,
+                                     @Param("minCapacity") Integer minCapacity,
+                                     @Param("date") LocalDate date,
+                                     @Param("startTime") LocalTime startTime,
+                                     @Param("endTime") LocalTime endTime,
+                                     @Param("durationMinutes") int durationMinutes);
+    
+    // Most reviewed resources first (stored aggregates, no scan of reviews)
+    @Query("SELECT r FROM Resource r ORDER BY r.ratingCount DESC, r.id")
+    List<Resource> findMostReviewed(Limit limit);
+    
+    // Reviewed resources with the lowest mean rating first
+    @Query("SELECT r FROM Resource r WHERE r.ratingCount > 0 " +
+           "ORDER BY r.ratingSum * 1.0 / r.ratingCount ASC, r.id")
+    List<Resource> findLowestRated(Limit limit);
+    
+    // Rating aggregates summed over all resources, one row of [sum, count, 1s, 2s, 3s, 4s, 5s]
+    @Query("SELECT COALESCE(SUM(r.ratingSum), 0), COALESCE(SUM(r.ratingCount), 0), " +
+           "COALESCE(SUM(r.rating1Count), 0), COALESCE(SUM(r.rating2Count), 0), " +
+           "COALESCE(SUM(r.rating3Count), 0), COALESCE(SUM(r.rating4Count), 0), " +
+           "COALESCE(SUM(r.rating5Count), 0) FROM Resource r")
+    List<Object[]> sumRatingAggregates();
+    
+    // Add (delta = 1) or remove (delta = -1) one rating from a resource's aggregates.
+    // Relative to the stored values, so concurrent reviews never lose an update; the
+    // version is not bumped, so reviews don't conflict with edits of the resource itself
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Resource r SET r.ratingSum = r.ratingSum + :rating * :delta, " +
+           "r.ratingCount = r.ratingCount + :delta, " +
+           "r.rating1Count = r.rating1Count + CASE WHEN :rating = 1 THEN :delta ELSE 0 END, " +
+           "r.rating2Count = r.rating2Count + CASE WHEN :rating = 2 THEN :delta ELSE 0 END, " +
+           "r.rating3Count = r.rating3Count + CASE WHEN :rating = 3 THEN :delta ELSE 0 END, " +
+           "r.rating4Count = r.rating4Count + CASE WHEN :rating = 4 THEN :delta ELSE 0 END, " +
+           "r.rating5Count = r.rating5Count + CASE WHEN :rating = 5 THEN :delta ELSE 0 END " +
+           "WHERE r.id = :resourceId")
+    int adjustRatingAggregates(@Param("resourceId") Long resourceId,
+                               @Param("rating") int rating,
+                               @Param("delta") int delta);
+    
+    // Recompute every resource's rating aggregates from the reviews table in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Resource r SET " +
+           "r.ratingSum = COALESCE((SELECT SUM(v.rating) FROM Review v WHERE v.resource = r), 0), " +
+           "r.ratingCount = (SELECT COUNT(v) FROM Review v WHERE v.resource = r), " +
+           "r.rating1Count = (SELECT COUNT(v) FROM Review v WHERE v.resource = r AND v.rating = 1), " +
+           "r.rating2Count = (SELECT COUNT(v) FROM Review v WHERE v.resource = r AND v.rating = 2), " +
+           "r.rating3Count = (SELECT COUNT(v) FROM Review v WHERE v.resource = r AND v.rating = 3), " +
+           "r.rating4Count = (SELECT COUNT(v) FROM Review v WHERE v.resource = r AND v.rating = 4), " +
+           "r.rating5Count = (SELECT COUNT(v) FROM Review v WHERE v.resource = r AND v.rating = 5)")
+    int rebuildRatingAggregates();
+    
+    // Resources whose stored aggregates disagree with their reviews (drift check before a rebuild)
+    @Query("SELECT COUNT(r) FROM Resource r WHERE " +
+           "r.ratingCount <> (SELECT COUNT(v) FROM Review v WHERE v.resource = r) " +
+           "OR r.ratingSum <> COALESCE((SELECT SUM(v.rating) FROM Review v WHERE v.resource = r), 0)")
+    long countResourcesWithRatingDrift();
+    
     // Count by status
     Long countByStatus(ResourceStatus status);
     
@@ -3,9 +3,14 @@ package com.crm.smart_CRM.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,19 +19,38 @@ import com.crm.smart_CRM.model.Resource;
 import com.crm.smart_CRM.model.Review;
 import com.crm.smart_CRM.model.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     
+    // Find by ID with reviewer and resource loaded
+    @Override
+    @EntityGraph(Review.WITH_AUTHOR_AND_RESOURCE)
+    Optional<Review> findById(Long id);
+    
     // Find by resource
     List<Review> findByResource(Resource resource);
     
     // Find by resource ID
+    @EntityGraph(Review.WITH_AUTHOR_AND_RESOURCE)
     List<Review> findByResourceId(Long resourceId);
     
+    // Keyset page of a resource's reviews after a review ID
+    @EntityGraph(Review.WITH_AUTHOR_AND_RESOURCE)
+    List<Review> findByResourceIdAndIdGreaterThanOrderByIdAsc(Long resourceId, Long after, Limit limit);
+    
+    // A resource's reviews after a review ID, read incrementally (NDJSON export)
+    @EntityGraph(Review.WITH_AUTHOR_AND_RESOURCE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM Review r WHERE r.resource.id = :resourceId AND r.id > :after ORDER BY r.id")
+    Stream<Review> streamByResourceIdAfter(@Param("resourceId") Long resourceId, @Param("after") Long after);
+    
     // Find by user
     List<Review> findByUser(User user);
     
     // Find by user ID
+    @EntityGraph(Review.WITH_AUTHOR_AND_RESOURCE)
     List<Review> findByUserId(Long userId);
     
     // Find by booking
@@ -49,8 +73,9 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Long countByResourceId(Long resourceId);
     
     // Find recent reviews by resource (ordered by date)
+    @EntityGraph(Review.WITH_AUTHOR_AND_RESOURCE)
     @Query("SELECT r FROM Review r WHERE r.resource.id = :resourceId ORDER BY r.createdAt DESC")
-    List<Review> findRecentReviewsByResource(@Param("resourceId") Long resourceId);
+    List<Review> findRecentReviewsByResource(@Param("resourceId") Long resourceId, Limit limit);
     
     // Count reviews by resource and rating
     @Query("SELECT COUNT(r) FROM Review r WHERE r.resource.id = :resourceId AND r.rating = :rating")
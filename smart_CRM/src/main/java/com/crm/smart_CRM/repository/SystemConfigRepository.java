@@ -1,16 +1,24 @@
 package com.crm.smart_CRM.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.crm.smart_CRM.model.SystemConfig;
 
+import jakarta.persistence.QueryHint;
+
 import java.util.Optional;
 
 @Repository
 public interface SystemConfigRepository extends JpaRepository<SystemConfig, Long> {
     
-    // Find by config key
+    // Find by config key; result cached until the system_config table changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "system-config-by-key")
+    })
     Optional<SystemConfig> findByConfigKey(String configKey);
     
     // Check if config key exists
@@ -1,20 +1,51 @@
 package com.crm.smart_CRM.repository;
 
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.crm.smart_CRM.Enum.AccountStatus;
 import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.response.UserResponse;
 import com.crm.smart_CRM.model.User;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
-    // Find by email
+    // User DTOs selected column by column, no entities hydrated
+    String USER_RESPONSE_SELECT = "SELECT new com.crm.smart_CRM.dto.response.UserResponse(u.id, u.name, " +
+           "u.email, u.phone, u.studentId, u.employeeId, u.department, u.role, u.status, u.profileImage, " +
+           "u.createdAt) FROM User u ";
+    
+    @Query(USER_RESPONSE_SELECT + "WHERE u.id IN :ids")
+    List<UserResponse> findUserResponsesByIds(@Param("ids") Collection<Long> ids);
+    
+    // Keyset page of user DTOs after a user ID
+    @Query(USER_RESPONSE_SELECT + "WHERE u.id > :after ORDER BY u.id")
+    List<UserResponse> findUserResponsesAfter(@Param("after") Long after, Limit limit);
+    
+    // User DTOs after a user ID, read incrementally (NDJSON export)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(USER_RESPONSE_SELECT + "WHERE u.id > :after ORDER BY u.id")
+    Stream<UserResponse> streamUserResponsesAfter(@Param("after") Long after);
+    
+    // Find by email (login, registration); result cached until the users table changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-email")
+    })
     Optional<User> findByEmail(String email);
     
     // Check if email exists
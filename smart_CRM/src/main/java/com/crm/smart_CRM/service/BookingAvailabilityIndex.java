@@ -0,0 +1,241 @@
+package com.crm.smart_CRM.service;
+
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.crm.smart_CRM.model.Booking;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of CONFIRMED booking intervals, keyed by (resourceId, bookingDate).
+ *
+ * Lets the booking conflict check run without a database round trip. The index only
+ * answers for dates it was warmed for (see {@link #isCovered(LocalDate)}); callers fall
+ * back to the database otherwise. Mutations coming from a transaction are applied after
+ * commit, so a rolled back booking never shows up here. Past days are pruned daily, so the
+ * index only ever holds today and later.
+ *
+ * Each resource-day also publishes a {@link SlotBitmap} occupancy word. When every booking
+ * of the day and the checked window sit on the 15-minute grid, a conflict check is a single
+ * AND without taking the day's lock; otherwise it walks the sorted intervals.
+ */
+@Component
+@Slf4j
+public class BookingAvailabilityIndex {
+
+    private static final Comparator<BookedInterval> INTERVAL_ORDER = Comparator
+            .comparing(BookedInterval::startTime)
+            .thenComparing(BookedInterval::endTime)
+            .thenComparing(BookedInterval::bookingId);
+
+    // Set in an occupancy word when some booking of the day is not on the slot grid
+    private static final long OFF_GRID = 1L << 63;
+
+    private final ConcurrentHashMap<ResourceDay, DayBookings> days = new ConcurrentHashMap<>();
+
+    // Bookings removed while the warm-up query was running, so warm-up does not resurrect them
+    private final Set<Long> removedWhileWarming = ConcurrentHashMap.newKeySet();
+
+    // First date the index is authoritative for, null until warm-up completes
+    private volatile LocalDate warmedFrom;
+
+    /**
+     * Load confirmed bookings (rows of bookingId, resourceId, bookingDate, startTime, endTime)
+     */
+    public void warm(List<Object[]> confirmedBookings, LocalDate fromDate) {
+        log.info("Warming availability index with {} confirmed bookings from {}", confirmedBookings.size(), fromDate);
+
+        for (Object[] row : confirmedBookings) {
+            Long bookingId = (Long) row[0];
+            LocalDate date = (LocalDate) row[2];
+            if (date.isBefore(fromDate)) {
+                continue;
+            }
+            DayBookings day = dayOf((Long) row[1], date);
+            synchronized (day) {
+                if (!removedWhileWarming.contains(bookingId)) {
+                    day.add(new BookedInterval(bookingId, (LocalTime) row[3], (LocalTime) row[4]));
+                }
+            }
+        }
+
+        warmedFrom = fromDate;
+        removedWhileWarming.clear();
+        log.info("Availability index ready for {} resource-days", days.size());
+    }
+
+    /**
+     * Drop the resource-days before the date, which the index stops answering for
+     */
+    public void pruneBefore(LocalDate date) {
+        LocalDate from = warmedFrom;
+        if (from == null) {
+            return;
+        }
+        if (date.isAfter(from)) {
+            warmedFrom = date;
+        }
+        int before = days.size();
+        days.keySet().removeIf(key -> key.date().isBefore(date));
+        log.info("Pruned {} past resource-days from the availability index", before - days.size());
+    }
+
+    /**
+     * Whether the index can answer conflict checks for this date
+     */
+    public boolean isCovered(LocalDate date) {
+        LocalDate from = warmedFrom;
+        return from != null && !date.isBefore(from);
+    }
+
+    /**
+     * Check if [startTime, endTime) overlaps a confirmed booking of the resource on this date
+     */
+    public boolean hasConflict(Long resourceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        DayBookings day = days.get(new ResourceDay(resourceId, date));
+        if (day == null) {
+            return false;
+        }
+
+        long occupancy = day.occupancy;
+        if ((occupancy & OFF_GRID) == 0 && SlotBitmap.isOnGrid(startTime, endTime)) {
+            return (occupancy & SlotBitmap.mask(startTime, endTime)) != 0;
+        }
+
+        synchronized (day) {
+            for (BookedInterval interval : day.intervals) {
+                if (!interval.startTime().isBefore(endTime)) {
+                    break;
+                }
+                if (interval.endTime().isAfter(startTime)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Slot occupancy of the resource on this date, see {@link SlotBitmap}
+     */
+    public long occupancy(Long resourceId, LocalDate date) {
+        DayBookings day = days.get(new ResourceDay(resourceId, date));
+        return day == null ? 0L : day.occupancy & SlotBitmap.FULL_DAY;
+    }
+
+    /**
+     * Add a confirmed booking once the current transaction commits
+     */
+    public void addAfterCommit(Booking booking) {
+        afterCommit(() -> add(booking));
+    }
+
+    /**
+     * Remove a booking once the current transaction commits
+     */
+    public void removeAfterCommit(Booking booking) {
+        afterCommit(() -> remove(booking));
+    }
+
+    /**
+     * Add a confirmed booking
+     */
+    public void add(Booking booking) {
+        if (isPast(booking.getBookingDate())) {
+            return;
+        }
+        DayBookings day = dayOf(booking.getResource().getId(), booking.getBookingDate());
+        synchronized (day) {
+            day.add(new BookedInterval(booking.getId(), booking.getStartTime(), booking.getEndTime()));
+        }
+    }
+
+    /**
+     * Remove a booking (cancelled, completed, ...)
+     */
+    public void remove(Booking booking) {
+        if (isPast(booking.getBookingDate())) {
+            return;
+        }
+        DayBookings day = dayOf(booking.getResource().getId(), booking.getBookingDate());
+        synchronized (day) {
+            day.remove(new BookedInterval(booking.getId(), booking.getStartTime(), booking.getEndTime()));
+            if (warmedFrom == null) {
+                removedWhileWarming.add(booking.getId());
+            }
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    // Before the covered dates once warm, so never indexed again after a prune
+    private boolean isPast(LocalDate date) {
+        LocalDate from = warmedFrom;
+        return from != null && date.isBefore(from);
+    }
+
+    private DayBookings dayOf(Long resourceId, LocalDate date) {
+        return days.computeIfAbsent(new ResourceDay(resourceId, date), key -> new DayBookings());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record BookedInterval(Long bookingId, LocalTime startTime, LocalTime endTime) {
+    }
+
+    /**
+     * Bookings of one resource-day. Mutated under its own monitor; the occupancy word is
+     * republished after every change so readers can use it without locking.
+     */
+    private static final class DayBookings {
+
+        private final NavigableSet<BookedInterval> intervals = new TreeSet<>(INTERVAL_ORDER);
+        private volatile long occupancy;
+
+        void add(BookedInterval interval) {
+            if (intervals.add(interval)) {
+                recompute();
+            }
+        }
+
+        void remove(BookedInterval interval) {
+            if (intervals.remove(interval)) {
+                recompute();
+            }
+        }
+
+        private void recompute() {
+            long bits = 0L;
+            for (BookedInterval interval : intervals) {
+                bits |= SlotBitmap.mask(interval.startTime(), interval.endTime());
+                if (!SlotBitmap.isOnGrid(interval.startTime(), interval.endTime())) {
+                    bits |= OFF_GRID;
+                }
+            }
+            occupancy = bits;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.crm.smart_CRM.service;
+
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.crm.smart_CRM.exception.BookingConflictException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Striped locks that serialize the check-then-insert of a booking.
+ *
+ * One stripe set is keyed by (resourceId, bookingDate) for conflict checks, a second one by
+ * userId for the active bookings quota. Locks are held until the surrounding transaction
+ * completes, so the next writer only runs its checks once the previous insert is committed.
+ * Bookings for unrelated resources and users land on different stripes and run in parallel.
+ *
+ * Rollup rebuilds and category moves take every resource-day stripe, in the same order, so
+ * they never interleave with the rollup updates booking writers make under their stripes.
+ */
+@Component
+@Slf4j
+public class BookingLockManager {
+
+    private static final int RESOURCE_DAY_STRIPES = 256;
+    private static final int USER_STRIPES = 128;
+    private static final long LOCK_TIMEOUT_SECONDS = 10;
+
+    private final ReentrantLock[] resourceDayLocks = newStripes(RESOURCE_DAY_STRIPES);
+    private final ReentrantLock[] userLocks = newStripes(USER_STRIPES);
+
+    /**
+     * Lock the user's quota stripe and the resource-day stripe until the current transaction completes
+     */
+    public void lockForBooking(Long userId, Long resourceId, LocalDate bookingDate) {
+        lockUntilCompletion(Set.of(userId), Set.of(new ResourceDay(resourceId, bookingDate)));
+    }
+
+    /**
+     * Lock several users and resource-days at once until the current transaction completes.
+     * Stripes are always taken users first, then resource-days, each in ascending index order,
+     * so two writers can never wait on each other in a cycle.
+     */
+    public void lockUntilCompletion(Collection<Long> userIds, Collection<ResourceDay> resourceDays) {
+        requireTransaction();
+
+        SortedSet<Integer> userStripes = new TreeSet<>();
+        for (Long userId : userIds) {
+            userStripes.add(stripeOf(userId.hashCode(), USER_STRIPES));
+        }
+        SortedSet<Integer> resourceDayStripes = new TreeSet<>();
+        for (ResourceDay resourceDay : resourceDays) {
+            resourceDayStripes.add(stripeOf(resourceDay.hashCode(), RESOURCE_DAY_STRIPES));
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>(userStripes.size() + resourceDayStripes.size());
+        try {
+            for (int stripe : userStripes) {
+                acquire(userLocks[stripe], acquired);
+            }
+            for (int stripe : resourceDayStripes) {
+                acquire(resourceDayLocks[stripe], acquired);
+            }
+        } catch (RuntimeException e) {
+            releaseAll(acquired);
+            throw e;
+        }
+
+        releaseOnCompletion(acquired);
+    }
+
+    /**
+     * Lock every resource-day until the current transaction completes, for rewriting rollup
+     * rows wholesale. Waits for the writers in flight to commit and holds off new ones.
+     */
+    public void lockAllResourceDays() {
+        requireTransaction();
+        List<ReentrantLock> acquired = new ArrayList<>(RESOURCE_DAY_STRIPES);
+        try {
+            for (ReentrantLock lock : resourceDayLocks) {
+                acquire(lock, acquired);
+            }
+        } catch (RuntimeException e) {
+            releaseAll(acquired);
+            throw e;
+        }
+        releaseOnCompletion(acquired);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking locks must be taken inside a transaction");
+        }
+    }
+
+    private void releaseOnCompletion(List<ReentrantLock> acquired) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                releaseAll(acquired);
+            }
+        });
+    }
+
+    private void acquire(ReentrantLock lock, List<ReentrantLock> acquired) {
+        try {
+            if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.error("Timed out waiting for booking lock");
+                throw new BookingConflictException("Booking system is busy, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingConflictException("Booking was interrupted, please try again");
+        }
+        acquired.add(lock);
+    }
+
+    private void releaseAll(List<ReentrantLock> acquired) {
+        for (int i = acquired.size() - 1; i >= 0; i--) {
+            acquired.get(i).unlock();
+        }
+    }
+
+    private static int stripeOf(int hash, int stripes) {
+        // Spread the hash so sequential ids do not cluster on neighbouring stripes
+        return Math.floorMod(hash * 0x9E3779B9, stripes);
+    }
+
+    private static ReentrantLock[] newStripes(int count) {
+        ReentrantLock[] locks = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
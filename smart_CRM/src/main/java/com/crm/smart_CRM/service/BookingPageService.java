@@ -0,0 +1,77 @@
+package com.crm.smart_CRM.service;
+
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.crm.smart_CRM.dto.response.AvailableSlotsResponse;
+import com.crm.smart_CRM.dto.response.BookingPageResponse;
+import com.crm.smart_CRM.dto.response.ResourceResponse;
+import com.crm.smart_CRM.dto.response.ReviewResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Composite read behind a resource's booking page, replacing the five calls the page used to
+ * make. The resource is read once, from the catalog snapshot when it is warm; the slots, the
+ * recent reviews and the rating histogram are then loaded concurrently, each within the
+ * section timeout.
+ */
+@Service
+@Slf4j
+public class BookingPageService {
+
+    public static final String AVAILABILITY = "availability";
+    public static final String RECENT_REVIEWS = "recentReviews";
+    public static final String RATING_DISTRIBUTION = "ratingDistribution";
+
+    private static final int MAX_REVIEWS = 50;
+
+    private final ResourceService resourceService;
+    private final BookingService bookingService;
+    private final ReviewService reviewService;
+    private final SectionExecutor sectionExecutor;
+    private final long sectionTimeoutMillis;
+
+    public BookingPageService(ResourceService resourceService, BookingService bookingService,
+                              ReviewService reviewService, SectionExecutor sectionExecutor,
+                              @Value("${booking-page.section-timeout-ms:800}") long sectionTimeoutMillis) {
+        this.resourceService = resourceService;
+        this.bookingService = bookingService;
+        this.reviewService = reviewService;
+        this.sectionExecutor = sectionExecutor;
+        this.sectionTimeoutMillis = sectionTimeoutMillis;
+    }
+
+    /**
+     * Get the booking page of a resource for a date, with up to reviewLimit recent reviews
+     */
+    public BookingPageResponse getBookingPage(Long resourceId, LocalDate date, int reviewLimit) {
+        log.debug("Building booking page for resource: {} on date: {}", resourceId, date);
+
+        // Not found fails the page before any section starts
+        ResourceResponse resource = resourceService.getResourceById(resourceId);
+        int limit = Math.max(1, Math.min(reviewLimit, MAX_REVIEWS));
+
+        long deadline = SectionExecutor.deadlineIn(sectionTimeoutMillis);
+        Future<AvailableSlotsResponse> availability =
+                sectionExecutor.submit(() -> bookingService.getAvailableSlots(resource, date));
+        Future<List<ReviewResponse>> recentReviews =
+                sectionExecutor.submit(() -> reviewService.getRecentReviewsByResource(resourceId, limit));
+        Future<Map<Integer, Long>> ratingDistribution =
+                sectionExecutor.submit(() -> reviewService.getRatingDistribution(resourceId));
+
+        List<String> degraded = new ArrayList<>();
+        return new BookingPageResponse(resource,
+                sectionExecutor.await(AVAILABILITY, availability, deadline, null, degraded),
+                sectionExecutor.await(RECENT_REVIEWS, recentReviews, deadline, List.of(), degraded),
+                sectionExecutor.await(RATING_DISTRIBUTION, ratingDistribution, deadline, Map.of(), degraded),
+                degraded);
+    }
+}
@@ -0,0 +1,202 @@
+package com.crm.smart_CRM.service;
+
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.crm.smart_CRM.dto.projection.BookingRow;
+import com.crm.smart_CRM.dto.request.BookingView;
+import com.crm.smart_CRM.dto.response.BookingResponse;
+import com.crm.smart_CRM.dto.response.ResourceResponse;
+import com.crm.smart_CRM.dto.response.UserResponse;
+import com.crm.smart_CRM.exception.ResourceNotFoundException;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds BookingResponses for a list of bookings with a fixed number of queries:
+ * one IN query for users (owners and cancellers) and one for resources, whose rating
+ * aggregates are stored on them, whatever the number of bookings.
+ *
+ * List endpoints skip entities entirely: {@link #fromRows(List, BookingView)} builds the
+ * responses from column projections the same way, sharing one UserResponse / ResourceResponse
+ * per id, and skips the lookups for associations the view doesn't expand.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingResponseAssembler {
+
+    // Keeps IN lists well below database parameter limits
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final ResourceRepository resourceRepository;
+    private final UserService userService;
+    private final ResourceService resourceService;
+
+    /**
+     * Map a single booking
+     */
+    public BookingResponse toResponse(Booking booking) {
+        return toResponses(List.of(booking)).get(0);
+    }
+
+    /**
+     * Map bookings, keeping their order
+     */
+    public List<BookingResponse> toResponses(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> userIds = new LinkedHashSet<>();
+        Set<Long> resourceIds = new LinkedHashSet<>();
+        for (Booking booking : bookings) {
+            userIds.add(booking.getUser().getId());
+            if (booking.getCancelledBy() != null) {
+                userIds.add(booking.getCancelledBy().getId());
+            }
+            resourceIds.add(booking.getResource().getId());
+        }
+
+        Map<Long, UserResponse> users = new HashMap<>();
+        for (User user : findAllById(userIds, userRepository::findAllById)) {
+            users.put(user.getId(), userService.mapToUserResponse(user));
+        }
+
+        Map<Long, ResourceResponse> resources = new HashMap<>();
+        for (Resource resource : findAllById(resourceIds, resourceRepository::findAllById)) {
+            resources.put(resource.getId(), resourceService.mapToResourceResponse(resource));
+        }
+
+        List<BookingResponse> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            responses.add(new BookingResponse(
+                    booking.getId(),
+                    booking.getUser().getId(),
+                    lookup(users, booking.getUser().getId(), "User"),
+                    booking.getResource().getId(),
+                    lookup(resources, booking.getResource().getId(), "Resource"),
+                    booking.getBookingDate(),
+                    booking.getStartTime(),
+                    booking.getEndTime(),
+                    booking.getDuration(),
+                    booking.getPurpose(),
+                    booking.getAttendeesCount(),
+                    booking.getStatus(),
+                    booking.getCancellationReason(),
+                    booking.getCancelledAt(),
+                    booking.getCancelledBy() != null ? booking.getCancelledBy().getId() : null,
+                    booking.getCancelledBy() != null
+                            ? lookup(users, booking.getCancelledBy().getId(), "User") : null,
+                    booking.getCreatedAt()
+            ));
+        }
+
+        log.debug("Assembled {} booking responses for {} users and {} resources",
+                responses.size(), users.size(), resources.size());
+        return responses;
+    }
+
+    /**
+     * Map projection rows to the parts the view asks for, keeping their order. Users and
+     * resources are only fetched for expanded associations, once per distinct id.
+     */
+    public List<BookingResponse> fromRows(List<BookingRow> rows, BookingView view) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        boolean expandUser = view.expands("user");
+        boolean expandCanceller = view.expands("cancelledBy");
+        boolean expandResource = view.expands("resource");
+
+        Set<Long> userIds = new LinkedHashSet<>();
+        Set<Long> resourceIds = new LinkedHashSet<>();
+        for (BookingRow row : rows) {
+            if (expandUser) {
+                userIds.add(row.userId());
+            }
+            if (expandCanceller && row.cancelledById() != null) {
+                userIds.add(row.cancelledById());
+            }
+            if (expandResource) {
+                resourceIds.add(row.resourceId());
+            }
+        }
+
+        Map<Long, UserResponse> users = new HashMap<>();
+        for (UserResponse user : findAllById(userIds, userRepository::findUserResponsesByIds)) {
+            users.put(user.getId(), user);
+        }
+
+        Map<Long, ResourceResponse> resources = new HashMap<>();
+        for (ResourceResponse resource : findAllById(resourceIds, ids ->
+                ResourceService.mapRowsToResourceResponses(resourceRepository.findResourceRowsByIds(ids)))) {
+            resources.put(resource.getId(), resource);
+        }
+
+        List<BookingResponse> responses = new ArrayList<>(rows.size());
+        for (BookingRow row : rows) {
+            responses.add(new BookingResponse(
+                    row.id(),
+                    pick(view, "userId", row.userId()),
+                    expandUser ? lookup(users, row.userId(), "User") : null,
+                    pick(view, "resourceId", row.resourceId()),
+                    expandResource ? lookup(resources, row.resourceId(), "Resource") : null,
+                    pick(view, "bookingDate", row.bookingDate()),
+                    pick(view, "startTime", row.startTime()),
+                    pick(view, "endTime", row.endTime()),
+                    pick(view, "duration", row.duration()),
+                    pick(view, "purpose", row.purpose()),
+                    pick(view, "attendeesCount", row.attendeesCount()),
+                    pick(view, "status", row.status()),
+                    pick(view, "cancellationReason", row.cancellationReason()),
+                    pick(view, "cancelledAt", row.cancelledAt()),
+                    pick(view, "cancelledById", row.cancelledById()),
+                    expandCanceller && row.cancelledById() != null
+                            ? lookup(users, row.cancelledById(), "User") : null,
+                    pick(view, "createdAt", row.createdAt())
+            ));
+        }
+        return responses;
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <T> List<T> findAllById(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+        List<Long> idList = new ArrayList<>(ids);
+        List<T> result = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += IN_CHUNK_SIZE) {
+            result.addAll(query.apply(idList.subList(from, Math.min(from + IN_CHUNK_SIZE, idList.size()))));
+        }
+        return result;
+    }
+
+    private <T> T pick(BookingView view, String field, T value) {
+        return view.includes(field) ? value : null;
+    }
+
+    private <T> T lookup(Map<Long, T> responses, Long id, String type) {
+        T response = responses.get(id);
+        if (response == null) {
+            throw new ResourceNotFoundException(type + " not found with ID: " + id);
+        }
+        return response;
+    }
+}
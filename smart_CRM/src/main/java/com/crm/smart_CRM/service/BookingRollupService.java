@@ -0,0 +1,212 @@
+package com.crm.smart_CRM.service;
+
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.BookingRollup;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingRollupRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the booking rollups behind the dashboards. Booking writes call it in their own
+ * transaction, so the rollups commit or roll back with the bookings they count.
+ *
+ * The rows a write touches are read in one query and written back as JDBC batches. Callers
+ * already hold the resource-day locks of the bookings (BookingLockManager, all taken in one
+ * call up front), so no other writer changes those rows in between and two writers never both
+ * insert a missing row. Rebuilds and category moves take every resource-day lock.
+ * A rebuild recomputes one range of booking dates per transaction, so writers only wait for
+ * the range being rewritten, not for the whole table.
+ * Every change invalidates the dashboard cache once it commits.
+ */
+@Service
+@Slf4j
+public class BookingRollupService {
+
+    private final BookingRollupRepository rollupRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingLockManager bookingLockManager;
+    private final DashboardCache dashboardCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildChunkDays;
+
+    public BookingRollupService(BookingRollupRepository rollupRepository, BookingRepository bookingRepository,
+                                BookingLockManager bookingLockManager, DashboardCache dashboardCache,
+                                EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                @Value("${booking.rollup-rebuild.chunk-days:31}") int rebuildChunkDays) {
+        this.rollupRepository = rollupRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingLockManager = bookingLockManager;
+        this.dashboardCache = dashboardCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rebuildChunkDays = rebuildChunkDays;
+    }
+
+    /**
+     * Count newly saved bookings under their status
+     */
+    public void bookingsCreated(Collection<Booking> bookings) {
+        apply(bookings, null);
+    }
+
+    /**
+     * Move bookings from the status they had to the one they have now
+     */
+    public void statusChanged(Collection<Booking> bookings, BookingStatus previous) {
+        apply(bookings, previous);
+    }
+
+    /**
+     * Rows of a resource follow it to its new category
+     */
+    public void resourceMoved(Long resourceId, Long categoryId) {
+        bookingLockManager.lockAllResourceDays();
+        rollupRepository.moveResourceToCategory(resourceId, categoryId);
+        dashboardCache.invalidate();
+    }
+
+    /**
+     * Recompute all rollups from the bookings table, one range of booking dates at a time.
+     * Each range is deleted and re-inserted under every resource-day lock in its own
+     * transaction; a booking written between two ranges is counted incrementally in a range
+     * already rebuilt, or by the rebuild of a range still to come.
+     */
+    public int rebuildRollups() {
+        // Rollup rows of bookings deleted since are outside the bookings' range, so cover both
+        Object[] bookingDates = bookingRepository.findBookingDateRange().get(0);
+        Object[] rollupDates = rollupRepository.findBookingDateRange().get(0);
+        LocalDate first = earlier((LocalDate) bookingDates[0], (LocalDate) rollupDates[0]);
+        LocalDate last = later((LocalDate) bookingDates[1], (LocalDate) rollupDates[1]);
+        if (first == null) {
+            return 0;
+        }
+
+        int rows = 0;
+        for (LocalDate start = first; !start.isAfter(last); start = start.plusDays(rebuildChunkDays)) {
+            LocalDate rangeStart = start;
+            LocalDate rangeEnd = start.plusDays(rebuildChunkDays - 1L);
+            rows += transactionTemplate.execute(status -> rebuildRange(rangeStart, rangeEnd));
+        }
+        log.info("Rebuilt {} booking rollup rows from {} to {}", rows, first, last);
+        return rows;
+    }
+
+    /**
+     * Completed bookings per resource ID in one grouped query, resources without any are absent
+     */
+    public Map<Long, Long> countCompletedByResource() {
+        Map<Long, Long> completed = new HashMap<>();
+        for (Object[] row : rollupRepository.countByResourceWithStatus(BookingStatus.COMPLETED)) {
+            completed.put((Long) row[0], (Long) row[1]);
+        }
+        return completed;
+    }
+
+    /**
+     * Backfill the rollups when bookings exist but were never rolled up (first start)
+     */
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0 && bookingRepository.count() > 0) {
+            log.info("Booking rollups are empty, backfilling them from the bookings table");
+            rebuildRollups();
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private int rebuildRange(LocalDate start, LocalDate end) {
+        bookingLockManager.lockAllResourceDays();
+        rollupRepository.deleteRollupsBetween(start, end);
+        int rows = rollupRepository.insertRollupsFromBookingsBetween(start, end);
+        dashboardCache.invalidate();
+        return rows;
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        if (a == null || b == null) {
+            return a != null ? a : b;
+        }
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        if (a == null || b == null) {
+            return a != null ? a : b;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+
+    private void apply(Collection<Booking> bookings, BookingStatus previous) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+
+        // Net change per row as {count, minutes, timed}; a batch touches few rows
+        Map<BookingRollup.Key, long[]> deltas = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            add(deltas, booking, booking.getStatus(), 1);
+            if (previous != null) {
+                add(deltas, booking, previous, -1);
+            }
+        }
+
+        // Every row the deltas touch, read at once: existing rows are updated in place and
+        // missing ones persisted, both flushed as batches
+        Set<Long> resourceIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        deltas.keySet().forEach(key -> {
+            resourceIds.add(key.getResourceId());
+            dates.add(key.getBookingDate());
+        });
+        Map<BookingRollup.Key, BookingRollup> rows = new HashMap<>();
+        for (BookingRollup row : rollupRepository.findByResourceIdInAndBookingDateIn(resourceIds, dates)) {
+            rows.put(new BookingRollup.Key(row.getBookingDate(), row.getResourceId(), row.getCategoryId(),
+                    row.getStartHour(), row.getStatus()), row);
+        }
+
+        deltas.forEach((key, delta) -> {
+            if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0) {
+                return;
+            }
+            BookingRollup row = rows.get(key);
+            if (row == null) {
+                entityManager.persist(new BookingRollup(key.getBookingDate(), key.getResourceId(),
+                        key.getCategoryId(), key.getStartHour(), key.getStatus(), delta[0], delta[1], delta[2]));
+            } else {
+                row.setBookingCount(row.getBookingCount() + delta[0]);
+                row.setTotalMinutes(row.getTotalMinutes() + delta[1]);
+                row.setTimedCount(row.getTimedCount() + delta[2]);
+            }
+        });
+        dashboardCache.invalidate();
+    }
+
+    private void add(Map<BookingRollup.Key, long[]> deltas, Booking booking, BookingStatus status, int sign) {
+        BookingRollup.Key key = new BookingRollup.Key(booking.getBookingDate(), booking.getResource().getId(),
+                booking.getResource().getCategory().getId(), booking.getStartTime().getHour(), status);
+        long[] delta = deltas.computeIfAbsent(key, k -> new long[3]);
+        delta[0] += sign;
+        if (booking.getDuration() != null) {
+            delta[1] += sign * (long) booking.getDuration();
+            delta[2] += sign;
+        }
+    }
+}
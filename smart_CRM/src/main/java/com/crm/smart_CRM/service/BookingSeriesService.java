@@ -0,0 +1,245 @@
+package com.crm.smart_CRM.service;
+
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.RecurrenceFrequency;
+import com.crm.smart_CRM.Enum.SeriesConflictPolicy;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.BookingRequest;
+import com.crm.smart_CRM.dto.request.BookingSeriesRequest;
+import com.crm.smart_CRM.dto.response.BookingSeriesResponse;
+import com.crm.smart_CRM.dto.response.SeriesOccurrenceResult;
+import com.crm.smart_CRM.exception.ResourceNotFoundException;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.BookingSeries;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingSeriesRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class BookingSeriesService {
+    
+    private final BookingSeriesRepository seriesRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ResourceRepository resourceRepository;
+    private final BookingService bookingService;
+    private final BookingLockManager bookingLockManager;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingRollupService bookingRollupService;
+    private final int horizonDays;
+    private final int maxActiveOccurrences;
+    
+    private static final int MAX_OCCURRENCES = 52;
+    
+    public BookingSeriesService(BookingSeriesRepository seriesRepository, BookingRepository bookingRepository,
+                                UserRepository userRepository, ResourceRepository resourceRepository,
+                                BookingService bookingService, BookingLockManager bookingLockManager,
+                                BookingAvailabilityIndex availabilityIndex, BookingRollupService bookingRollupService,
+                                @Value("${booking.series.horizon-days:120}") int horizonDays,
+                                @Value("${booking.series.max-active-occurrences:60}") int maxActiveOccurrences) {
+        this.seriesRepository = seriesRepository;
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.resourceRepository = resourceRepository;
+        this.bookingService = bookingService;
+        this.bookingLockManager = bookingLockManager;
+        this.availabilityIndex = availabilityIndex;
+        this.bookingRollupService = bookingRollupService;
+        this.horizonDays = horizonDays;
+        this.maxActiveOccurrences = maxActiveOccurrences;
+    }
+    
+    /**
+     * Create a recurring booking series (e.g. every Tuesday until the end of the semester).
+     * All occurrences are conflict-checked with one range query and inserted together.
+     */
+    @Transactional
+    public BookingSeriesResponse createSeries(BookingSeriesRequest request) {
+        log.info("Creating {} booking series for user: {} and resource: {}", 
+                request.getFrequency(), request.getUserId(), request.getResourceId());
+        
+        List<LocalDate> dates = generateOccurrenceDates(request);
+        
+        // Same locks as createBooking, for every occurrence
+        Set<ResourceDay> resourceDays = dates.stream()
+                .map(date -> new ResourceDay(request.getResourceId(), date))
+                .collect(Collectors.toSet());
+        bookingLockManager.lockUntilCompletion(Set.of(request.getUserId()), resourceDays);
+        
+        User user = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        Resource resource = resourceRepository.findById(request.getResourceId())
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+        
+        // Series are a staff feature; the advance window applies to the first occurrence,
+        // the series horizon (checked with the dates) to the last
+        if (user.getRole() == UserRole.STUDENT) {
+            throw new ValidationException("Only faculty and admins can create recurring bookings");
+        }
+        bookingService.validateAdvanceDays(user, request.getStartDate());
+        
+        // One range query for every occurrence of the series
+        List<Booking> conflicts = bookingRepository.findConflictingBookingsInRange(
+                resource.getId(), dates.get(0), dates.get(dates.size() - 1),
+                request.getStartTime(), request.getEndTime());
+        Set<LocalDate> conflictDates = conflicts.stream()
+                .map(Booking::getBookingDate)
+                .collect(Collectors.toSet());
+        
+        List<SeriesOccurrenceResult> occurrences = new ArrayList<>();
+        List<Booking> accepted = new ArrayList<>();
+        for (LocalDate date : dates) {
+            BookingRequest occurrence = new BookingRequest(user.getId(), resource.getId(), date,
+                    request.getStartTime(), request.getEndTime(), request.getPurpose(), request.getAttendeesCount());
+            try {
+                bookingService.validateBookingRules(user, resource, occurrence, false);
+                if (conflictDates.contains(date)) {
+                    throw new ValidationException("Selected time slot is already booked");
+                }
+                accepted.add(bookingService.newBooking(user, resource, occurrence));
+                occurrences.add(new SeriesOccurrenceResult(date, true, null, null));
+            } catch (ValidationException e) {
+                occurrences.add(new SeriesOccurrenceResult(date, false, null, e.getMessage()));
+            }
+        }
+        
+        checkActiveOccurrencesLimit(user, accepted.size());
+        
+        int rejectedCount = dates.size() - accepted.size();
+        if (accepted.isEmpty() || (rejectedCount > 0 && request.getConflictPolicy() == SeriesConflictPolicy.FAIL)) {
+            log.info("Booking series not created: {} of {} occurrences rejected", rejectedCount, dates.size());
+            for (SeriesOccurrenceResult occurrence : occurrences) {
+                if (occurrence.isCreated()) {
+                    occurrence.setCreated(false);
+                    occurrence.setMessage("Not created: other occurrences of the series were rejected");
+                }
+            }
+            return toResponse(null, request, 0, dates.size(), occurrences);
+        }
+        
+        BookingSeries series = new BookingSeries();
+        series.setUser(user);
+        series.setResource(resource);
+        series.setFrequency(request.getFrequency());
+        series.setRepeatInterval(repeatInterval(request));
+        series.setStartDate(request.getStartDate());
+        series.setUntilDate(request.getUntilDate());
+        series.setStartTime(request.getStartTime());
+        series.setEndTime(request.getEndTime());
+        series.setPurpose(request.getPurpose());
+        series.setAttendeesCount(request.getAttendeesCount());
+        BookingSeries savedSeries = seriesRepository.save(series);
+        
+        accepted.forEach(booking -> booking.setSeries(savedSeries));
+        List<Booking> savedBookings = bookingRepository.saveAll(accepted);
+        bookingRollupService.bookingsCreated(savedBookings);
+        savedBookings.forEach(availabilityIndex::addAfterCommit);
+        
+        // Fill in booking IDs, occurrences and saved bookings are both in date order
+        int saved = 0;
+        for (SeriesOccurrenceResult occurrence : occurrences) {
+            if (occurrence.isCreated()) {
+                occurrence.setBookingId(savedBookings.get(saved++).getId());
+            }
+        }
+        
+        log.info("Booking series {} created with {} occurrences ({} rejected)", 
+                savedSeries.getId(), savedBookings.size(), rejectedCount);
+        return toResponse(savedSeries.getId(), request, savedBookings.size(), rejectedCount, occurrences);
+    }
+    
+    // ========== HELPER METHODS ==========
+    
+    /**
+     * Expand the recurrence rule into occurrence dates (daily series skip Sundays)
+     */
+    private List<LocalDate> generateOccurrenceDates(BookingSeriesRequest request) {
+        if (request.getUntilDate().isBefore(request.getStartDate())) {
+            throw new ValidationException("Until date must not be before start date");
+        }
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            throw new ValidationException("End time must be after start time");
+        }
+        if (request.getUntilDate().isAfter(LocalDate.now().plusDays(horizonDays))) {
+            throw new ValidationException("A series cannot run more than " + horizonDays + " days ahead");
+        }
+        
+        int interval = repeatInterval(request);
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate date = request.getStartDate();
+        while (!date.isAfter(request.getUntilDate())) {
+            if (request.getFrequency() == RecurrenceFrequency.WEEKLY || date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                dates.add(date);
+            }
+            if (dates.size() > MAX_OCCURRENCES) {
+                throw new ValidationException("A series can have at most " + MAX_OCCURRENCES + " occurrences");
+            }
+            date = request.getFrequency() == RecurrenceFrequency.DAILY
+                    ? date.plusDays(interval)
+                    : date.plusWeeks(interval);
+        }
+        
+        if (dates.isEmpty()) {
+            throw new ValidationException("Series has no occurrences");
+        }
+        return dates;
+    }
+    
+    /**
+     * Series occurrences have their own quota, apart from the single-booking limit:
+     * the user's upcoming occurrences plus the new ones must stay within it (admins are exempt)
+     */
+    private void checkActiveOccurrencesLimit(User user, int newOccurrences) {
+        if (user.getRole() == UserRole.ADMIN || newOccurrences == 0) {
+            return;
+        }
+        long activeOccurrences = bookingRepository.countActiveSeriesBookingsByUser(
+                user.getId(), List.of(BookingStatus.CONFIRMED), LocalDate.now());
+        if (activeOccurrences + newOccurrences > maxActiveOccurrences) {
+            log.error("maximum active series occurrences limit reached");
+            throw new ValidationException("Maximum active recurring occurrences limit reached ("
+                    + maxActiveOccurrences + ")");
+        }
+    }
+    
+    private int repeatInterval(BookingSeriesRequest request) {
+        return request.getRepeatInterval() != null ? request.getRepeatInterval() : 1;
+    }
+    
+    private BookingSeriesResponse toResponse(Long seriesId, BookingSeriesRequest request, int createdCount,
+                                             int rejectedCount, List<SeriesOccurrenceResult> occurrences) {
+        return new BookingSeriesResponse(
+                seriesId,
+                request.getResourceId(),
+                request.getFrequency(),
+                repeatInterval(request),
+                request.getStartDate(),
+                request.getUntilDate(),
+                request.getStartTime(),
+                request.getEndTime(),
+                request.getConflictPolicy(),
+                createdCount,
+                rejectedCount,
+                occurrences
+        );
+    }
+}
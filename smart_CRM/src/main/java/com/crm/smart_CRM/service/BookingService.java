@@ -1,14 +1,23 @@
 package com.crm.smart_CRM.service;
 
 
+import java.io.OutputStream;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -16,22 +25,28 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.crm.smart_CRM.Enum.BookingStatus;
 import com.crm.smart_CRM.Enum.ResourceStatus;
-import com.crm.smart_CRM.Enum.SlotStatus;
 import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.projection.BookingRow;
 import com.crm.smart_CRM.dto.request.BookingCancellationRequest;
 import com.crm.smart_CRM.dto.request.BookingRequest;
+import com.crm.smart_CRM.dto.request.BookingView;
+import com.crm.smart_CRM.dto.response.AvailabilityMatrixResponse;
 import com.crm.smart_CRM.dto.response.AvailableSlotsResponse;
+import com.crm.smart_CRM.dto.response.BatchBookingResponse;
+import com.crm.smart_CRM.dto.response.BatchBookingResult;
 import com.crm.smart_CRM.dto.response.BookingResponse;
 import com.crm.smart_CRM.dto.response.BookingStatistics;
+import com.crm.smart_CRM.dto.response.CursorPage;
+import com.crm.smart_CRM.dto.response.ResourceAvailabilityRow;
 import com.crm.smart_CRM.dto.response.ResourceResponse;
 import com.crm.smart_CRM.dto.response.TimeSlot;
-import com.crm.smart_CRM.dto.response.UserResponse;
 import com.crm.smart_CRM.exception.BookingConflictException;
 import com.crm.smart_CRM.exception.ResourceNotFoundException;
 import com.crm.smart_CRM.model.Booking;
 import com.crm.smart_CRM.model.Resource;
 import com.crm.smart_CRM.model.User;
 import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingRollupRepository;
 import com.crm.smart_CRM.repository.ResourceRepository;
 import com.crm.smart_CRM.repository.SystemConfigRepository;
 import com.crm.smart_CRM.repository.UserRepository;
@@ -50,8 +65,13 @@ public class BookingService {
     private final ResourceRepository resourceRepository;
     private final SystemConfigRepository systemConfigRepository;
     private final EmailService emailService;
-    private final ResourceService resourceService;
-    private final UserService userService;
+    private final BookingResponseAssembler responseAssembler;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final BookingLockManager bookingLockManager;
+    private final OptimisticRetryExecutor optimisticRetry;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final BookingRollupService bookingRollupService;
+    private final BookingRollupRepository rollupRepository;
     
     // Constants for booking rules
     private static final int STUDENT_MAX_BOOKINGS = 3;
@@ -62,6 +82,7 @@ public class BookingService {
     private static final int FACULTY_MAX_DURATION = 360; // 6 hours in minutes
     private static final int STUDENT_CANCEL_HOURS = 2;
     private static final int FACULTY_CANCEL_HOURS = 1;
+    private static final int MATRIX_MAX_DAYS = 31;
     
     /**
      * Create a new booking
@@ -70,6 +91,10 @@ public class BookingService {
     public BookingResponse createBooking(BookingRequest request) {
         log.info("Creating booking for user: {} and resource: {}", request.getUserId(), request.getResourceId());
         
+        // Serialize quota and conflict checks with other writers for this user and resource-day.
+        // Taken before any read so the checks below see every booking committed before us.
+        bookingLockManager.lockForBooking(request.getUserId(), request.getResourceId(), request.getBookingDate());
+        
         // Fetch user and resource
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -80,23 +105,12 @@ public class BookingService {
         // Validate booking
         validateBooking(user, resource, request);
         
-        // Calculate duration
-        Duration duration = Duration.between(request.getStartTime(), request.getEndTime());
-        int durationMinutes = (int) duration.toMinutes();
-        
         // Create booking
-        Booking booking = new Booking();
-        booking.setUser(user);
-        booking.setResource(resource);
-        booking.setBookingDate(request.getBookingDate());
-        booking.setStartTime(request.getStartTime());
-        booking.setEndTime(request.getEndTime());
-        booking.setDuration(durationMinutes);
-        booking.setPurpose(request.getPurpose());
-        booking.setAttendeesCount(request.getAttendeesCount());
-        booking.setStatus(BookingStatus.CONFIRMED);
+        Booking booking = newBooking(user, resource, request);
         
         Booking savedBooking = bookingRepository.save(booking);
+        bookingRollupService.bookingsCreated(List.of(savedBooking));
+        availabilityIndex.addAfterCommit(savedBooking);
         log.info("Booking created successfully with ID: {}", savedBooking.getId());
         
         // Send confirmation email
@@ -109,6 +123,120 @@ public class BookingService {
         return mapToBookingResponse(savedBooking);
     }
     
+    /**
+     * Create several bookings in one call (department admins booking many rooms).
+     * Each item is validated like createBooking; failed items are reported and skipped,
+     * accepted items are inserted together.
+     */
+    @Transactional
+    public BatchBookingResponse createBookings(List<BookingRequest> requests) {
+        return createBookings(requests, false);
+    }
+    
+    /**
+     * Create several bookings in one call. With allOrNothing, a single failed item rejects
+     * the whole batch and nothing is inserted.
+     */
+    @Transactional
+    public BatchBookingResponse createBookings(List<BookingRequest> requests, boolean allOrNothing) {
+        log.info("Creating batch of {} bookings (all or nothing: {})", requests.size(), allOrNothing);
+        
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> resourceIds = new HashSet<>();
+        Map<ResourceDay, List<BookingRequest>> requestsByResourceDay = new LinkedHashMap<>();
+        for (BookingRequest request : requests) {
+            userIds.add(request.getUserId());
+            resourceIds.add(request.getResourceId());
+            requestsByResourceDay
+                    .computeIfAbsent(new ResourceDay(request.getResourceId(), request.getBookingDate()), key -> new ArrayList<>())
+                    .add(request);
+        }
+        
+        // Same locks as createBooking, for every user and resource-day in the batch
+        bookingLockManager.lockUntilCompletion(userIds, requestsByResourceDay.keySet());
+        
+        // Fetch users, resources and active booking counts with one query each
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Resource> resources = resourceRepository.findAllById(resourceIds).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        Map<Long, Long> activeBookingCounts = new HashMap<>();
+        for (Object[] row : bookingRepository.countActiveBookingsByUsers(userIds, Arrays.asList(BookingStatus.CONFIRMED))) {
+            activeBookingCounts.put((Long) row[0], (Long) row[1]);
+        }
+        
+        // Bookings already taken per resource-day, loaded with one query for the whole batch
+        Map<ResourceDay, List<Booking>> takenByResourceDay = findTakenBookings(requestsByResourceDay.keySet());
+        
+        List<BatchBookingResult> results = new ArrayList<>();
+        List<Booking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            try {
+                User user = users.get(request.getUserId());
+                if (user == null) {
+                    throw new ResourceNotFoundException("User not found");
+                }
+                Resource resource = resources.get(request.getResourceId());
+                if (resource == null) {
+                    throw new ResourceNotFoundException("Resource not found");
+                }
+                if (request.getStartTime() == null || request.getEndTime() == null) {
+                    throw new ValidationException("Start time and end time are required");
+                }
+                
+                validateBookingRules(user, resource, request);
+                checkActiveBookingsLimit(user, activeBookingCounts.getOrDefault(user.getId(), 0L));
+                
+                // Conflicts with existing bookings and with items accepted earlier in this batch
+                ResourceDay resourceDay = new ResourceDay(request.getResourceId(), request.getBookingDate());
+                List<Booking> taken = takenByResourceDay.get(resourceDay);
+                if (overlapsAny(taken, request.getStartTime(), request.getEndTime())) {
+                    throw new BookingConflictException("Selected time slot is already booked");
+                }
+                
+                Booking booking = newBooking(user, resource, request);
+                taken.add(booking);
+                activeBookingCounts.merge(user.getId(), 1L, Long::sum);
+                accepted.add(booking);
+                acceptedIndexes.add(i);
+                results.add(null);
+            } catch (ValidationException | BookingConflictException | ResourceNotFoundException e) {
+                results.add(BatchBookingResult.failure(i, e.getMessage()));
+            }
+        }
+        
+        if (allOrNothing && accepted.size() < requests.size()) {
+            for (int index : acceptedIndexes) {
+                results.set(index, BatchBookingResult.failure(index, "Not booked: another booking in the batch failed"));
+            }
+            accepted.clear();
+            acceptedIndexes.clear();
+        }
+        
+        List<Booking> savedBookings = bookingRepository.saveAll(accepted);
+        bookingRollupService.bookingsCreated(savedBookings);
+        List<BookingResponse> responses = responseAssembler.toResponses(savedBookings);
+        for (int j = 0; j < savedBookings.size(); j++) {
+            Booking savedBooking = savedBookings.get(j);
+            availabilityIndex.addAfterCommit(savedBooking);
+            
+            try {
+                emailService.sendBookingConfirmation(savedBooking);
+            } catch (Exception e) {
+                log.error("Failed to send booking confirmation email", e);
+            }
+            
+            int index = acceptedIndexes.get(j);
+            results.set(index, BatchBookingResult.success(index, responses.get(j)));
+        }
+        
+        log.info("Batch booking finished: {} created, {} failed", savedBookings.size(), requests.size() - savedBookings.size());
+        return new BatchBookingResponse(requests.size(), savedBookings.size(), requests.size() - savedBookings.size(), results);
+    }
+    
     /**
      * Validate booking request
      */
@@ -116,6 +244,35 @@ public class BookingService {
     	log.info("entering into validate booking method...");
         log.debug("Validating booking for user: {} and resource: {}", user.getId(), resource.getId());
         
+        validateBookingRules(user, resource, request);
+        
+        // 3. Check active bookings limit
+        List<BookingStatus> activeStatuses = Arrays.asList(BookingStatus.CONFIRMED);
+        Long activeBookingsCount = bookingRepository.countActiveBookingsByUser(user.getId(), activeStatuses);
+        checkActiveBookingsLimit(user, activeBookingsCount);
+        
+        // 7. Check time slot availability (no conflicts)
+        if (hasConflict(resource.getId(), request.getBookingDate(), request.getStartTime(), request.getEndTime())) {
+        	log.error("selected time slot is already booked..");
+            throw new BookingConflictException("Selected time slot is already booked");
+        }
+        
+        log.debug("Booking validation passed");
+    }
+    
+    /**
+     * Validate the booking rules that need no database lookup
+     */
+    void validateBookingRules(User user, Resource resource, BookingRequest request) {
+        validateBookingRules(user, resource, request, true);
+    }
+    
+    /**
+     * Validate the booking rules that need no database lookup.
+     * Series occurrences skip the advance window: the series start is checked against it and
+     * the rest of the series against the series horizon.
+     */
+    void validateBookingRules(User user, Resource resource, BookingRequest request, boolean checkAdvanceDays) {
         // 1. Check resource status
         if (resource.getStatus() != ResourceStatus.AVAILABLE) {
             log.error("Resource is not available for booking");
@@ -136,22 +293,9 @@ public class BookingService {
             }
         }
         
-        // 3. Check active bookings limit
-        List<BookingStatus> activeStatuses = Arrays.asList(BookingStatus.CONFIRMED);
-        Long activeBookingsCount = bookingRepository.countActiveBookingsByUser(user.getId(), activeStatuses);
-        
-        int maxBookings = getMaxBookingsByRole(user.getRole());
-        if (activeBookingsCount >= maxBookings) {
-        	log.error("maximum active booking limit reached");
-            throw new ValidationException("Maximum active bookings limit reached (" + maxBookings + ")");
-        }
-        
         // 4. Check advance booking days
-        int advanceDays = getAdvanceBookingDays(user.getRole());
-        LocalDate maxAdvanceDate = LocalDate.now().plusDays(advanceDays);
-        if (request.getBookingDate().isAfter(maxAdvanceDate)) {
-        	log.error("cannot book more than advance days..");
-            throw new ValidationException("Cannot book more than " + advanceDays + " days in advance");
+        if (checkAdvanceDays) {
+            validateAdvanceDays(user, request.getBookingDate());
         }
         
         // 5. Check booking date is not in the past
@@ -177,19 +321,6 @@ public class BookingService {
                     (maxDuration / 60) + " hours");
         }
         
-        // 7. Check time slot availability (no conflicts)
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                resource.getId(),
-                request.getBookingDate(),
-                request.getStartTime(),
-                request.getEndTime()
-        );
-        
-        if (!conflicts.isEmpty()) {
-        	log.error("selected time slot is already booked..");
-            throw new BookingConflictException("Selected time slot is already booked");
-        }
-        
         // 8. Check attendees count
         if (request.getAttendeesCount() != null && request.getAttendeesCount() > resource.getCapacity()) {
         	log.error("attendees count exceeds resource capacity..");
@@ -210,99 +341,224 @@ public class BookingService {
         	log.error("booking not allowed on sundays..");
             throw new ValidationException("Bookings not allowed on Sundays");
         }
-        
-        log.debug("Booking validation passed");
+    }
+    
+    /**
+     * Check the date is within the user's advance booking window
+     */
+    void validateAdvanceDays(User user, LocalDate bookingDate) {
+        int advanceDays = getAdvanceBookingDays(user.getRole());
+        LocalDate maxAdvanceDate = LocalDate.now().plusDays(advanceDays);
+        if (bookingDate.isAfter(maxAdvanceDate)) {
+        	log.error("cannot book more than advance days..");
+            throw new ValidationException("Cannot book more than " + advanceDays + " days in advance");
+        }
+    }
+    
+    /**
+     * Check the user's active bookings against the limit for their role
+     */
+    void checkActiveBookingsLimit(User user, long activeBookingsCount) {
+        int maxBookings = getMaxBookingsByRole(user.getRole());
+        if (activeBookingsCount >= maxBookings) {
+        	log.error("maximum active booking limit reached");
+            throw new ValidationException("Maximum active bookings limit reached (" + maxBookings + ")");
+        }
     }
     
     /**
      * Get available time slots for a resource on a specific date
      */
+    @Transactional(readOnly = true)
     public AvailableSlotsResponse getAvailableSlots(Long resourceId, LocalDate date) {
         log.debug("Getting available slots for resource: {} on date: {}", resourceId, date);
         
         Resource resource = resourceRepository.findById(resourceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
         
-        // Get all confirmed bookings for this resource on this date
-        List<Booking> bookings = bookingRepository.findByResourceIdAndDateAndStatus(
-                resourceId, date, BookingStatus.CONFIRMED);
+        // Slots from 8 AM to 8 PM at the resource's granularity
+        List<TimeSlot> slots = slotTemplateOf(resource).overlay(occupancy(resourceId, date));
         
-        // Generate time slots from 8 AM to 8 PM (hourly slots)
-        List<TimeSlot> slots = generateTimeSlots();
+        return new AvailableSlotsResponse(date, resourceId, resource.getName(), slots);
+    }
+    
+    /**
+     * Get available time slots of an already loaded resource, without reading it again
+     */
+    public AvailableSlotsResponse getAvailableSlots(ResourceResponse resource, LocalDate date) {
+        Integer categorySlotMinutes = resource.getCategory() != null ? resource.getCategory().getSlotMinutes() : null;
+        List<TimeSlot> slots = slotTemplateOf(resource.getSlotMinutes(), categorySlotMinutes)
+                .overlay(occupancy(resource.getId(), date));
         
-        // Mark slots as booked
-        for (Booking booking : bookings) {
-            markSlotsAsBooked(slots, booking.getStartTime(), booking.getEndTime());
+        return new AvailableSlotsResponse(date, resource.getId(), resource.getName(), slots);
+    }
+    
+    /**
+     * Get slot occupancy of every resource in a category for a date range
+     */
+    public AvailabilityMatrixResponse getAvailabilityMatrix(Long categoryId, LocalDate startDate, LocalDate endDate) {
+        log.debug("Getting availability matrix for category: {} from {} to {}", categoryId, startDate, endDate);
+        
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date must not be before start date");
+        }
+        int dayCount = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (dayCount > MATRIX_MAX_DAYS) {
+            throw new ValidationException("Date range cannot exceed " + MATRIX_MAX_DAYS + " days");
         }
         
-        return new AvailableSlotsResponse(date, resourceId, resource.getName(), slots);
+        List<Resource> resources = resourceRepository.findByCategoryId(categoryId);
+        Map<Long, long[]> occupancy = new HashMap<>();
+        for (Resource resource : resources) {
+            occupancy.put(resource.getId(), new long[dayCount]);
+        }
+        
+        if (availabilityIndex.isCovered(startDate)) {
+            occupancy.forEach((resourceId, days) -> {
+                for (int day = 0; day < dayCount; day++) {
+                    days[day] = availabilityIndex.occupancy(resourceId, startDate.plusDays(day));
+                }
+            });
+        } else if (!resources.isEmpty()) {
+            // One query for the whole range instead of one per resource-day
+            for (Object[] row : bookingRepository.findConfirmedIntervalsByResourcesAndDateRange(
+                    occupancy.keySet(), startDate, endDate)) {
+                int day = (int) ChronoUnit.DAYS.between(startDate, (LocalDate) row[1]);
+                occupancy.get((Long) row[0])[day] |= SlotBitmap.mask((LocalTime) row[2], (LocalTime) row[3]);
+            }
+        }
+        
+        List<ResourceAvailabilityRow> rows = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            List<String> days = new ArrayList<>(dayCount);
+            for (long dayOccupancy : occupancy.get(resource.getId())) {
+                days.add(SlotBitmap.toBitString(dayOccupancy));
+            }
+            rows.add(new ResourceAvailabilityRow(resource.getId(), resource.getName(), 
+                    resource.getCapacity(), resource.getStatus(), days));
+        }
+        
+        return new AvailabilityMatrixResponse(categoryId, startDate, endDate, SlotBitmap.DAY_START,
+                SlotBitmap.SLOT_MINUTES, SlotBitmap.SLOTS_PER_DAY, rows);
     }
     
     /**
-     * Generate time slots for the day (8 AM - 8 PM, hourly)
+     * Slot template of a resource: its own granularity, else its category's, else hourly
      */
-    private List<TimeSlot> generateTimeSlots() {
-        List<TimeSlot> slots = new ArrayList<>();
-        for (int hour = 8; hour < 20; hour++) {
-            slots.add(new TimeSlot(LocalTime.of(hour, 0), SlotStatus.AVAILABLE));
-        }
-        return slots;
+    private SlotTemplate slotTemplateOf(Resource resource) {
+        return slotTemplateOf(resource.getSlotMinutes(),
+                resource.getCategory() != null ? resource.getCategory().getSlotMinutes() : null);
+    }
+    
+    private SlotTemplate slotTemplateOf(Integer resourceSlotMinutes, Integer categorySlotMinutes) {
+        Integer slotMinutes = resourceSlotMinutes != null ? resourceSlotMinutes : categorySlotMinutes;
+        return SlotTemplate.of(slotMinutes != null ? slotMinutes : SlotTemplate.DEFAULT_SLOT_MINUTES);
     }
     
     /**
-     * Mark time slots as booked
+     * Slot occupancy of a resource-day, from the availability index when it covers the date
      */
-    private void markSlotsAsBooked(List<TimeSlot> slots, LocalTime startTime, LocalTime endTime) {
-        for (TimeSlot slot : slots) {
-            if (!slot.getTime().isBefore(startTime) && slot.getTime().isBefore(endTime)) {
-                slot.setStatus(SlotStatus.BOOKED);
-            }
+    private long occupancy(Long resourceId, LocalDate date) {
+        if (availabilityIndex.isCovered(date)) {
+            return availabilityIndex.occupancy(resourceId, date);
         }
+        
+        long occupancy = 0L;
+        for (Booking booking : bookingRepository.findByResourceIdAndDateAndStatus(
+                resourceId, date, BookingStatus.CONFIRMED)) {
+            occupancy |= SlotBitmap.mask(booking.getStartTime(), booking.getEndTime());
+        }
+        return occupancy;
     }
     
     /**
      * Get user's bookings
      */
     public List<BookingResponse> getUserBookings(Long userId) {
+        return getUserBookings(userId, BookingView.FULL);
+    }
+    
+    /**
+     * Get user's bookings, with the parts the view asks for
+     */
+    public List<BookingResponse> getUserBookings(Long userId, BookingView view) {
         log.debug("Fetching bookings for user: {}", userId);
         
-        List<Booking> bookings = bookingRepository.findByUserId(userId);
-        return bookings.stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+        return responseAssembler.fromRows(bookingRepository.findBookingRowsByUserId(userId), view);
     }
     
     /**
      * Get booking by ID
      */
     public BookingResponse getBookingById(Long id) {
+        return getBookingById(id, BookingView.FULL);
+    }
+    
+    /**
+     * Get booking by ID, with the parts the view asks for
+     */
+    public BookingResponse getBookingById(Long id, BookingView view) {
         log.debug("Fetching booking with ID: {}", id);
         
-        Booking booking = bookingRepository.findById(id)
+        BookingRow row = bookingRepository.findBookingRowById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + id));
-        return mapToBookingResponse(booking);
+        return responseAssembler.fromRows(List.of(row), view).get(0);
+    }
+    
+    /**
+     * Get all bookings (Admin), one keyset page at a time
+     */
+    public CursorPage<BookingResponse> getAllBookings(Long after, Integer size) {
+        return getAllBookings(after, size, BookingView.FULL);
+    }
+    
+    /**
+     * Get all bookings (Admin), one keyset page at a time, with the parts the view asks for
+     */
+    public CursorPage<BookingResponse> getAllBookings(Long after, Integer size, BookingView view) {
+        log.debug("Fetching bookings after ID: {}", after);
+        
+        int pageSize = CursorPage.pageSize(size);
+        List<BookingRow> rows = bookingRepository.findBookingRowsAfter(CursorPage.after(after),
+                CursorPage.limitFor(pageSize));
+        return CursorPage.of(responseAssembler.fromRows(rows, view), pageSize, BookingResponse::getId);
+    }
+    
+    /**
+     * Write all bookings (Admin) after the given ID as NDJSON
+     */
+    public long streamAllBookings(Long after, OutputStream out) {
+        return streamAllBookings(after, BookingView.FULL, out);
     }
     
     /**
-     * Get all bookings (Admin)
+     * Write all bookings (Admin) after the given ID as NDJSON, with the parts the view asks for
      */
-    public List<BookingResponse> getAllBookings() {
-        log.debug("Fetching all bookings");
+    public long streamAllBookings(Long after, BookingView view, OutputStream out) {
+        log.debug("Streaming bookings after ID: {}", after);
         
-        return bookingRepository.findAll().stream()
-                .map(this::mapToBookingResponse)
-                .collect(Collectors.toList());
+        return ndjsonStreamer.stream(out, () -> bookingRepository.streamBookingRowsAfter(CursorPage.after(after)),
+                rows -> responseAssembler.fromRows(rows, view));
     }
     
     /**
      * Cancel booking
      */
-    @Transactional
     public BookingResponse cancelBooking(Long bookingId, BookingCancellationRequest request) {
         log.info("Cancelling booking ID: {}", bookingId);
         
-        Booking booking = bookingRepository.findById(bookingId)
+        return optimisticRetry.execute("Booking cancellation", () -> cancelBookingAttempt(bookingId, request));
+    }
+    
+    /**
+     * One attempt at cancelling, re-run by cancelBooking when the booking changed concurrently
+     */
+    private BookingResponse cancelBookingAttempt(Long bookingId, BookingCancellationRequest request) {
+        Booking booking = bookingRepository.findDetailedById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+        // The rollup update below runs under the booking's resource-day lock
+        bookingLockManager.lockUntilCompletion(Set.of(),
+                Set.of(new ResourceDay(booking.getResource().getId(), booking.getBookingDate())));
         
         // Check if booking is already cancelled or completed
         if (booking.getStatus() != BookingStatus.CONFIRMED) {
@@ -333,7 +589,10 @@ public class BookingService {
         booking.setCancellationReason(request.getCancellationReason());
         booking.setCancelledAt(LocalDateTime.now());
         
-        Booking cancelledBooking = bookingRepository.save(booking);
+        // Flush so a concurrent update fails the version check before the email goes out
+        Booking cancelledBooking = bookingRepository.saveAndFlush(booking);
+        bookingRollupService.statusChanged(List.of(cancelledBooking), BookingStatus.CONFIRMED);
+        availabilityIndex.removeAfterCommit(cancelledBooking);
         log.info("Booking cancelled successfully");
         
         // Send cancellation email
@@ -365,9 +624,7 @@ public class BookingService {
      * Check booking availability
      */
     public boolean checkAvailability(Long resourceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                resourceId, date, startTime, endTime);
-        return conflicts.isEmpty();
+        return !hasConflict(resourceId, date, startTime, endTime);
     }
     
     /**
@@ -376,26 +633,26 @@ public class BookingService {
     public BookingStatistics getBookingStatistics() {
         log.debug("Calculating booking statistics");
         
-        Long totalBookings = bookingRepository.count();
-        Long confirmedBookings = bookingRepository.countByStatus(BookingStatus.CONFIRMED);
-        Long completedBookings = bookingRepository.countByStatus(BookingStatus.COMPLETED);
-        Long cancelledBookings = bookingRepository.countByStatus(BookingStatus.CANCELLED);
-        Long noShowBookings = bookingRepository.countByStatus(BookingStatus.NO_SHOW);
+        // Counts and minutes from the dashboard rollups instead of the bookings table
+        Map<BookingStatus, Long> bookingsByStatus = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            bookingsByStatus.put(status, 0L);
+        }
+        for (Object[] row : rollupRepository.countByStatus()) {
+            bookingsByStatus.put((BookingStatus) row[0], (Long) row[1]);
+        }
         
-        // Calculate average booking duration
-        List<Booking> allBookings = bookingRepository.findAll();
-        Double avgDuration = allBookings.stream()
-                .filter(b -> b.getDuration() != null)
-                .mapToInt(Booking::getDuration)
-                .average()
-                .orElse(0.0);
+        // Average over bookings with a duration
+        Object[] minutes = rollupRepository.sumMinutes().get(0);
+        long timedBookings = (Long) minutes[1];
+        Double avgDuration = timedBookings > 0 ? (double) (Long) minutes[0] / timedBookings : 0.0;
         
         BookingStatistics stats = new BookingStatistics();
-        stats.setTotalBookings(totalBookings);
-        stats.setConfirmedBookings(confirmedBookings);
-        stats.setCompletedBookings(completedBookings);
-        stats.setCancelledBookings(cancelledBookings);
-        stats.setNoShowBookings(noShowBookings);
+        stats.setTotalBookings(bookingsByStatus.values().stream().mapToLong(Long::longValue).sum());
+        stats.setConfirmedBookings(bookingsByStatus.get(BookingStatus.CONFIRMED));
+        stats.setCompletedBookings(bookingsByStatus.get(BookingStatus.COMPLETED));
+        stats.setCancelledBookings(bookingsByStatus.get(BookingStatus.CANCELLED));
+        stats.setNoShowBookings(bookingsByStatus.get(BookingStatus.NO_SHOW));
         stats.setAverageBookingDuration(avgDuration);
         
         return stats;
@@ -403,6 +660,73 @@ public class BookingService {
     
     // ========== HELPER METHODS ==========
     
+    /**
+     * Build a confirmed booking from a request
+     */
+    Booking newBooking(User user, Resource resource, BookingRequest request) {
+        Duration duration = Duration.between(request.getStartTime(), request.getEndTime());
+        
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setResource(resource);
+        booking.setBookingDate(request.getBookingDate());
+        booking.setStartTime(request.getStartTime());
+        booking.setEndTime(request.getEndTime());
+        booking.setDuration((int) duration.toMinutes());
+        booking.setPurpose(request.getPurpose());
+        booking.setAttendeesCount(request.getAttendeesCount());
+        booking.setStatus(BookingStatus.CONFIRMED);
+        return booking;
+    }
+    
+    /**
+     * Confirmed bookings of each resource-day, read with one query (resource-days without
+     * bookings map to an empty list)
+     */
+    private Map<ResourceDay, List<Booking>> findTakenBookings(Set<ResourceDay> resourceDays) {
+        Map<ResourceDay, List<Booking>> taken = new HashMap<>();
+        Set<Long> resourceIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (ResourceDay resourceDay : resourceDays) {
+            taken.put(resourceDay, new ArrayList<>());
+            resourceIds.add(resourceDay.resourceId());
+            dates.add(resourceDay.date());
+        }
+        if (resourceDays.isEmpty()) {
+            return taken;
+        }
+        // The IN lists also match resource/date pairs outside the batch, those are skipped
+        for (Booking booking : bookingRepository.findConfirmedBookingsOn(resourceIds, dates)) {
+            List<Booking> bookings = taken.get(new ResourceDay(booking.getResource().getId(), booking.getBookingDate()));
+            if (bookings != null) {
+                bookings.add(booking);
+            }
+        }
+        return taken;
+    }
+    
+    /**
+     * Check if [startTime, endTime) overlaps any of the bookings
+     */
+    private boolean overlapsAny(List<Booking> bookings, LocalTime startTime, LocalTime endTime) {
+        for (Booking booking : bookings) {
+            if (booking.getStartTime().isBefore(endTime) && booking.getEndTime().isAfter(startTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Check for a conflicting confirmed booking, using the in-memory index when it covers the date
+     */
+    private boolean hasConflict(Long resourceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (availabilityIndex.isCovered(date)) {
+            return availabilityIndex.hasConflict(resourceId, date, startTime, endTime);
+        }
+        return !bookingRepository.findConflictingBookings(resourceId, date, startTime, endTime).isEmpty();
+    }
+    
     /**
      * Get max bookings allowed by role
      */
@@ -417,7 +741,7 @@ public class BookingService {
     /**
      * Get advance booking days by role
      */
-    private int getAdvanceBookingDays(UserRole role) {
+    static int getAdvanceBookingDays(UserRole role) {
         return switch (role) {
             case STUDENT -> STUDENT_ADVANCE_DAYS;
             case FACULTY -> FACULTY_ADVANCE_DAYS;
@@ -429,43 +753,25 @@ public class BookingService {
      * Get max booking duration by role
      */
     private int getMaxBookingDuration(UserRole role, Resource resource) {
-        int roleDuration = switch (role) {
+        // Take minimum of role duration and resource max duration
+        return Math.min(getRoleMaxBookingDuration(role), resource.getMaxBookingDuration());
+    }
+    
+    /**
+     * Get max booking duration by role alone, whatever the resource
+     */
+    static int getRoleMaxBookingDuration(UserRole role) {
+        return switch (role) {
             case STUDENT -> STUDENT_MAX_DURATION;
             case FACULTY -> FACULTY_MAX_DURATION;
             case ADMIN -> Integer.MAX_VALUE;
         };
-        
-        // Take minimum of role duration and resource max duration
-        return Math.min(roleDuration, resource.getMaxBookingDuration());
     }
     
     /**
      * Map Booking entity to BookingResponse DTO
      */
     private BookingResponse mapToBookingResponse(Booking booking) {
-        UserResponse userResponse = userService.getUserById(booking.getUser().getId());
-        ResourceResponse resourceResponse = resourceService.getResourceById(booking.getResource().getId());
-        
-        UserResponse cancelledByResponse = null;
-        if (booking.getCancelledBy() != null) {
-            cancelledByResponse = userService.getUserById(booking.getCancelledBy().getId());
-        }
-        
-        return new BookingResponse(
-                booking.getId(),
-                userResponse,
-                resourceResponse,
-                booking.getBookingDate(),
-                booking.getStartTime(),
-                booking.getEndTime(),
-                booking.getDuration(),
-                booking.getPurpose(),
-                booking.getAttendeesCount(),
-                booking.getStatus(),
-                booking.getCancellationReason(),
-                booking.getCancelledAt(),
-                cancelledByResponse,
-                booking.getCreatedAt()
-        );
+        return responseAssembler.toResponse(booking);
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.crm.smart_CRM.service;
+
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory version counters of the catalog collections, the source of the ETags of the
+ * conditional GET endpoints. Checking an ETag costs a counter read: an unchanged collection
+ * is answered with 304 before any query runs.
+ *
+ * Writers bump the counters after their transaction commits, so an ETag is never paired with
+ * data that isn't visible yet. Controllers must read the ETag before querying. Every tag also
+ * carries the boot time, so tags issued before a restart never match afterwards.
+ */
+@Component
+public class CatalogVersions {
+
+    private final String boot = Long.toString(System.currentTimeMillis(), 36);
+
+    // Resource and category writes. Resource responses embed their category, and review
+    // responses the resource name, so both tags follow this counter
+    private final AtomicLong resources = new AtomicLong();
+    // Review writes, which move the rating aggregates shown on resources
+    private final AtomicLong ratings = new AtomicLong();
+    private final AtomicLong categories = new AtomicLong();
+    // Review responses show the author's name
+    private final AtomicLong users = new AtomicLong();
+    private final ConcurrentHashMap<Long, AtomicLong> reviewsByResource = new ConcurrentHashMap<>();
+
+    /**
+     * ETag of resource lists and single resources
+     */
+    public String resourcesTag() {
+        return tag(resources.get(), ratings.get());
+    }
+
+    /**
+     * ETag of category lists and single categories
+     */
+    public String categoriesTag() {
+        return tag(categories.get());
+    }
+
+    /**
+     * ETag of the reviews of a resource
+     */
+    public String reviewsTag(Long resourceId) {
+        return tag(resources.get(), users.get(), reviewsOf(resourceId).get());
+    }
+
+    /**
+     * A resource was created, updated or changed status
+     */
+    public void resourcesChanged() {
+        afterCommit(resources::incrementAndGet);
+    }
+
+    /**
+     * A category was created, updated or deleted
+     */
+    public void categoriesChanged() {
+        afterCommit(() -> {
+            categories.incrementAndGet();
+            resources.incrementAndGet();
+        });
+    }
+
+    /**
+     * A review of the resource was submitted, edited or deleted
+     */
+    public void reviewsChanged(Long resourceId) {
+        afterCommit(() -> {
+            reviewsOf(resourceId).incrementAndGet();
+            ratings.incrementAndGet();
+        });
+    }
+
+    /**
+     * A user's profile changed
+     */
+    public void usersChanged() {
+        afterCommit(users::incrementAndGet);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private AtomicLong reviewsOf(Long resourceId) {
+        return reviewsByResource.computeIfAbsent(resourceId, id -> new AtomicLong());
+    }
+
+    private String tag(long... versions) {
+        StringBuilder tag = new StringBuilder("\"").append(boot);
+        for (long version : versions) {
+            tag.append('.').append(version);
+        }
+        return tag.append('"').toString();
+    }
+
+    private void afterCommit(Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.crm.smart_CRM.service;
+
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stale-while-revalidate cache of dashboard payloads, keyed by dashboard.
+ *
+ * A fresh payload is returned as is. A stale one (older than the TTL, or loaded before the
+ * last invalidation) is still returned at once while one background refresh replaces it;
+ * only a payload older than the max staleness, or a missing one, makes callers wait, and
+ * then they all wait for the same load. Concurrent refreshes of a dashboard never stampede
+ * the database: there is at most one load per key in flight.
+ *
+ * Booking writes invalidate the cache through BookingRollupService, after their transaction
+ * commits, so a refresh never misses a write it was triggered by.
+ *
+ * Loaders run outside any transaction, on a request or a refresh thread alike, so a loader
+ * fanning out through SectionExecutor runs its sections concurrently against their deadline.
+ * A loader that needs a session opens its own read-only transaction.
+ */
+@Component
+@Slf4j
+public class DashboardCache {
+
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final ThreadPoolExecutor refresher;
+
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    // Committed invalidations, payloads loaded before the latest one are stale
+    private final AtomicLong generation = new AtomicLong();
+
+    public DashboardCache(@Value("${dashboard.cache.ttl-seconds:30}") long ttlSeconds,
+                          @Value("${dashboard.cache.max-stale-seconds:600}") long maxStaleSeconds,
+                          @Value("${dashboard.cache.refresh-threads:2}") int refreshThreads) {
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.maxStaleNanos = Duration.ofSeconds(Math.max(ttlSeconds, maxStaleSeconds)).toNanos();
+        // At most one refresh per key is queued, so the queue stays as small as the key set
+        this.refresher = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory());
+        this.refresher.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Cached payload of the dashboard, loading it when there is none
+     */
+    public <T> T get(String key, Supplier<T> loader) {
+        return get(key, loader, payload -> true);
+    }
+
+    /**
+     * Cached payload of the dashboard. A payload failing complete (e.g. one with degraded
+     * sections) is cached as already stale, so the next read refreshes it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader, Predicate<? super T> complete) {
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+        Cached cached = slot.cached;
+        long age = cached != null ? System.nanoTime() - cached.loadedAt() : Long.MAX_VALUE;
+
+        if (age < maxStaleNanos) {
+            if (age >= ttlNanos || !cached.complete() || cached.generation() != generation.get()) {
+                load(key, slot, loader, complete, true);
+            }
+            return (T) cached.payload();
+        }
+
+        // Nothing servable: every caller waits for the same load
+        return (T) await(load(key, slot, loader, complete, false));
+    }
+
+    /**
+     * Mark every cached payload stale once the current transaction commits. The next read
+     * of a dashboard still gets its previous payload and starts its refresh.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <T> CompletableFuture<Object> load(String key, Slot slot, Supplier<T> loader,
+                                               Predicate<? super T> complete, boolean background) {
+        CompletableFuture<Object> load;
+        synchronized (slot) {
+            if (slot.loading != null) {
+                return slot.loading;
+            }
+            load = slot.loading = new CompletableFuture<>();
+        }
+
+        Runnable task = () -> {
+            // Read before loading: an invalidation committing meanwhile leaves the payload stale
+            long loadedGeneration = generation.get();
+            long loadedAt = System.nanoTime();
+            try {
+                T payload = loader.get();
+                slot.cached = new Cached(payload, loadedAt, loadedGeneration, complete.test(payload));
+                load.complete(payload);
+            } catch (RuntimeException | Error e) {
+                log.warn("Loading dashboard {} failed{}", key, background ? ", still serving the stale one" : "", e);
+                load.completeExceptionally(e);
+            } finally {
+                synchronized (slot) {
+                    slot.loading = null;
+                }
+            }
+        };
+
+        if (!background) {
+            task.run();
+            return load;
+        }
+        try {
+            refresher.execute(task);
+        } catch (RejectedExecutionException e) {
+            synchronized (slot) {
+                slot.loading = null;
+            }
+            load.completeExceptionally(e);
+        }
+        return load;
+    }
+
+    private Object await(CompletableFuture<Object> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-refresh-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Slot {
+
+        private volatile Cached cached;
+        private CompletableFuture<Object> loading; // guarded by the slot
+    }
+
+    private record Cached(Object payload, long loadedAt, long generation, boolean complete) {
+    }
+}
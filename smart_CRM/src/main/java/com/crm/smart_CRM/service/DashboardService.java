@@ -5,21 +5,29 @@ package com.crm.smart_CRM.service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.crm.smart_CRM.Enum.AccountStatus;
+import com.crm.smart_CRM.Enum.BookingPeriod;
 import com.crm.smart_CRM.Enum.BookingStatus;
 import com.crm.smart_CRM.Enum.EmailStatus;
 import com.crm.smart_CRM.Enum.ResourceStatus;
+import com.crm.smart_CRM.Enum.TrendBucket;
 import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.response.BookingPeriodCount;
 import com.crm.smart_CRM.dto.response.BookingResponse;
 import com.crm.smart_CRM.dto.response.DashboardResponse;
 import com.crm.smart_CRM.dto.response.ResourceUtilization;
@@ -27,25 +35,55 @@ import com.crm.smart_CRM.model.Booking;
 import com.crm.smart_CRM.model.Resource;
 import com.crm.smart_CRM.model.User;
 import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingRollupRepository;
 import com.crm.smart_CRM.repository.EmailLogRepository;
 import com.crm.smart_CRM.repository.ResourceRepository;
 import com.crm.smart_CRM.repository.ReviewRepository;
 import com.crm.smart_CRM.repository.UserRepository;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DashboardService {
     
+    // Sections of the admin dashboard, as listed in degradedSections
+    public static final String USER_STATISTICS = "userStatistics";
+    public static final String RESOURCE_STATISTICS = "resourceStatistics";
+    public static final String BOOKING_STATISTICS = "bookingStatistics";
+    public static final String PERIOD_BOOKINGS = "periodBookings";
+    public static final String CATEGORY_WISE_BOOKINGS = "categoryWiseBookings";
+    public static final String TOP_RESOURCES = "topResources";
+    public static final String UPCOMING_BOOKINGS = "upcomingBookings";
+    
     private final UserRepository userRepository;
     private final ResourceRepository resourceRepository;
     private final BookingRepository bookingRepository;
     private final ReviewRepository reviewRepository;
     private final EmailLogRepository emailLogRepository;
-    private final BookingService bookingService;
+    private final BookingResponseAssembler responseAssembler;
+    private final BookingRollupRepository rollupRepository;
+    private final SectionExecutor sectionExecutor;
+    private final long sectionTimeoutMillis;
+    
+    private static final int TREND_MAX_DAYS = 731;
+    
+    public DashboardService(UserRepository userRepository, ResourceRepository resourceRepository,
+                            BookingRepository bookingRepository, ReviewRepository reviewRepository,
+                            EmailLogRepository emailLogRepository, BookingResponseAssembler responseAssembler,
+                            BookingRollupRepository rollupRepository, SectionExecutor sectionExecutor,
+                            @Value("${dashboard.section-timeout-ms:2000}") long sectionTimeoutMillis) {
+        this.userRepository = userRepository;
+        this.resourceRepository = resourceRepository;
+        this.bookingRepository = bookingRepository;
+        this.reviewRepository = reviewRepository;
+        this.emailLogRepository = emailLogRepository;
+        this.responseAssembler = responseAssembler;
+        this.rollupRepository = rollupRepository;
+        this.sectionExecutor = sectionExecutor;
+        this.sectionTimeoutMillis = sectionTimeoutMillis;
+    }
     
     /**
      * Get student dashboard data
@@ -89,128 +127,108 @@ public class DashboardService {
     }
     
     /**
-     * Get admin dashboard data
+     * Get admin dashboard data. The independent sections run concurrently within the section
+     * timeout; a section that fails or misses it is left empty and listed as degraded. Call it
+     * outside a transaction: inside one the sections share its session and run inline.
      */
     public DashboardResponse getAdminDashboard() {
         log.debug("Generating admin dashboard");
         
+        long deadline = SectionExecutor.deadlineIn(sectionTimeoutMillis);
+        Future<UserCounts> userCounts = sectionExecutor.submit(() -> new UserCounts(
+                userRepository.count(),
+                userRepository.countByRole(UserRole.STUDENT),
+                userRepository.countByRole(UserRole.FACULTY),
+                userRepository.countByRole(UserRole.ADMIN)));
+        Future<ResourceCounts> resourceCounts = sectionExecutor.submit(() -> new ResourceCounts(
+                resourceRepository.count(),
+                resourceRepository.countByStatus(ResourceStatus.UNDER_MAINTENANCE)));
+        Future<Map<BookingStatus, Long>> statusCounts = sectionExecutor.submit(this::countBookingsByStatus);
+        Future<PeriodCounts> periodCounts = sectionExecutor.submit(() -> new PeriodCounts(
+                countBookings(BookingPeriod.TODAY, null, null).getBookingCount(),
+                countBookings(BookingPeriod.WEEK, null, null).getBookingCount(),
+                countBookings(BookingPeriod.MONTH, null, null).getBookingCount()));
+        Future<Map<String, Long>> categoryWise = sectionExecutor.submit(this::getCategoryWiseBookings);
+        Future<List<ResourceUtilization>> topResources = sectionExecutor.submit(() -> getTopResources(10));
+        Future<List<BookingResponse>> upcoming = sectionExecutor.submit(() -> getUpcomingBookings(5));
+        
         DashboardResponse dashboard = new DashboardResponse();
+        List<String> degraded = new ArrayList<>();
         
         // ========== USER STATISTICS ==========
-        Long totalUsers = userRepository.count();
-        Long studentCount = userRepository.countByRole(UserRole.STUDENT);
-        Long facultyCount = userRepository.countByRole(UserRole.FACULTY);
-        Long adminCount = userRepository.countByRole(UserRole.ADMIN);
-        
-        dashboard.setTotalUsers(totalUsers);
-        dashboard.setStudentCount(studentCount);
-        dashboard.setFacultyCount(facultyCount);
-        dashboard.setAdminCount(adminCount);
+        UserCounts users = sectionExecutor.await(USER_STATISTICS, userCounts, deadline, null, degraded);
+        if (users != null) {
+            dashboard.setTotalUsers(users.total());
+            dashboard.setStudentCount(users.students());
+            dashboard.setFacultyCount(users.faculty());
+            dashboard.setAdminCount(users.admins());
+        }
         
         // ========== RESOURCE STATISTICS ==========
-        Long totalResources = resourceRepository.count();
-        Long resourcesUnderMaintenance = resourceRepository.countByStatus(ResourceStatus.UNDER_MAINTENANCE);
-        
-        dashboard.setTotalResources(totalResources);
-        dashboard.setResourcesUnderMaintenance(resourcesUnderMaintenance);
+        ResourceCounts resources = sectionExecutor.await(RESOURCE_STATISTICS, resourceCounts, deadline, null, degraded);
+        if (resources != null) {
+            dashboard.setTotalResources(resources.total());
+            dashboard.setResourcesUnderMaintenance(resources.underMaintenance());
+        }
         
         // ========== BOOKING STATISTICS ==========
-        Long totalBookings = bookingRepository.count();
-        Long activeBookings = bookingRepository.countByStatus(BookingStatus.CONFIRMED);
-        Long completedBookings = bookingRepository.countByStatus(BookingStatus.COMPLETED);
-        Long cancelledBookings = bookingRepository.countByStatus(BookingStatus.CANCELLED);
-        
-        dashboard.setTotalBookings(totalBookings);
-        dashboard.setActiveBookings(activeBookings);
-        dashboard.setCompletedBookings(completedBookings);
-        dashboard.setCancelledBookings(cancelledBookings);
-        
-        // Today's bookings
-        Long todayBookings = bookingRepository.countByBookingDate(LocalDate.now());
-        dashboard.setTodayBookings(todayBookings);
-        
-        // This week's bookings
-        List<Booking> weekBookings = bookingRepository.findThisWeeksBookings();
-        dashboard.setThisWeekBookings((long) weekBookings.size());
+        Map<BookingStatus, Long> bookingsByStatus =
+                sectionExecutor.await(BOOKING_STATISTICS, statusCounts, deadline, null, degraded);
+        Map<String, Long> statusWiseBookings = new HashMap<>();
+        if (bookingsByStatus != null) {
+            dashboard.setTotalBookings(bookingsByStatus.values().stream().mapToLong(Long::longValue).sum());
+            dashboard.setActiveBookings(bookingsByStatus.get(BookingStatus.CONFIRMED));
+            dashboard.setCompletedBookings(bookingsByStatus.get(BookingStatus.COMPLETED));
+            dashboard.setCancelledBookings(bookingsByStatus.get(BookingStatus.CANCELLED));
+            bookingsByStatus.forEach((status, count) -> statusWiseBookings.put(status.name(), count));
+        }
         
-        // This month's bookings
-        List<Booking> monthBookings = bookingRepository.findThisMonthsBookings();
-        dashboard.setThisMonthBookings((long) monthBookings.size());
+        // Today's, this week's and this month's bookings, counted over date ranges
+        PeriodCounts periods = sectionExecutor.await(PERIOD_BOOKINGS, periodCounts, deadline, null, degraded);
+        if (periods != null) {
+            dashboard.setTodayBookings(periods.today());
+            dashboard.setThisWeekBookings(periods.thisWeek());
+            dashboard.setThisMonthBookings(periods.thisMonth());
+        }
         
         // ========== CATEGORY-WISE BOOKINGS ==========
-        Map<String, Long> categoryWiseBookings = getCategoryWiseBookings();
-        dashboard.setCategoryWiseBookings(categoryWiseBookings);
+        dashboard.setCategoryWiseBookings(
+                sectionExecutor.await(CATEGORY_WISE_BOOKINGS, categoryWise, deadline, Map.of(), degraded));
         
         // ========== STATUS-WISE BOOKINGS ==========
-        Map<String, Long> statusWiseBookings = getStatusWiseBookings();
         dashboard.setStatusWiseBookings(statusWiseBookings);
         
         // ========== TOP RESOURCES ==========
-        List<ResourceUtilization> topResources = getTopResources(10);
-        dashboard.setTopResources(topResources);
+        dashboard.setTopResources(sectionExecutor.await(TOP_RESOURCES, topResources, deadline, List.of(), degraded));
         
         // ========== UPCOMING BOOKINGS ==========
-        List<BookingResponse> upcomingBookings = getUpcomingBookings(5);
-        dashboard.setUpcomingBookings(upcomingBookings);
+        dashboard.setUpcomingBookings(
+                sectionExecutor.await(UPCOMING_BOOKINGS, upcoming, deadline, List.of(), degraded));
         
+        dashboard.setDegradedSections(degraded);
         return dashboard;
     }
     
     /**
-     * Get upcoming bookings for a specific user
+     * Get upcoming bookings for a specific user, only the first ones read
      */
     private List<BookingResponse> getUpcomingBookingsForUser(Long userId, int limit) {
         log.debug("Fetching upcoming bookings for user: {}", userId);
         
-        LocalDate today = LocalDate.now();
-        LocalTime now = LocalTime.now();
-        
-        List<Booking> allUserBookings = bookingRepository.findByUserIdAndStatus(userId, BookingStatus.CONFIRMED);
-        
-        return allUserBookings.stream()
-                .filter(booking -> {
-                    // Filter only future bookings
-                    if (booking.getBookingDate().isAfter(today)) {
-                        return true;
-                    }
-                    if (booking.getBookingDate().equals(today) && booking.getStartTime().isAfter(now)) {
-                        return true;
-                    }
-                    return false;
-                })
-                .sorted(Comparator.comparing(Booking::getBookingDate)
-                        .thenComparing(Booking::getStartTime))
-                .limit(limit)
-                .map(booking -> bookingService.getBookingById(booking.getId()))
-                .collect(Collectors.toList());
+        List<Booking> upcoming = bookingRepository.findUpcomingConfirmedByUser(userId, LocalDate.now(),
+                LocalTime.now(), Limit.of(limit));
+        return responseAssembler.toResponses(upcoming);
     }
     
     /**
-     * Get upcoming bookings (for admin dashboard)
+     * Get upcoming bookings (for admin dashboard), only the first ones read
      */
     private List<BookingResponse> getUpcomingBookings(int limit) {
         log.debug("Fetching upcoming bookings");
         
-        LocalDate today = LocalDate.now();
-        LocalTime now = LocalTime.now();
-        
-        List<Booking> allBookings = bookingRepository.findByStatus(BookingStatus.CONFIRMED);
-        
-        return allBookings.stream()
-                .filter(booking -> {
-                    if (booking.getBookingDate().isAfter(today)) {
-                        return true;
-                    }
-                    if (booking.getBookingDate().equals(today) && booking.getStartTime().isAfter(now)) {
-                        return true;
-                    }
-                    return false;
-                })
-                .sorted(Comparator.comparing(Booking::getBookingDate)
-                        .thenComparing(Booking::getStartTime))
-                .limit(limit)
-                .map(booking -> bookingService.getBookingById(booking.getId()))
-                .collect(Collectors.toList());
+        List<Booking> upcoming = bookingRepository.findUpcomingConfirmed(LocalDate.now(), LocalTime.now(),
+                Limit.of(limit));
+        return responseAssembler.toResponses(upcoming);
     }
     
     /**
@@ -221,28 +239,27 @@ public class DashboardService {
         
         Map<String, Long> categoryBookings = new HashMap<>();
         
-        List<Booking> allBookings = bookingRepository.findAll();
-        
-        for (Booking booking : allBookings) {
-            String categoryName = booking.getResource().getCategory().getName();
-            categoryBookings.put(categoryName, categoryBookings.getOrDefault(categoryName, 0L) + 1);
+        for (Object[] row : rollupRepository.countByCategory()) {
+            categoryBookings.put((String) row[0], (Long) row[1]);
         }
         
         return categoryBookings;
     }
     
     /**
-     * Get status-wise booking distribution
+     * Get booking counts of every status, zero for statuses without bookings
      */
-    private Map<String, Long> getStatusWiseBookings() {
-        log.debug("Calculating status-wise bookings");
+    private Map<BookingStatus, Long> countBookingsByStatus() {
+        log.debug("Counting bookings by status");
         
-        Map<String, Long> statusBookings = new HashMap<>();
+        Map<BookingStatus, Long> statusBookings = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            statusBookings.put(status, 0L);
+        }
         
-        statusBookings.put("CONFIRMED", bookingRepository.countByStatus(BookingStatus.CONFIRMED));
-        statusBookings.put("COMPLETED", bookingRepository.countByStatus(BookingStatus.COMPLETED));
-        statusBookings.put("CANCELLED", bookingRepository.countByStatus(BookingStatus.CANCELLED));
-        statusBookings.put("NO_SHOW", bookingRepository.countByStatus(BookingStatus.NO_SHOW));
+        for (Object[] row : rollupRepository.countByStatus()) {
+            statusBookings.put((BookingStatus) row[0], (Long) row[1]);
+        }
         
         return statusBookings;
     }
@@ -254,10 +271,11 @@ public class DashboardService {
         log.debug("Fetching top {} resources", limit);
         
         List<Resource> allResources = resourceRepository.findAll();
+        Map<Long, Long> completedBookings = countCompletedBookingsByResource();
         List<ResourceUtilization> utilizationList = new ArrayList<>();
         
         for (Resource resource : allResources) {
-            Long totalBookings = bookingRepository.countCompletedBookingsByResource(resource.getId());
+            Long totalBookings = completedBookings.getOrDefault(resource.getId(), 0L);
             
             // Calculate utilization percentage (simplified)
             // In real scenario: (booked hours / total available hours) * 100
@@ -281,20 +299,71 @@ public class DashboardService {
      * Get booking trend data (for charts)
      */
     public Map<String, Long> getBookingTrend(int days) {
-        log.debug("Calculating booking trend for last {} days", days);
+        if (days <= 0) {
+            return new LinkedHashMap<>();
+        }
+        LocalDate today = LocalDate.now();
+        return getBookingTrend(today.minusDays(days - 1), today, TrendBucket.DAY, null, null);
+    }
+    
+    /**
+     * Get bookings per day, week or month between two dates (inclusive), optionally of one
+     * category and/or resource. Buckets are keyed by their first day, buckets without
+     * bookings are zero.
+     */
+    public Map<String, Long> getBookingTrend(LocalDate startDate, LocalDate endDate, TrendBucket bucket,
+                                             Long categoryId, Long resourceId) {
+        log.debug("Calculating {} booking trend from {} to {}", bucket, startDate, endDate);
+        
+        if (endDate.isBefore(startDate)) {
+            throw new ValidationException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= TREND_MAX_DAYS) {
+            throw new ValidationException("Date range cannot exceed " + TREND_MAX_DAYS + " days");
+        }
         
         Map<String, Long> trendData = new LinkedHashMap<>();
-        LocalDate today = LocalDate.now();
+        for (LocalDate start = bucket.startOf(startDate); !start.isAfter(endDate); start = bucket.next(start)) {
+            trendData.put(start.toString(), 0L);
+        }
         
-        for (int i = days - 1; i >= 0; i--) {
-            LocalDate date = today.minusDays(i);
-            Long count = bookingRepository.countByBookingDate(date);
-            trendData.put(date.toString(), count);
+        // One row per booked date, folded into its bucket
+        for (Object[] row : rollupRepository.countByBookingDateBetween(startDate, endDate, categoryId, resourceId)) {
+            trendData.merge(bucket.startOf((LocalDate) row[0]).toString(), (Long) row[1], Long::sum);
         }
         
         return trendData;
     }
     
+    /**
+     * Count bookings of today, this week, month or semester, or between two dates (inclusive)
+     * for a custom period. The range is computed here so the count can use the booking date index.
+     */
+    public BookingPeriodCount countBookings(BookingPeriod period, LocalDate startDate, LocalDate endDate) {
+        log.debug("Counting {} bookings", period);
+        
+        LocalDate start;
+        LocalDate end;
+        if (period == BookingPeriod.CUSTOM) {
+            if (startDate == null || endDate == null) {
+                throw new ValidationException("Start and end dates are required for a custom period");
+            }
+            if (endDate.isBefore(startDate)) {
+                throw new ValidationException("End date must not be before start date");
+            }
+            start = startDate;
+            end = endDate.plusDays(1);
+        } else {
+            LocalDate today = LocalDate.now();
+            start = period.startOf(today);
+            end = period.endOf(today);
+        }
+        
+        // [start, end) as an inclusive BETWEEN on whole days
+        LocalDate last = end.minusDays(1);
+        return new BookingPeriodCount(period, start, last, bookingRepository.countByBookingDateBetween(start, last));
+    }
+    
     /**
      * Get peak hours analysis
      */
@@ -308,11 +377,8 @@ public class DashboardService {
             hourlyBookings.put(hour, 0L);
         }
         
-        List<Booking> allBookings = bookingRepository.findAll();
-        
-        for (Booking booking : allBookings) {
-            int startHour = booking.getStartTime().getHour();
-            hourlyBookings.put(startHour, hourlyBookings.getOrDefault(startHour, 0L) + 1);
+        for (Object[] row : rollupRepository.countByStartHour()) {
+            hourlyBookings.put((Integer) row[0], (Long) row[1]);
         }
         
         return hourlyBookings;
@@ -335,26 +401,28 @@ public class DashboardService {
         dayWiseBookings.put("Saturday", 0L);
         dayWiseBookings.put("Sunday", 0L);
         
-        List<Booking> allBookings = bookingRepository.findAll();
-        
-        for (Booking booking : allBookings) {
-            String dayName = booking.getBookingDate().getDayOfWeek().toString();
+        // One row per booked date, folded onto its day of the week
+        for (Object[] row : rollupRepository.countByBookingDate()) {
+            String dayName = ((LocalDate) row[0]).getDayOfWeek().toString();
             dayName = dayName.charAt(0) + dayName.substring(1).toLowerCase();
-            dayWiseBookings.put(dayName, dayWiseBookings.getOrDefault(dayName, 0L) + 1);
+            dayWiseBookings.put(dayName, dayWiseBookings.getOrDefault(dayName, 0L) + (Long) row[1]);
         }
         
         return dayWiseBookings;
     }
     
     /**
-     * Get resource utilization by category
+     * Get resource utilization by category. Runs in its own read-only transaction, as the
+     * dashboard cache may call it from a refresh thread without a request session.
      */
+    @Transactional(readOnly = true)
     public Map<String, Double> getCategoryUtilization() {
         log.debug("Calculating category utilization");
         
         Map<String, Double> categoryUtilization = new HashMap<>();
         
         List<Resource> allResources = resourceRepository.findAll();
+        Map<Long, Long> completedBookings = countCompletedBookingsByResource();
         
         // Group resources by category
         Map<String, List<Resource>> resourcesByCategory = allResources.stream()
@@ -367,7 +435,7 @@ public class DashboardService {
             // Calculate average utilization for category
             double avgUtilization = resources.stream()
                     .mapToDouble(resource -> {
-                        Long bookings = bookingRepository.countCompletedBookingsByResource(resource.getId());
+                        Long bookings = completedBookings.getOrDefault(resource.getId(), 0L);
                         return Math.min(bookings * 5.0, 100.0); // Simplified calculation
                     })
                     .average()
@@ -421,8 +489,9 @@ public class DashboardService {
         metrics.put("emailsFailedTotal", emailsFailed);
         
         // Booking statistics
-        Long activeBookings = bookingRepository.countByStatus(BookingStatus.CONFIRMED);
-        Long noShowCount = bookingRepository.countByStatus(BookingStatus.NO_SHOW);
+        Map<BookingStatus, Long> bookingsByStatus = countBookingsByStatus();
+        Long activeBookings = bookingsByStatus.get(BookingStatus.CONFIRMED);
+        Long noShowCount = bookingsByStatus.get(BookingStatus.NO_SHOW);
         
         metrics.put("currentActiveBookings", activeBookings);
         metrics.put("totalNoShows", noShowCount);
@@ -445,26 +514,21 @@ public class DashboardService {
     }
     
     /**
-     * Get cancellation rate by user role
+     * Get cancellation rate by user role, counted in one grouped query
      */
     public Map<String, Double> getCancellationRateByRole() {
         log.debug("Calculating cancellation rate by role");
         
         Map<String, Double> cancellationRates = new HashMap<>();
-        
         for (UserRole role : UserRole.values()) {
-            List<User> usersWithRole = userRepository.findByRole(role);
-            
-            long totalBookings = 0;
-            long cancelledBookings = 0;
-            
-            for (User user : usersWithRole) {
-//                totalBookings += bookingRepository.countByUserId(user.getId());
-                cancelledBookings += bookingRepository.countByUserIdAndStatus(user.getId(), BookingStatus.CANCELLED);
-            }
-            
+            cancellationRates.put(role.toString(), 0.0);
+        }
+        
+        for (Object[] row : bookingRepository.countCancellationsByRole()) {
+            long totalBookings = ((Number) row[1]).longValue();
+            long cancelledBookings = ((Number) row[2]).longValue();
             double rate = totalBookings > 0 ? (cancelledBookings * 100.0) / totalBookings : 0.0;
-            cancellationRates.put(role.toString(), rate);
+            cancellationRates.put(row[0].toString(), rate);
         }
         
         return cancellationRates;
@@ -478,24 +542,35 @@ public class DashboardService {
         
         Map<String, Double> avgDurations = new HashMap<>();
         
-        List<Booking> allBookings = bookingRepository.findAll();
-        
-        Map<String, List<Booking>> bookingsByCategory = allBookings.stream()
-                .collect(Collectors.groupingBy(b -> b.getResource().getCategory().getName()));
-        
-        for (Map.Entry<String, List<Booking>> entry : bookingsByCategory.entrySet()) {
-            String category = entry.getKey();
-            List<Booking> bookings = entry.getValue();
-            
-            double avgDuration = bookings.stream()
-                    .filter(b -> b.getDuration() != null)
-                    .mapToInt(Booking::getDuration)
-                    .average()
-                    .orElse(0.0);
-            
-            avgDurations.put(category, avgDuration);
+        for (Object[] row : rollupRepository.sumMinutesByCategory()) {
+            // Bookings without a duration are left out of the average, as AVG would
+            long minutes = (Long) row[1];
+            long timed = (Long) row[2];
+            avgDurations.put((String) row[0], timed > 0 ? (double) minutes / timed : 0.0);
         }
         
         return avgDurations;
     }
+    
+    // ========== HELPER METHODS ==========
+    
+    /**
+     * Completed bookings per resource ID, resources without any are absent
+     */
+    private Map<Long, Long> countCompletedBookingsByResource() {
+        Map<Long, Long> completed = new HashMap<>();
+        for (Object[] row : rollupRepository.countByResourceWithStatus(BookingStatus.COMPLETED)) {
+            completed.put((Long) row[0], (Long) row[1]);
+        }
+        return completed;
+    }
+    
+    private record UserCounts(Long total, Long students, Long faculty, Long admins) {
+    }
+    
+    private record ResourceCounts(Long total, Long underMaintenance) {
+    }
+    
+    private record PeriodCounts(Long today, Long thisWeek, Long thisMonth) {
+    }
 }
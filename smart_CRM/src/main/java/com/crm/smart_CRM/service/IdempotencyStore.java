@@ -0,0 +1,133 @@
+package com.crm.smart_CRM.service;
+
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.crm.smart_CRM.exception.BookingConflictException;
+import com.crm.smart_CRM.exception.ServiceUnavailableException;
+
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded, expiring store of results keyed by the client's Idempotency-Key.
+ *
+ * The first request with a key runs the action; retries with the same key get the original
+ * result (or wait for it while it is still running) without running the action again.
+ * Failures are not remembered, so a retry after an error is processed normally.
+ * Use it outside the transaction so only committed results are replayed.
+ *
+ * Only completed entries past their TTL are evicted; when the store is full of live entries,
+ * new keys are turned away rather than dropping results a client may still replay.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    // Insertion ordered with a fixed TTL, so the eldest entries expire first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(@Value("${booking.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                            @Value("${booking.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = Duration.ofMinutes(ttlMinutes).toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Run the action once per (operation, key). A reused key with a different request fingerprint
+     * is rejected as a conflict, a new key while the store is full as unavailable.
+     * Without a key the action simply runs.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String idempotencyKey, Object fingerprint, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = operation + ":" + idempotencyKey;
+
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>(), System.nanoTime() + ttlNanos);
+        Entry existing;
+        synchronized (entries) {
+            evictExpired();
+            existing = entries.get(key);
+            if (existing == null) {
+                if (entries.size() >= maxEntries) {
+                    log.warn("Idempotency store full with {} live entries, rejecting key: {}", entries.size(), key);
+                    throw new ServiceUnavailableException("Too many requests in progress, please try again later");
+                }
+                entries.put(key, entry);
+            }
+        }
+
+        if (existing != null) {
+            if (!Objects.equals(existing.fingerprint(), fingerprint)) {
+                throw new BookingConflictException("Idempotency-Key was already used for a different request");
+            }
+            log.info("Replaying result for idempotency key: {}", key);
+            return (T) await(existing.result());
+        }
+
+        try {
+            T result = action.get();
+            entry.result().complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    /**
+     * Drop completed entries past their TTL. Entries still running are kept whatever their age,
+     * so duplicates keep waiting on them instead of running the action a second time.
+     */
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAt() - now > 0) {
+                break; // the rest were added later
+            }
+            if (entry.result().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry(Object fingerprint, CompletableFuture<Object> result, long expiresAt) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.crm.smart_CRM.service;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Writes query results as newline-delimited JSON (application/x-ndjson), one object per line.
+ *
+ * Rows come from a JPA Stream read with a JDBC fetch size, so the driver holds one fetch of
+ * rows at a time. They are mapped and written CHUNK_SIZE at a time and the persistence context
+ * is cleared after each chunk: memory stays flat however many rows the table has.
+ */
+@Component
+@Slf4j
+public class NdjsonStreamer {
+
+    // Rows mapped (and their lookups batched) per round; matches the fetch size hint on the streaming finders
+    static final int CHUNK_SIZE = 500;
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    public NdjsonStreamer(PlatformTransactionManager transactionManager, EntityManager entityManager,
+                          JsonMapper jsonMapper) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Run the streaming query in a read-only transaction and write every mapped row to out.
+     * Returns the number of rows written.
+     */
+    public <R, T> long stream(OutputStream out, Supplier<Stream<R>> query, Function<List<R>, List<T>> mapper) {
+        Long written = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<R> rows = query.get()) {
+                Iterator<R> iterator = rows.iterator();
+                List<R> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == CHUNK_SIZE) {
+                        count += writeChunk(out, chunk, mapper);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    count += writeChunk(out, chunk, mapper);
+                }
+            }
+            return count;
+        });
+        log.debug("Streamed {} rows as NDJSON", written);
+        return written;
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <R, T> long writeChunk(OutputStream out, List<R> chunk, Function<List<R>, List<T>> mapper) {
+        List<T> items = mapper.apply(chunk);
+        try {
+            for (Object item : items) {
+                out.write(jsonMapper.writeValueAsBytes(item));
+                out.write(NEWLINE);
+            }
+            out.flush();
+        } catch (IOException e) {
+            // Usually the client went away; stop reading instead of streaming into the void
+            throw new UncheckedIOException(e);
+        }
+        
+        // Rows of this chunk are written; let them and their entities go before the next fetch
+        chunk.clear();
+        entityManager.clear();
+        return items.size();
+    }
+}
@@ -0,0 +1,94 @@
+package com.crm.smart_CRM.service;
+
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.smart_CRM.exception.BookingConflictException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a read-modify-write in its own transaction and re-runs it when a concurrent update
+ * bumped the @Version of an entity it touched.
+ *
+ * Every attempt re-reads the entities, so the retry applies its change on top of the other
+ * writer's instead of overwriting it. Must be called outside a transaction: joining an outer
+ * transaction would make the retry reuse the stale persistence context.
+ */
+@Component
+@Slf4j
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   @Value("${booking.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${booking.optimistic-retry.backoff-ms:10}") long backoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    /**
+     * Run the action, retrying on optimistic lock failures up to the configured attempts
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} still conflicting after {} attempts", operation, attempt);
+                    throw new BookingConflictException(operation
+                            + " failed because the record was modified concurrently, please retry");
+                }
+                retries.increment();
+                log.info("{} hit a concurrent update (attempt {}/{}), retrying", operation, attempt, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Transactions started so far, first attempts included
+     */
+    public long getAttemptCount() {
+        return attempts.sum();
+    }
+
+    /**
+     * Attempts that were re-run after an optimistic lock failure
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void backoff(int attempt) {
+        if (backoffMillis <= 0) {
+            return;
+        }
+        try {
+            // Jittered, growing pause so colliding writers do not collide again in lockstep
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingConflictException("Interrupted while retrying a conflicting update");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.crm.smart_CRM.service;
+
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.smart_CRM.Enum.ResourceStatus;
+import com.crm.smart_CRM.dto.response.ResourceCategoryResponse;
+import com.crm.smart_CRM.dto.response.ResourceResponse;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Immutable in-memory copy of the resource catalog: every category and resource as a ready
+ * response, indexed by id, category and status. Readers take the current snapshot from an
+ * atomic reference, without a lock or a query.
+ *
+ * Writers rebuild the whole snapshot after their transaction commits and swap it in; the
+ * catalog is a few hundred rows, so a rebuild is two queries. Until warm-up {@link #current()}
+ * returns null and callers read from the database.
+ */
+@Component
+@Slf4j
+public class ResourceCatalog {
+
+    private final ResourceRepository resourceRepository;
+    private final ResourceCategoryRepository categoryRepository;
+    private final TransactionTemplate readTransaction;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    // Committed catalog writes, so a slow rebuild never replaces a newer snapshot
+    private final AtomicLong writes = new AtomicLong();
+    private volatile boolean warmed;
+
+    public ResourceCatalog(ResourceRepository resourceRepository, ResourceCategoryRepository categoryRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.resourceRepository = resourceRepository;
+        this.categoryRepository = categoryRepository;
+        // Own transaction: an after-commit rebuild must not read the writer's persistence
+        // context, whose resources miss the rating aggregates updated in bulk
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Current snapshot, null until warm-up completes or after a failed rebuild
+     */
+    public Snapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * Load the first snapshot. Writes committing meanwhile rebuild on their own.
+     */
+    public void warm() {
+        warmed = true;
+        rebuild();
+        Snapshot loaded = snapshot.get();
+        if (loaded != null) {
+            log.info("Resource catalog ready with {} resources in {} categories",
+                    loaded.resources().size(), loaded.categories().size());
+        }
+    }
+
+    /**
+     * Rebuild once the current transaction commits. Call it before bumping CatalogVersions,
+     * so a new ETag is never served from the previous snapshot.
+     */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed();
+                }
+            });
+        } else {
+            committed();
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void committed() {
+        writes.incrementAndGet();
+        if (warmed) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        long version = writes.get();
+        try {
+            Snapshot next = readTransaction.execute(status -> load(version));
+            snapshot.accumulateAndGet(next, (current, candidate) ->
+                    current != null && current.version() > candidate.version() ? current : candidate);
+        } catch (RuntimeException e) {
+            // Rather than serve a catalog missing this write, send readers to the database
+            // until the next write rebuilds it
+            log.error("Resource catalog rebuild failed, reading from the database until the next write", e);
+            snapshot.set(null);
+        }
+    }
+
+    private Snapshot load(long version) {
+        List<ResourceCategoryResponse> categories = categoryRepository.findAllCategoryResponses();
+        List<ResourceResponse> resources = ResourceService.mapRowsToResourceResponses(
+                resourceRepository.findResourceRowsAfter(0L, Limit.unlimited()));
+        return Snapshot.of(version, categories, resources);
+    }
+
+    /**
+     * One published catalog version. Lists are ordered by id and, like the responses they
+     * hold, shared by every reader: never modify them.
+     */
+    public record Snapshot(
+            long version,
+            List<ResourceCategoryResponse> categories,
+            Map<Long, ResourceCategoryResponse> categoriesById,
+            List<ResourceResponse> resources,
+            Map<Long, ResourceResponse> resourcesById,
+            Map<Long, List<ResourceResponse>> resourcesByCategory,
+            Map<ResourceStatus, List<ResourceResponse>> resourcesByStatus) {
+
+        static Snapshot of(long version, List<ResourceCategoryResponse> categories,
+                           List<ResourceResponse> resources) {
+            Map<ResourceStatus, List<ResourceResponse>> byStatus = new EnumMap<>(ResourceStatus.class);
+            byStatus.putAll(resources.stream().collect(Collectors.groupingBy(ResourceResponse::getStatus,
+                    Collectors.toUnmodifiableList())));
+            return new Snapshot(version,
+                    List.copyOf(categories),
+                    categories.stream().collect(Collectors.toUnmodifiableMap(ResourceCategoryResponse::getId,
+                            Function.identity())),
+                    List.copyOf(resources),
+                    resources.stream().collect(Collectors.toUnmodifiableMap(ResourceResponse::getId,
+                            Function.identity())),
+                    Map.copyOf(resources.stream().collect(Collectors.groupingBy(
+                            resource -> resource.getCategory().getId(), Collectors.toUnmodifiableList()))),
+                    Collections.unmodifiableMap(byStatus));
+        }
+
+        /**
+         * Up to limit resources with an id above after
+         */
+        public List<ResourceResponse> resourcesAfter(long after, int limit) {
+            int low = 0;
+            int high = resources.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (resources.get(mid).getId() <= after) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return resources.subList(low, Math.min(resources.size(), low + limit));
+        }
+
+        public List<ResourceResponse> resourcesIn(Long categoryId) {
+            return resourcesByCategory.getOrDefault(categoryId, List.of());
+        }
+
+        public List<ResourceResponse> resourcesWith(ResourceStatus status) {
+            return resourcesByStatus.getOrDefault(status, List.of());
+        }
+
+        /**
+         * Resources whose name contains the keyword, ignoring case
+         */
+        public List<ResourceResponse> search(String keyword) {
+            String needle = keyword.toLowerCase(Locale.ROOT);
+            return resources.stream()
+                    .filter(resource -> resource.getName().toLowerCase(Locale.ROOT).contains(needle))
+                    .toList();
+        }
+    }
+}
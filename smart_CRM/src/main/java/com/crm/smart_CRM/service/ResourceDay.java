@@ -0,0 +1,9 @@
+package com.crm.smart_CRM.service;
+
+import java.time.LocalDate;
+
+/**
+ * Key for per-resource, per-day booking state (availability index, booking locks)
+ */
+public record ResourceDay(Long resourceId, LocalDate date) {
+}
@@ -1,9 +1,16 @@
 package com.crm.smart_CRM.service;
 
 
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -11,9 +18,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.crm.smart_CRM.Enum.BookingStatus;
 import com.crm.smart_CRM.Enum.ResourceStatus;
+import com.crm.smart_CRM.dto.projection.ResourceRow;
 import com.crm.smart_CRM.dto.request.MaintenanceRequest;
 import com.crm.smart_CRM.dto.request.ResourceCategoryRequest;
 import com.crm.smart_CRM.dto.request.ResourceRequest;
+import com.crm.smart_CRM.dto.response.CursorPage;
 import com.crm.smart_CRM.dto.response.ResourceCategoryResponse;
 import com.crm.smart_CRM.dto.response.ResourceResponse;
 import com.crm.smart_CRM.dto.response.ResourceUtilization;
@@ -21,10 +30,11 @@ import com.crm.smart_CRM.exception.ResourceNotFoundException;
 import com.crm.smart_CRM.model.Booking;
 import com.crm.smart_CRM.model.Resource;
 import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
 import com.crm.smart_CRM.repository.BookingRepository;
 import com.crm.smart_CRM.repository.ResourceCategoryRepository;
 import com.crm.smart_CRM.repository.ResourceRepository;
-import com.crm.smart_CRM.repository.ReviewRepository;
+import com.crm.smart_CRM.repository.UserRepository;
 
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
@@ -38,8 +48,15 @@ public class ResourceService {
     private final ResourceRepository resourceRepository;
     private final ResourceCategoryRepository categoryRepository;
     private final BookingRepository bookingRepository;
-    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
     private final EmailService emailService;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final OptimisticRetryExecutor optimisticRetry;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final CatalogVersions catalogVersions;
+    private final ResourceCatalog resourceCatalog;
+    private final BookingRollupService bookingRollupService;
+    private final BookingLockManager bookingLockManager;
     
     // ========== CATEGORY METHODS ==========
     
@@ -54,12 +71,17 @@ public class ResourceService {
             throw new ValidationException("Category already exists with name: " + request.getName());
         }
         
+        validateSlotMinutes(request.getSlotMinutes());
+        
         ResourceCategory category = new ResourceCategory();
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setIcon(request.getIcon());
+        category.setSlotMinutes(request.getSlotMinutes());
         
         ResourceCategory savedCategory = categoryRepository.save(category);
+        resourceCatalog.rebuildAfterCommit();
+        catalogVersions.categoriesChanged();
         log.info("Category created successfully with ID: {}", savedCategory.getId());
         
         return mapToCategoryResponse(savedCategory);
@@ -70,6 +92,10 @@ public class ResourceService {
      */
     public List<ResourceCategoryResponse> getAllCategories() {
         log.debug("Fetching all categories");
+        ResourceCatalog.Snapshot catalog = resourceCatalog.current();
+        if (catalog != null) {
+            return catalog.categories();
+        }
         return categoryRepository.findAll().stream()
                 .map(this::mapToCategoryResponse)
                 .collect(Collectors.toList());
@@ -80,6 +106,14 @@ public class ResourceService {
      */
     public ResourceCategoryResponse getCategoryById(Long id) {
         log.debug("Fetching category with ID: {}", id);
+        ResourceCatalog.Snapshot catalog = resourceCatalog.current();
+        if (catalog != null) {
+            ResourceCategoryResponse category = catalog.categoriesById().get(id);
+            if (category == null) {
+                throw new ResourceNotFoundException("Category not found with ID: " + id);
+            }
+            return category;
+        }
         ResourceCategory category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + id));
         return mapToCategoryResponse(category);
@@ -94,12 +128,16 @@ public class ResourceService {
         
         ResourceCategory category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        validateSlotMinutes(request.getSlotMinutes());
         
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setIcon(request.getIcon());
+        category.setSlotMinutes(request.getSlotMinutes());
         
         ResourceCategory updatedCategory = categoryRepository.save(category);
+        resourceCatalog.rebuildAfterCommit();
+        catalogVersions.categoriesChanged();
         log.info("Category updated successfully");
         
         return mapToCategoryResponse(updatedCategory);
@@ -122,6 +160,8 @@ public class ResourceService {
         }
         
         categoryRepository.delete(category);
+        resourceCatalog.rebuildAfterCommit();
+        catalogVersions.categoriesChanged();
         log.info("Category deleted successfully");
     }
     
@@ -136,6 +176,7 @@ public class ResourceService {
         
         ResourceCategory category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + request.getCategoryId()));
+        validateSlotMinutes(request.getSlotMinutes());
         
         Resource resource = new Resource();
         resource.setName(request.getName());
@@ -149,28 +190,56 @@ public class ResourceService {
         resource.setMaxBookingDuration(request.getMaxBookingDuration());
         resource.setMinBookingDuration(request.getMinBookingDuration());
         resource.setAdvanceBookingDays(request.getAdvanceBookingDays());
+        resource.setSlotMinutes(request.getSlotMinutes());
         
         Resource savedResource = resourceRepository.save(resource);
+        resourceCatalog.rebuildAfterCommit();
+        catalogVersions.resourcesChanged();
         log.info("Resource created successfully with ID: {}", savedResource.getId());
         
         return mapToResourceResponse(savedResource);
     }
     
     /**
-     * Get all resources
+     * Get all resources, one keyset page at a time
      */
-    public List<ResourceResponse> getAllResources() {
-        log.debug("Fetching all resources");
-        return resourceRepository.findAll().stream()
-                .map(this::mapToResourceResponse)
-                .collect(Collectors.toList());
+    public CursorPage<ResourceResponse> getAllResources(Long after, Integer size) {
+        log.debug("Fetching resources after ID: {}", after);
+        int pageSize = CursorPage.pageSize(size);
+        ResourceCatalog.Snapshot catalog = resourceCatalog.current();
+        if (catalog != null) {
+            return CursorPage.of(catalog.resourcesAfter(CursorPage.after(after), pageSize + 1), pageSize,
+                    ResourceResponse::getId);
+        }
+        List<Object[]> rows = resourceRepository.findResourceRowsAfter(CursorPage.after(after),
+                CursorPage.limitFor(pageSize));
+        return CursorPage.of(mapRowsToResourceResponses(rows), pageSize, ResourceResponse::getId);
     }
     
     /**
-     * Get resource by ID
+     * Write all resources after the given ID as NDJSON
      */
+    public long streamAllResources(Long after, OutputStream out) {
+        log.debug("Streaming resources after ID: {}", after);
+        return ndjsonStreamer.stream(out, () -> resourceRepository.streamResourceRowsAfter(CursorPage.after(after)),
+                ResourceService::mapRowsToResourceResponses);
+    }
+    
+    /**
+     * Get resource by ID. Transactional so the category of a resource served from the
+     * second-level cache (where the entity graph doesn't apply) can still be loaded.
+     */
+    @Transactional(readOnly = true)
     public ResourceResponse getResourceById(Long id) {
         log.debug("Fetching resource with ID: {}", id);
+        ResourceCatalog.Snapshot catalog = resourceCatalog.current();
+        if (catalog != null) {
+            ResourceResponse resource = catalog.resourcesById().get(id);
+            if (resource == null) {
+                throw new ResourceNotFoundException("Resource not found with ID: " + id);
+            }
+            return resource;
+        }
         Resource resource = resourceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found with ID: " + id));
         return mapToResourceResponse(resource);
@@ -182,6 +251,14 @@ public class ResourceService {
     public List<ResourceResponse> getResourcesByCategory(Long categoryId) {
         log.debug("Fetching resources for category ID: {}", categoryId);
         
+        ResourceCatalog.Snapshot catalog = resourceCatalog.current();
+        if (catalog != null) {
+            if (!catalog.categoriesById().containsKey(categoryId)) {
+                throw new ResourceNotFoundException("Category not found");
+            }
+            return catalog.resourcesIn(categoryId);
+        }
+        
         ResourceCategory category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
         
@@ -195,6 +272,10 @@ public class ResourceService {
      */
     public List<ResourceResponse> getResourcesByStatus(ResourceStatus status) {
         log.debug("Fetching resources with status: {}", status);
+        ResourceCatalog.Snapshot catalog = resourceCatalog.current();
+        if (catalog != null) {
+            return catalog.resourcesWith(status);
+        }
         return resourceRepository.findByStatus(status).stream()
                 .map(this::mapToResourceResponse)
                 .collect(Collectors.toList());
@@ -205,60 +286,120 @@ public class ResourceService {
      */
     public List<ResourceResponse> searchResources(String keyword) {
         log.debug("Searching resources with keyword: {}", keyword);
+        ResourceCatalog.Snapshot catalog = resourceCatalog.current();
+        if (catalog != null) {
+            return catalog.search(keyword);
+        }
         return resourceRepository.findByNameContainingIgnoreCase(keyword).stream()
                 .map(this::mapToResourceResponse)
                 .collect(Collectors.toList());
     }
     
     /**
-     * Update resource
+     * Find AVAILABLE resources free for the whole window, best capacity fit first.
+     * The window must pass the same rules as a booking (date, opening hours, each resource's
+     * duration limits); with a user, their role's advance window and duration cap apply too.
      */
-    @Transactional
-    public ResourceResponse updateResource(Long id, ResourceRequest request) {
-        log.info("Updating resource ID: {}", id);
+    public List<ResourceResponse> findFreeResources(Long categoryId, Integer minCapacity, LocalDate date,
+                                                    LocalTime startTime, LocalTime endTime, Long userId) {
+        log.debug("Searching free resources in category {} for {} people on {} from {} to {} for user {}",
+                categoryId, minCapacity, date, startTime, endTime, userId);
         
-        Resource resource = resourceRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
-        
-        ResourceCategory category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        if (!startTime.isBefore(endTime)) {
+            throw new ValidationException("End time must be after start time");
+        }
+        if (date.isBefore(LocalDate.now())) {
+            throw new ValidationException("Cannot book for past dates");
+        }
+        if (startTime.isBefore(LocalTime.of(8, 0)) || endTime.isAfter(LocalTime.of(20, 0))) {
+            throw new ValidationException("Bookings must be between 8:00 AM and 8:00 PM");
+        }
+        if (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            throw new ValidationException("Bookings not allowed on Sundays");
+        }
         
-        resource.setName(request.getName());
-        resource.setCategory(category);
-        resource.setDescription(request.getDescription());
-        resource.setCapacity(request.getCapacity());
-        resource.setLocation(request.getLocation());
-        resource.setAmenities(request.getAmenities());
-        resource.setImageUrl(request.getImageUrl());
-        resource.setMaxBookingDuration(request.getMaxBookingDuration());
-        resource.setMinBookingDuration(request.getMinBookingDuration());
-        resource.setAdvanceBookingDays(request.getAdvanceBookingDays());
+        int durationMinutes = (int) Duration.between(startTime, endTime).toMinutes();
+        if (userId != null) {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            int advanceDays = BookingService.getAdvanceBookingDays(user.getRole());
+            if (date.isAfter(LocalDate.now().plusDays(advanceDays))) {
+                throw new ValidationException("Cannot book more than " + advanceDays + " days in advance");
+            }
+            int maxDuration = BookingService.getRoleMaxBookingDuration(user.getRole());
+            if (durationMinutes > maxDuration) {
+                throw new ValidationException("Booking duration cannot exceed " + (maxDuration / 60) + " hours");
+            }
+        }
         
-        Resource updatedResource = resourceRepository.save(resource);
-        log.info("Resource updated successfully");
+        // Resources whose own min/max duration rule out the window are filtered by the query
+        return resourceRepository.findFreeResources(ResourceStatus.AVAILABLE, categoryId, minCapacity,
+                        date, startTime, endTime, durationMinutes).stream()
+                .map(this::mapToResourceResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Update resource, re-run when a status change or maintenance booking bumped its version
+     */
+    public ResourceResponse updateResource(Long id, ResourceRequest request) {
+        log.info("Updating resource ID: {}", id);
         
-        return mapToResourceResponse(updatedResource);
+        return optimisticRetry.execute("Resource update", () -> {
+            Resource resource = resourceRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+            
+            ResourceCategory category = categoryRepository.findById(request.getCategoryId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+            validateSlotMinutes(request.getSlotMinutes());
+            
+            if (!category.getId().equals(resource.getCategory().getId())) {
+                bookingRollupService.resourceMoved(id, category.getId());
+            }
+            resource.setName(request.getName());
+            resource.setCategory(category);
+            resource.setDescription(request.getDescription());
+            resource.setCapacity(request.getCapacity());
+            resource.setLocation(request.getLocation());
+            resource.setAmenities(request.getAmenities());
+            resource.setImageUrl(request.getImageUrl());
+            resource.setMaxBookingDuration(request.getMaxBookingDuration());
+            resource.setMinBookingDuration(request.getMinBookingDuration());
+            resource.setAdvanceBookingDays(request.getAdvanceBookingDays());
+            resource.setSlotMinutes(request.getSlotMinutes());
+            
+            Resource updatedResource = resourceRepository.saveAndFlush(resource);
+            resourceCatalog.rebuildAfterCommit();
+            catalogVersions.resourcesChanged();
+            log.info("Resource updated successfully");
+            
+            return mapToResourceResponse(updatedResource);
+        });
     }
     
     /**
-     * Delete resource (soft delete)
+     * Delete resource (soft delete), re-run when the resource changed concurrently
      */
-    @Transactional
     public void deleteResource(Long id) {
         log.info("Deleting resource ID: {}", id);
         
-        Resource resource = resourceRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
-        
-        // Check if there are any active bookings
-        List<Booking> activeBookings = bookingRepository.findByResourceIdAndStatus(id, BookingStatus.CONFIRMED);
-        if (!activeBookings.isEmpty()) {
-            throw new ValidationException("Cannot delete resource. " + activeBookings.size() + " active bookings exist.");
-        }
-        
-        // Soft delete - change status to UNAVAILABLE
-        resource.setStatus(ResourceStatus.UNAVAILABLE);
-        resourceRepository.save(resource);
+        optimisticRetry.execute("Resource deletion", () -> {
+            Resource resource = resourceRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+            
+            // Check if there are any active bookings
+            List<Booking> activeBookings = bookingRepository.findByResourceIdAndStatus(id, BookingStatus.CONFIRMED);
+            if (!activeBookings.isEmpty()) {
+                throw new ValidationException("Cannot delete resource. " + activeBookings.size() + " active bookings exist.");
+            }
+            
+            // Soft delete - change status to UNAVAILABLE
+            resource.setStatus(ResourceStatus.UNAVAILABLE);
+            resourceRepository.saveAndFlush(resource);
+            resourceCatalog.rebuildAfterCommit();
+            catalogVersions.resourcesChanged();
+            return null;
+        });
         
         log.info("Resource deleted (status changed to UNAVAILABLE)");
     }
@@ -266,27 +407,37 @@ public class ResourceService {
     /**
      * Update resource status
      */
-    @Transactional
     public ResourceResponse updateResourceStatus(Long id, ResourceStatus status) {
         log.info("Updating resource ID: {} status to {}", id, status);
         
-        Resource resource = resourceRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
-        
-        resource.setStatus(status);
-        Resource updatedResource = resourceRepository.save(resource);
-        
-        log.info("Resource status updated successfully");
-        return mapToResourceResponse(updatedResource);
+        return optimisticRetry.execute("Resource status update", () -> {
+            Resource resource = resourceRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
+            
+            resource.setStatus(status);
+            Resource updatedResource = resourceRepository.saveAndFlush(resource);
+            resourceCatalog.rebuildAfterCommit();
+            catalogVersions.resourcesChanged();
+            
+            log.info("Resource status updated successfully");
+            return mapToResourceResponse(updatedResource);
+        });
     }
     
     /**
      * Schedule maintenance for resource
      */
-    @Transactional
     public ResourceResponse scheduleMaintenance(Long id, MaintenanceRequest request) {
         log.info("Scheduling maintenance for resource ID: {}", id);
         
+        return optimisticRetry.execute("Maintenance scheduling", () -> scheduleMaintenanceAttempt(id, request));
+    }
+    
+    /**
+     * One attempt at scheduling maintenance, re-run when the resource or one of its bookings
+     * changed concurrently
+     */
+    private ResourceResponse scheduleMaintenanceAttempt(Long id, MaintenanceRequest request) {
         Resource resource = resourceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Resource not found"));
         
@@ -295,12 +446,18 @@ public class ResourceService {
             throw new ValidationException("Maintenance end time must be after start time");
         }
         
+        // Lock every day of the window before reading its bookings, so a booking for a day
+        // without bookings yet waits for this commit and then sees the resource under maintenance
+        bookingLockManager.lockUntilCompletion(Set.of(), maintenanceDays(id, request));
+        
         resource.setMaintenanceStart(request.getMaintenanceStart());
         resource.setMaintenanceEnd(request.getMaintenanceEnd());
         resource.setMaintenanceReason(request.getMaintenanceReason());
         resource.setStatus(ResourceStatus.UNDER_MAINTENANCE);
         
         Resource updatedResource = resourceRepository.save(resource);
+        resourceCatalog.rebuildAfterCommit();
+        catalogVersions.resourcesChanged();
         
         // Cancel conflicting bookings and notify users
         cancelConflictingBookingsForMaintenance(resource, request);
@@ -317,7 +474,7 @@ public class ResourceService {
         
         List<Booking> bookings = bookingRepository.findByResourceIdAndStatus(resource.getId(), BookingStatus.CONFIRMED);
         
-        int cancelledCount = 0;
+        List<Booking> cancelled = new ArrayList<>();
         for (Booking booking : bookings) {
             LocalDateTime bookingStart = LocalDateTime.of(booking.getBookingDate(), booking.getStartTime());
             LocalDateTime bookingEnd = LocalDateTime.of(booking.getBookingDate(), booking.getEndTime());
@@ -329,26 +486,36 @@ public class ResourceService {
                 booking.setStatus(BookingStatus.CANCELLED);
                 booking.setCancellationReason("Resource scheduled for maintenance: " + request.getMaintenanceReason());
                 booking.setCancelledAt(LocalDateTime.now());
-                bookingRepository.save(booking);
-                
-                // Send maintenance notification email
-                try {
-                    emailService.sendMaintenanceNotification(booking, resource);
-                } catch (Exception e) {
-                    log.error("Failed to send maintenance notification for booking ID: {}", booking.getId(), e);
-                }
-                
-                cancelledCount++;
+                cancelled.add(booking);
+                availabilityIndex.removeAfterCommit(booking);
             }
         }
         
-        log.info("Cancelled {} bookings due to maintenance", cancelledCount);
+        // Flush before notifying, so a booking the owner cancelled meanwhile fails the version
+        // check (and the whole attempt is retried) before any email is sent
+        bookingRepository.saveAll(cancelled);
+        bookingRepository.flush();
+        bookingRollupService.statusChanged(cancelled, BookingStatus.CONFIRMED);
+        
+        for (Booking booking : cancelled) {
+            try {
+                emailService.sendMaintenanceNotification(booking, resource);
+            } catch (Exception e) {
+                log.error("Failed to send maintenance notification for booking ID: {}", booking.getId(), e);
+            }
+        }
+        
+        log.info("Cancelled {} bookings due to maintenance", cancelled.size());
     }
     
     /**
      * Get resource count
      */
     public Long getResourceCount() {
+        ResourceCatalog.Snapshot catalog = resourceCatalog.current();
+        if (catalog != null) {
+            return (long) catalog.resources().size();
+        }
         return resourceRepository.count();
     }
     
@@ -356,20 +523,25 @@ public class ResourceService {
      * Get resource count by status
      */
     public Long getResourceCountByStatus(ResourceStatus status) {
+        ResourceCatalog.Snapshot catalog = resourceCatalog.current();
+        if (catalog != null) {
+            return (long) catalog.resourcesWith(status).size();
+        }
         return resourceRepository.countByStatus(status);
     }
     
     /**
-     * Get top resources by bookings
+     * Get top resources by bookings, completed bookings counted from the rollups
      */
     public List<ResourceUtilization> getTopResourcesByBookings(int limit) {
         log.debug("Fetching top {} resources by bookings", limit);
         
         List<Resource> allResources = resourceRepository.findAll();
+        Map<Long, Long> completedBookings = bookingRollupService.countCompletedByResource();
         List<ResourceUtilization> utilizationList = new ArrayList<>();
         
         for (Resource resource : allResources) {
-            Long totalBookings = bookingRepository.countCompletedBookingsByResource(resource.getId());
+            Long totalBookings = completedBookings.getOrDefault(resource.getId(), 0L);
             
             // Calculate utilization percentage (simplified)
             Double utilization = totalBookings * 5.0; // Simplified calculation
@@ -391,6 +563,27 @@ public class ResourceService {
     
     // ========== HELPER METHODS ==========
     
+    /**
+     * Resource-days from the first to the last day of a maintenance window
+     */
+    private List<ResourceDay> maintenanceDays(Long resourceId, MaintenanceRequest request) {
+        List<ResourceDay> days = new ArrayList<>();
+        for (LocalDate day = request.getMaintenanceStart().toLocalDate();
+             !day.isAfter(request.getMaintenanceEnd().toLocalDate()); day = day.plusDays(1)) {
+            days.add(new ResourceDay(resourceId, day));
+        }
+        return days;
+    }
+    
+    /**
+     * Reject slot granularities other than 15, 30 or 60 minutes
+     */
+    private void validateSlotMinutes(Integer slotMinutes) {
+        if (!SlotTemplate.isSupported(slotMinutes)) {
+            throw new ValidationException("Slot granularity must be 15, 30 or 60 minutes");
+        }
+    }
+    
     /**
      * Map ResourceCategory entity to response DTO
      */
@@ -400,16 +593,49 @@ public class ResourceService {
                 category.getName(),
                 category.getDescription(),
                 category.getIcon(),
+                category.getSlotMinutes(),
                 category.getCreatedAt()
         );
     }
     
     /**
-     * Map Resource entity to response DTO
+     * Map [ResourceRow, ResourceCategoryResponse] projection rows to response DTOs, keeping their
+     * order. Rating aggregates are columns of the rows.
+     */
+    static List<ResourceResponse> mapRowsToResourceResponses(List<Object[]> rows) {
+        List<ResourceResponse> responses = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ResourceRow resource = (ResourceRow) row[0];
+            responses.add(new ResourceResponse(
+                    resource.id(),
+                    resource.name(),
+                    (ResourceCategoryResponse) row[1],
+                    resource.description(),
+                    resource.capacity(),
+                    resource.location(),
+                    resource.amenities(),
+                    resource.imageUrl(),
+                    resource.status(),
+                    resource.maxBookingDuration(),
+                    resource.minBookingDuration(),
+                    resource.advanceBookingDays(),
+                    resource.slotMinutes(),
+                    resource.maintenanceStart(),
+                    resource.maintenanceEnd(),
+                    resource.maintenanceReason(),
+                    resource.averageRating() != null ? resource.averageRating() : 0.0,
+                    (int) resource.ratingCount(),
+                    resource.createdAt()
+            ));
+        }
+        return responses;
+    }
+    
+    /**
+     * Map Resource entity to response DTO, ratings read from its stored aggregates
      */
-    private ResourceResponse mapToResourceResponse(Resource resource) {
-        Double avgRating = reviewRepository.getAverageRatingByResource(resource.getId());
-        Long totalReviews = reviewRepository.countByResourceId(resource.getId());
+    ResourceResponse mapToResourceResponse(Resource resource) {
+        Double avgRating = resource.averageRating();
         
         return new ResourceResponse(
                 resource.getId(),
@@ -424,11 +650,12 @@ public class ResourceService {
                 resource.getMaxBookingDuration(),
                 resource.getMinBookingDuration(),
                 resource.getAdvanceBookingDays(),
+                resource.getSlotMinutes(),
                 resource.getMaintenanceStart(),
                 resource.getMaintenanceEnd(),
                 resource.getMaintenanceReason(),
                 avgRating != null ? avgRating : 0.0,
-                totalReviews.intValue(),
+                (int) resource.getRatingCount(),
                 resource.getCreatedAt()
         );
     }
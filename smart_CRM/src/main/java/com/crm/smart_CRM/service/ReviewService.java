@@ -1,17 +1,20 @@
 package com.crm.smart_CRM.service;
 
 
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.crm.smart_CRM.Enum.BookingStatus;
 import com.crm.smart_CRM.dto.request.ReviewRequest;
 import com.crm.smart_CRM.dto.request.ReviewUpdateRequest;
+import com.crm.smart_CRM.dto.response.CursorPage;
 import com.crm.smart_CRM.dto.response.ReviewResponse;
 import com.crm.smart_CRM.exception.ResourceNotFoundException;
 import com.crm.smart_CRM.model.Booking;
@@ -36,6 +39,9 @@ public class ReviewService {
     private final BookingRepository bookingRepository;
     private final ResourceRepository resourceRepository;
     private final UserRepository userRepository;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final CatalogVersions catalogVersions;
+    private final ResourceCatalog resourceCatalog;
     
     
     /**
@@ -68,6 +74,9 @@ public class ReviewService {
         review.setComment(request.getComment());
         
         Review savedReview = reviewRepository.save(review);
+        resourceRepository.adjustRatingAggregates(resource.getId(), savedReview.getRating(), 1);
+        resourceCatalog.rebuildAfterCommit();
+        catalogVersions.reviewsChanged(resource.getId());
         log.info("Review submitted successfully with ID: {}", savedReview.getId());
         
         return mapToReviewResponse(savedReview);
@@ -103,20 +112,38 @@ public class ReviewService {
     }
     
     /**
-     * Get all reviews for a resource
+     * Get reviews for a resource, one keyset page at a time
      */
-    public List<ReviewResponse> getReviewsByResource(Long resourceId) {
-        log.debug("Fetching reviews for resource: {}", resourceId);
+    public CursorPage<ReviewResponse> getReviewsByResource(Long resourceId, Long after, Integer size) {
+        log.debug("Fetching reviews for resource: {} after ID: {}", resourceId, after);
         
-        // Verify resource exists
+        requireResource(resourceId);
+        
+        int pageSize = CursorPage.pageSize(size);
+        List<Review> reviews = reviewRepository.findByResourceIdAndIdGreaterThanOrderByIdAsc(resourceId,
+                CursorPage.after(after), CursorPage.limitFor(pageSize));
+        return CursorPage.of(reviews.stream().map(this::mapToReviewResponse).collect(Collectors.toList()),
+                pageSize, ReviewResponse::getId);
+    }
+    
+    /**
+     * Write the reviews of a resource after the given ID as NDJSON
+     */
+    public long streamReviewsByResource(Long resourceId, Long after, OutputStream out) {
+        log.debug("Streaming reviews for resource: {} after ID: {}", resourceId, after);
+        
+        return ndjsonStreamer.stream(out,
+                () -> reviewRepository.streamByResourceIdAfter(resourceId, CursorPage.after(after)),
+                reviews -> reviews.stream().map(this::mapToReviewResponse).collect(Collectors.toList()));
+    }
+    
+    /**
+     * Verify the resource exists (before a response starts streaming)
+     */
+    public void requireResource(Long resourceId) {
         if (!resourceRepository.existsById(resourceId)) {
             throw new ResourceNotFoundException("Resource not found");
         }
-        
-        List<Review> reviews = reviewRepository.findByResourceId(resourceId);
-        return reviews.stream()
-                .map(this::mapToReviewResponse)
-                .collect(Collectors.toList());
     }
     
     /**
@@ -125,9 +152,8 @@ public class ReviewService {
     public List<ReviewResponse> getRecentReviewsByResource(Long resourceId, int limit) {
         log.debug("Fetching recent {} reviews for resource: {}", limit, resourceId);
         
-        List<Review> reviews = reviewRepository.findRecentReviewsByResource(resourceId);
+        List<Review> reviews = reviewRepository.findRecentReviewsByResource(resourceId, Limit.of(limit));
         return reviews.stream()
-                .limit(limit)
                 .map(this::mapToReviewResponse)
                 .collect(Collectors.toList());
     }
@@ -175,15 +201,20 @@ public class ReviewService {
             throw new ValidationException("You can only edit your own reviews");
         }
         
-        // Update fields
-        if (request.getRating() != null) {
+        // Update fields; a changed rating moves from one bucket of the aggregates to another
+        if (request.getRating() != null && !request.getRating().equals(review.getRating())) {
+            Long resourceId = review.getResource().getId();
+            resourceRepository.adjustRatingAggregates(resourceId, review.getRating(), -1);
+            resourceRepository.adjustRatingAggregates(resourceId, request.getRating(), 1);
             review.setRating(request.getRating());
+            resourceCatalog.rebuildAfterCommit();
         }
         if (request.getComment() != null) {
             review.setComment(request.getComment());
         }
         
         Review updatedReview = reviewRepository.save(review);
+        catalogVersions.reviewsChanged(review.getResource().getId());
         log.info("Review updated successfully");
         
         return mapToReviewResponse(updatedReview);
@@ -205,6 +236,9 @@ public class ReviewService {
         }
         
         reviewRepository.delete(review);
+        resourceRepository.adjustRatingAggregates(review.getResource().getId(), review.getRating(), -1);
+        resourceCatalog.rebuildAfterCommit();
+        catalogVersions.reviewsChanged(review.getResource().getId());
         log.info("Review deleted successfully");
     }
     
@@ -214,7 +248,9 @@ public class ReviewService {
     public Double getAverageRating(Long resourceId) {
         log.debug("Calculating average rating for resource: {}", resourceId);
         
-        Double avgRating = reviewRepository.getAverageRatingByResource(resourceId);
+        Double avgRating = resourceRepository.findById(resourceId)
+                .map(Resource::averageRating)
+                .orElse(null);
         return avgRating != null ? avgRating : 0.0;
     }
     
@@ -224,11 +260,11 @@ public class ReviewService {
     public Map<Integer, Long> getRatingDistribution(Long resourceId) {
         log.debug("Getting rating distribution for resource: {}", resourceId);
         
+        Resource resource = resourceRepository.findById(resourceId).orElse(null);
         Map<Integer, Long> distribution = new HashMap<>();
         
         for (int rating = 1; rating <= 5; rating++) {
-            Long count = reviewRepository.countByResourceIdAndRating(resourceId, rating);
-            distribution.put(rating, count);
+            distribution.put(rating, resource != null ? resource.ratingCountOf(rating) : 0L);
         }
         
         return distribution;
@@ -238,7 +274,9 @@ public class ReviewService {
      * Get total review count for a resource
      */
     public Long getReviewCount(Long resourceId) {
-        return reviewRepository.countByResourceId(resourceId);
+        return resourceRepository.findById(resourceId)
+                .map(Resource::getRatingCount)
+                .orElse(0L);
     }
     
     /**
@@ -264,22 +302,17 @@ public class ReviewService {
         List<Object[]> topRated = reviewRepository.findTopRatedResources();
         stats.put("topRatedResources", topRated);
         
-        // Average rating across all resources
-        List<Review> allReviews = reviewRepository.findAll();
-        double overallAvgRating = allReviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
+        // Average rating across all resources, from the summed per-resource aggregates
+        Object[] totals = resourceRepository.sumRatingAggregates().get(0);
+        long ratingSum = ((Number) totals[0]).longValue();
+        long ratingCount = ((Number) totals[1]).longValue();
+        double overallAvgRating = ratingCount > 0 ? (double) ratingSum / ratingCount : 0.0;
         stats.put("overallAverageRating", overallAvgRating);
         
         // Rating distribution (all resources)
         Map<Integer, Long> globalDistribution = new HashMap<>();
         for (int rating = 1; rating <= 5; rating++) {
-        	 final int currentRating=rating;
-            long count = allReviews.stream()
-                    .filter(r -> r.getRating() == currentRating)
-                    .count();
-            globalDistribution.put(rating, count);
+            globalDistribution.put(rating, ((Number) totals[rating + 1]).longValue());
         }
         stats.put("ratingDistribution", globalDistribution);
         
@@ -292,22 +325,8 @@ public class ReviewService {
     public List<Map<String, Object>> getMostReviewedResources(int limit) {
         log.debug("Fetching top {} most reviewed resources", limit);
         
-        List<Resource> allResources = resourceRepository.findAll();
-        
-        return allResources.stream()
-                .map(resource -> {
-                    Map<String, Object> resourceData = new HashMap<>();
-                    resourceData.put("resourceId", resource.getId());
-                    resourceData.put("resourceName", resource.getName());
-                    resourceData.put("reviewCount", reviewRepository.countByResourceId(resource.getId()));
-                    resourceData.put("averageRating", reviewRepository.getAverageRatingByResource(resource.getId()));
-                    return resourceData;
-                })
-                .sorted((a, b) -> Long.compare(
-                        (Long) b.get("reviewCount"), 
-                        (Long) a.get("reviewCount")
-                ))
-                .limit(limit)
+        return resourceRepository.findMostReviewed(Limit.of(limit)).stream()
+                .map(this::mapToRatingSummary)
                 .collect(Collectors.toList());
     }
     
@@ -317,31 +336,43 @@ public class ReviewService {
     public List<Map<String, Object>> getLowestRatedResources(int limit) {
         log.debug("Fetching lowest rated resources");
         
-        List<Resource> allResources = resourceRepository.findAll();
-        
-        return allResources.stream()
-                .map(resource -> {
-                    Long reviewCount = reviewRepository.countByResourceId(resource.getId());
-                    if (reviewCount == 0) return null; // Skip resources with no reviews
-                    
-                    Map<String, Object> resourceData = new HashMap<>();
-                    resourceData.put("resourceId", resource.getId());
-                    resourceData.put("resourceName", resource.getName());
-                    resourceData.put("reviewCount", reviewCount);
-                    resourceData.put("averageRating", reviewRepository.getAverageRatingByResource(resource.getId()));
-                    return resourceData;
-                })
-                .filter(data -> data != null)
-                .sorted((a, b) -> Double.compare(
-                        (Double) a.get("averageRating"), 
-                        (Double) b.get("averageRating")
-                ))
-                .limit(limit)
+        // Resources with no reviews are skipped by the query
+        return resourceRepository.findLowestRated(Limit.of(limit)).stream()
+                .map(this::mapToRatingSummary)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Rebuild every resource's rating aggregates from the reviews table. The incremental
+     * updates keep them exact; this repairs drift from writes that bypassed this service.
+     */
+    @Transactional
+    public int reconcileRatingAggregates() {
+        long drifted = resourceRepository.countResourcesWithRatingDrift();
+        int rebuilt = resourceRepository.rebuildRatingAggregates();
+        resourceCatalog.rebuildAfterCommit();
+        catalogVersions.resourcesChanged();
+        if (drifted > 0) {
+            log.warn("Rating aggregates of {} resources had drifted from their reviews", drifted);
+        }
+        log.info("Rebuilt rating aggregates of {} resources", rebuilt);
+        return rebuilt;
+    }
+    
     // ========== HELPER METHODS ==========
     
+    /**
+     * Resource id, name and its stored rating aggregates
+     */
+    private Map<String, Object> mapToRatingSummary(Resource resource) {
+        Map<String, Object> resourceData = new HashMap<>();
+        resourceData.put("resourceId", resource.getId());
+        resourceData.put("resourceName", resource.getName());
+        resourceData.put("reviewCount", resource.getRatingCount());
+        resourceData.put("averageRating", resource.averageRating());
+        return resourceData;
+    }
+    
     /**
      * Map Review entity to ReviewResponse DTO
      */
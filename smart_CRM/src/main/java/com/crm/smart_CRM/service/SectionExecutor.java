@@ -0,0 +1,111 @@
+package com.crm.smart_CRM.service;
+
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the independent sections of a composite read concurrently, each on a pooled thread in
+ * its own read-only transaction, and collects them against a shared deadline.
+ *
+ * A section that fails or misses the deadline is cancelled, replaced by its fallback and
+ * reported as degraded, so one slow query never fails or stalls the whole response. The pool
+ * is bounded; when it is saturated the caller runs the section itself.
+ *
+ * A caller already inside a transaction runs its sections inline in that transaction, as pool
+ * threads would not see what it has written but not yet committed.
+ */
+@Component
+@Slf4j
+public class SectionExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final TransactionTemplate readTransaction;
+
+    public SectionExecutor(PlatformTransactionManager transactionManager,
+                           @Value("${sections.pool-size:16}") int poolSize,
+                           @Value("${sections.queue-capacity:64}") int queueCapacity) {
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+        // Never join the caller's transaction: it belongs to another thread
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Start a section, returning at once, or run it now when called inside a transaction
+     */
+    public <T> Future<T> submit(Supplier<T> section) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            FutureTask<T> inline = new FutureTask<>(section::get);
+            inline.run();
+            return inline;
+        }
+        return pool.submit(() -> readTransaction.execute(status -> section.get()));
+    }
+
+    /**
+     * Deadline for sections started now, to pass to {@link #await}
+     */
+    public static long deadlineIn(long timeoutMillis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Result of a section, or its fallback when it failed or the deadline passed. The name of
+     * a degraded section is added to degraded.
+     */
+    public <T> T await(String name, Future<T> section, long deadline, T fallback, List<String> degraded) {
+        try {
+            return section.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            section.cancel(true);
+            log.warn("Section {} missed its deadline, returning it degraded", name);
+        } catch (ExecutionException e) {
+            log.warn("Section {} failed, returning it degraded", name, e.getCause());
+        } catch (InterruptedException e) {
+            section.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        degraded.add(name);
+        return fallback;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "section-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.crm.smart_CRM.service;
+
+import java.time.LocalTime;
+
+/**
+ * Occupancy of one resource-day as a bitmap of 15-minute slots.
+ *
+ * Bookable hours are 08:00 - 20:00, i.e. 48 slots, so a whole day fits in one {@code long}:
+ * bit i is set when slot [08:00 + 15*i, 08:00 + 15*(i+1)) overlaps a booking.
+ */
+public final class SlotBitmap {
+
+    public static final LocalTime DAY_START = LocalTime.of(8, 0);
+    public static final LocalTime DAY_END = LocalTime.of(20, 0);
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 48;
+    public static final long FULL_DAY = (1L << SLOTS_PER_DAY) - 1;
+
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+
+    private SlotBitmap() {
+    }
+
+    /**
+     * Bits of every slot that [startTime, endTime) touches, clamped to bookable hours
+     */
+    public static long mask(LocalTime startTime, LocalTime endTime) {
+        int from = Math.max(0, Math.floorDiv(secondsFromDayStart(startTime), SLOT_SECONDS));
+        int to = Math.min(SLOTS_PER_DAY, -Math.floorDiv(-secondsFromDayStart(endTime), SLOT_SECONDS));
+        if (from >= to) {
+            return 0L;
+        }
+        return (FULL_DAY >>> (SLOTS_PER_DAY - (to - from))) << from;
+    }
+
+    /**
+     * Whether [startTime, endTime) lies exactly on slot boundaries within bookable hours.
+     * Only then does its mask describe it without rounding.
+     */
+    public static boolean isOnGrid(LocalTime startTime, LocalTime endTime) {
+        return startTime.isBefore(endTime)
+                && !startTime.isBefore(DAY_START)
+                && !endTime.isAfter(DAY_END)
+                && startTime.getNano() == 0
+                && endTime.getNano() == 0
+                && secondsFromDayStart(startTime) % SLOT_SECONDS == 0
+                && secondsFromDayStart(endTime) % SLOT_SECONDS == 0;
+    }
+
+    /**
+     * Slot index of a time on the grid
+     */
+    public static int slotIndex(LocalTime time) {
+        return secondsFromDayStart(time) / SLOT_SECONDS;
+    }
+
+    /**
+     * Whether slot i is occupied
+     */
+    public static boolean isBooked(long occupancy, int slot) {
+        return (occupancy & (1L << slot)) != 0;
+    }
+
+    /**
+     * One character per slot, '1' for booked and '0' for free
+     */
+    public static String toBitString(long occupancy) {
+        char[] chars = new char[SLOTS_PER_DAY];
+        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+            chars[slot] = isBooked(occupancy, slot) ? '1' : '0';
+        }
+        return new String(chars);
+    }
+
+    private static int secondsFromDayStart(LocalTime time) {
+        return time.toSecondOfDay() - DAY_START.toSecondOfDay();
+    }
+}
@@ -0,0 +1,95 @@
+package com.crm.smart_CRM.service;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.crm.smart_CRM.Enum.SlotStatus;
+import com.crm.smart_CRM.dto.response.TimeSlot;
+
+import jakarta.validation.ValidationException;
+
+/**
+ * Precomputed slot grid for one granularity (15, 30 or 60 minutes).
+ *
+ * Holds a shared AVAILABLE and BOOKED {@link TimeSlot} for every slot of the day, so rendering
+ * a day is choosing between two existing instances per slot. A slot is BOOKED when any of its
+ * 15-minute {@link SlotBitmap} slots is occupied.
+ */
+public final class SlotTemplate {
+
+    public static final int DEFAULT_SLOT_MINUTES = 60;
+
+    private static final Map<Integer, SlotTemplate> TEMPLATES = Map.of(
+            15, new SlotTemplate(15),
+            30, new SlotTemplate(30),
+            60, new SlotTemplate(60));
+
+    private final int slotMinutes;
+    private final int bitsPerSlot;
+    private final long slotMask;
+    private final TimeSlot[] available;
+    private final TimeSlot[] booked;
+    private final List<TimeSlot> allAvailable;
+    private final List<TimeSlot> allBooked;
+
+    private SlotTemplate(int slotMinutes) {
+        this.slotMinutes = slotMinutes;
+        this.bitsPerSlot = slotMinutes / SlotBitmap.SLOT_MINUTES;
+        this.slotMask = (1L << bitsPerSlot) - 1;
+
+        int slots = SlotBitmap.SLOTS_PER_DAY / bitsPerSlot;
+        this.available = new TimeSlot[slots];
+        this.booked = new TimeSlot[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            LocalTime time = SlotBitmap.DAY_START.plusMinutes((long) slot * slotMinutes);
+            available[slot] = new TimeSlot(time, SlotStatus.AVAILABLE);
+            booked[slot] = new TimeSlot(time, SlotStatus.BOOKED);
+        }
+        this.allAvailable = List.of(available);
+        this.allBooked = List.of(booked);
+    }
+
+    /**
+     * Template for a granularity, rejecting anything but 15, 30 or 60 minutes
+     */
+    public static SlotTemplate of(int slotMinutes) {
+        SlotTemplate template = TEMPLATES.get(slotMinutes);
+        if (template == null) {
+            throw new ValidationException("Slot granularity must be 15, 30 or 60 minutes");
+        }
+        return template;
+    }
+
+    /**
+     * Whether a configured granularity is valid, null meaning "inherit"
+     */
+    public static boolean isSupported(Integer slotMinutes) {
+        return slotMinutes == null || TEMPLATES.containsKey(slotMinutes);
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    /**
+     * Slots of the day with the occupancy applied
+     */
+    public List<TimeSlot> overlay(long occupancy) {
+        if ((occupancy & SlotBitmap.FULL_DAY) == 0) {
+            return allAvailable;
+        }
+        if ((occupancy & SlotBitmap.FULL_DAY) == SlotBitmap.FULL_DAY) {
+            return allBooked;
+        }
+
+        TimeSlot[] slots = new TimeSlot[available.length];
+        for (int slot = 0; slot < slots.length; slot++) {
+            boolean isBooked = (occupancy & (slotMask << (slot * bitsPerSlot))) != 0;
+            slots[slot] = isBooked ? booked[slot] : available[slot];
+        }
+        return Collections.unmodifiableList(Arrays.asList(slots));
+    }
+}
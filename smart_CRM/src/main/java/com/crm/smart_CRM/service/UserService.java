@@ -1,6 +1,7 @@
 package com.crm.smart_CRM.service;
 
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -14,6 +15,7 @@ import com.crm.smart_CRM.dto.request.LoginRequest;
 import com.crm.smart_CRM.dto.request.PasswordChangeRequest;
 import com.crm.smart_CRM.dto.request.UserRegistrationRequest;
 import com.crm.smart_CRM.dto.request.UserUpdateRequest;
+import com.crm.smart_CRM.dto.response.CursorPage;
 import com.crm.smart_CRM.dto.response.LoginResponse;
 import com.crm.smart_CRM.dto.response.UserResponse;
 import com.crm.smart_CRM.exception.ResourceNotFoundException;
@@ -32,6 +34,8 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final CatalogVersions catalogVersions;
     
     /**
      * Register a new user
@@ -121,13 +125,22 @@ public class UserService {
     }
     
     /**
-     * Get all users
+     * Get all users, one keyset page at a time
      */
-    public List<UserResponse> getAllUsers() {
-        log.debug("Fetching all users");
-        return userRepository.findAll().stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+    public CursorPage<UserResponse> getAllUsers(Long after, Integer size) {
+        log.debug("Fetching users after ID: {}", after);
+        int pageSize = CursorPage.pageSize(size);
+        return CursorPage.of(userRepository.findUserResponsesAfter(CursorPage.after(after),
+                CursorPage.limitFor(pageSize)), pageSize, UserResponse::getId);
+    }
+    
+    /**
+     * Write all users after the given ID as NDJSON
+     */
+    public long streamAllUsers(Long after, OutputStream out) {
+        log.debug("Streaming users after ID: {}", after);
+        return ndjsonStreamer.stream(out, () -> userRepository.streamUserResponsesAfter(CursorPage.after(after)),
+                users -> users);
     }
     
     /**
@@ -165,6 +178,7 @@ public class UserService {
         }
         
         User updatedUser = userRepository.save(user);
+        catalogVersions.usersChanged();
         log.info("Profile updated successfully for user ID: {}", id);
         
         return mapToUserResponse(updatedUser);
@@ -253,7 +267,7 @@ public class UserService {
     /**
      * Helper method to convert User entity to UserResponse DTO
      */
-    private UserResponse mapToUserResponse(User user) {
+    UserResponse mapToUserResponse(User user) {
         return new UserResponse(
                 user.getId(),
                 user.getName(),
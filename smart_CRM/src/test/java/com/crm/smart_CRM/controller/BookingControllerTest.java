@@ -0,0 +1,101 @@
+package com.crm.smart_CRM.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.crm.smart_CRM.dto.response.BookingResponse;
+import com.crm.smart_CRM.exception.BookingConflictException;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.service.BookingPageService;
+import com.crm.smart_CRM.service.BookingSeriesService;
+import com.crm.smart_CRM.service.BookingService;
+import com.crm.smart_CRM.service.IdempotencyStore;
+
+/**
+ * Booking endpoints map a taken slot, and a write that lost a version check, to 409 Conflict. A retried create with the same
+ * Idempotency-Key replays the booking, and the same key with another body is a 409 as well.
+ */
+@WebMvcTest(controllers = BookingController.class)
+@Import(IdempotencyStore.class)
+class BookingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BookingService bookingService;
+    @MockitoBean
+    private BookingSeriesService bookingSeriesService;
+    @MockitoBean
+    private BookingPageService bookingPageService;
+
+    @Test
+    void bookingConflictIsReturnedAs409() throws Exception {
+        when(bookingService.createBooking(any()))
+                .thenThrow(new BookingConflictException("Selected time slot is already booked"));
+
+        mockMvc.perform(createBooking("10:00"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.message").value("Selected time slot is already booked"));
+    }
+
+    @Test
+    void concurrentModificationIsReturnedAs409() throws Exception {
+        when(bookingService.cancelBooking(any(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, 7L));
+
+        mockMvc.perform(put("/api/bookings/7/cancel").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cancelledByUserId\": 1, \"cancellationReason\": \"Plans changed\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.message").value("The record was modified concurrently, please retry"));
+    }
+
+    @Test
+    void retryWithTheSameKeyReplaysTheBooking() throws Exception {
+        BookingResponse booking = new BookingResponse();
+        booking.setId(7L);
+        when(bookingService.createBooking(any())).thenReturn(booking);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(createBooking("10:00").header("Idempotency-Key", "retry-1"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.id").value(7));
+        }
+        verify(bookingService, times(1)).createBooking(any());
+
+        mockMvc.perform(createBooking("11:00").header("Idempotency-Key", "retry-1"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key was already used for a different request"));
+        verify(bookingService, times(1)).createBooking(any());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private MockHttpServletRequestBuilder createBooking(String startTime) {
+        String body = """
+                {"userId": 1, "resourceId": 2, "bookingDate": "%s", "startTime": "%s", "endTime": "12:00",
+                 "purpose": "Department meeting", "attendeesCount": 4}
+                """.formatted(LocalDate.now().plusDays(1), startTime);
+        return post("/api/bookings/ss").contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+}
@@ -0,0 +1,103 @@
+package com.crm.smart_CRM.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.crm.smart_CRM.dto.response.CursorPage;
+import com.crm.smart_CRM.service.CatalogVersions;
+import com.crm.smart_CRM.service.ResourceService;
+import com.crm.smart_CRM.service.ReviewService;
+
+/**
+ * Catalog and review listings answer a current If-None-Match with 304 without calling the
+ * service, and a write makes the next request return fresh data under a new ETag.
+ */
+@WebMvcTest(controllers = {ResourceController.class, ReviewController.class})
+@Import(CatalogVersions.class)
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @MockitoBean
+    private ResourceService resourceService;
+    @MockitoBean
+    private ReviewService reviewService;
+
+    @Test
+    void unchangedResourcesAreNotQueriedAgain() throws Exception {
+        when(resourceService.getAllResources(any(), any())).thenReturn(new CursorPage<>(List.of(), null, 20));
+
+        String etag = mockMvc.perform(get("/api/resources"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/resources").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(resourceService, times(1)).getAllResources(any(), any());
+
+        catalogVersions.resourcesChanged();
+        mockMvc.perform(get("/api/resources").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(resourceService, times(2)).getAllResources(any(), any());
+    }
+
+    @Test
+    void writesOnlyInvalidateTheListingsThatShowThem() throws Exception {
+        when(resourceService.getAllCategories()).thenReturn(List.of());
+        when(reviewService.getRecentReviewsByResource(any(), any(int.class))).thenReturn(List.of());
+
+        String categoriesTag = etagOf("/api/categories");
+        String resourcesTag = catalogVersions.resourcesTag();
+        String reviewsTag = etagOf("/api/reviews/resource/1/recent");
+        String otherReviewsTag = etagOf("/api/reviews/resource/2/recent");
+
+        // A review moves the rating aggregates of resources, but not the reviews of other resources
+        catalogVersions.reviewsChanged(1L);
+        assertNotModified("/api/categories", categoriesTag);
+        assertNotModified("/api/reviews/resource/2/recent", otherReviewsTag);
+        assertModified("/api/reviews/resource/1/recent", reviewsTag);
+        assertModified("/api/resources/1", resourcesTag);
+
+        // Reviews show the resource name, so a catalog write changes every review listing
+        catalogVersions.categoriesChanged();
+        assertModified("/api/categories", categoriesTag);
+        assertModified("/api/reviews/resource/2/recent", otherReviewsTag);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private String etagOf(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void assertNotModified(String path, String etag) throws Exception {
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+    }
+
+    private void assertModified(String path, String etag) throws Exception {
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,149 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.ResourceStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.response.DashboardResponse;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingRollupRepository;
+import com.crm.smart_CRM.repository.EmailLogRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.ReviewRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+/**
+ * The admin dashboard sections run concurrently, so the dashboard takes about as long as its
+ * slowest section, and a section missing the deadline degrades instead of stalling the rest.
+ * The same holds for a background refresh of the dashboard cache. Repositories are mocks that
+ * sleep to stand in for slow queries.
+ */
+class AdminDashboardFanOutTest {
+
+    private static final long QUERY_MILLIS = 300;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ResourceRepository resourceRepository = mock(ResourceRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingRollupRepository rollupRepository = mock(BookingRollupRepository.class);
+
+    private final Set<String> sectionThreads = ConcurrentHashMap.newKeySet();
+
+    private SectionExecutor sectionExecutor;
+    private DashboardCache dashboardCache;
+
+    @BeforeEach
+    void setUp() {
+        sectionExecutor = new SectionExecutor(new NoOpTransactionManager(), 8, 8);
+
+        // One slow query in each of three sections
+        when(userRepository.count()).thenAnswer(inv -> sleep(QUERY_MILLIS, 12L));
+        when(userRepository.countByRole(any(UserRole.class))).thenReturn(4L);
+        when(resourceRepository.count()).thenAnswer(inv -> {
+            sectionThreads.add(Thread.currentThread().getName());
+            return sleep(QUERY_MILLIS, 5L);
+        });
+        when(resourceRepository.countByStatus(ResourceStatus.UNDER_MAINTENANCE)).thenReturn(1L);
+        when(rollupRepository.countByStatus()).thenAnswer(inv -> sleep(QUERY_MILLIS,
+                List.<Object[]>of(new Object[] {BookingStatus.CONFIRMED, 7L})));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sectionExecutor.shutdown();
+        if (dashboardCache != null) {
+            dashboardCache.shutdown();
+        }
+    }
+
+    @Test
+    void sectionsRunConcurrently() {
+        long started = System.nanoTime();
+        DashboardResponse dashboard = dashboardService(5_000).getAdminDashboard();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(dashboard.getDegradedSections()).isEmpty();
+        assertThat(dashboard.getTotalUsers()).isEqualTo(12L);
+        assertThat(dashboard.getStudentCount()).isEqualTo(4L);
+        assertThat(dashboard.getTotalResources()).isEqualTo(5L);
+        assertThat(dashboard.getActiveBookings()).isEqualTo(7L);
+        assertThat(dashboard.getCancelledBookings()).isZero();
+        assertThat(dashboard.getStatusWiseBookings()).containsEntry("CONFIRMED", 7L);
+        // Well below the three slow queries back to back
+        assertThat(elapsedMillis).isLessThan(3 * QUERY_MILLIS - 100);
+    }
+
+    @Test
+    void slowSectionIsDegraded() {
+        when(userRepository.count()).thenAnswer(inv -> sleep(5_000, 12L));
+
+        DashboardResponse dashboard = dashboardService(QUERY_MILLIS + 500).getAdminDashboard();
+
+        assertThat(dashboard.getDegradedSections()).containsExactly(DashboardService.USER_STATISTICS);
+        assertThat(dashboard.getTotalUsers()).isNull();
+        assertThat(dashboard.getTotalResources()).isEqualTo(5L);
+        assertThat(dashboard.getActiveBookings()).isEqualTo(7L);
+        assertThat(dashboard.getTopResources()).isEmpty();
+    }
+
+    @Test
+    void backgroundRefreshFansOutWithinTheDeadline() throws Exception {
+        dashboardCache = new DashboardCache(0, 600, 1);
+        DashboardService dashboardService = dashboardService(QUERY_MILLIS + 500);
+        DashboardResponse first = dashboardCache.get("admin", dashboardService::getAdminDashboard,
+                payload -> payload.getDegradedSections().isEmpty());
+        assertThat(first.getDegradedSections()).isEmpty();
+
+        // Stale now: the read gets the first payload back and starts the refresh
+        when(userRepository.count()).thenAnswer(inv -> sleep(5_000, 12L));
+        sectionThreads.clear();
+        long started = System.nanoTime();
+        assertThat(dashboardCache.get("admin", dashboardService::getAdminDashboard,
+                payload -> payload.getDegradedSections().isEmpty())).isSameAs(first);
+
+        DashboardResponse refreshed = first;
+        while (refreshed == first && System.nanoTime() - started < TimeUnit.SECONDS.toNanos(4)) {
+            Thread.sleep(20);
+            refreshed = dashboardCache.get("admin", dashboardService::getAdminDashboard,
+                    payload -> payload.getDegradedSections().isEmpty());
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // The refresh waited for the deadline, not the 5 s query, and ran its sections on the pool
+        assertThat(refreshed).isNotSameAs(first);
+        assertThat(refreshed.getDegradedSections()).containsExactly(DashboardService.USER_STATISTICS);
+        assertThat(refreshed.getTotalResources()).isEqualTo(5L);
+        assertThat(elapsedMillis).isLessThan(QUERY_MILLIS + 500 + 1_000);
+        assertThat(sectionThreads).isNotEmpty().allMatch(name -> name.startsWith("section-"));
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private DashboardService dashboardService(long sectionTimeoutMillis) {
+        return new DashboardService(userRepository, resourceRepository, bookingRepository,
+                mock(ReviewRepository.class), mock(EmailLogRepository.class), mock(BookingResponseAssembler.class),
+                rollupRepository, sectionExecutor, sectionTimeoutMillis);
+    }
+
+    private static <T> T sleep(long millis, T result) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,159 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.response.AvailabilityMatrixResponse;
+import com.crm.smart_CRM.dto.response.ResourceAvailabilityRow;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.validation.ValidationException;
+
+/**
+ * The availability matrix has one bitstring per resource-day, one character per 15-minute
+ * slot from 08:00. A booking marks every slot it overlaps, even partly; a booking ending on a
+ * slot boundary leaves the next slot free.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingService.class, ResourceService.class, UserService.class, BookingResponseAssembler.class,
+        BookingAvailabilityIndex.class, BookingLockManager.class, OptimisticRetryExecutor.class, NdjsonStreamer.class,
+        CatalogVersions.class, ResourceCatalog.class, BookingRollupService.class, DashboardCache.class})
+class AvailabilityMatrixTest {
+
+    private static final LocalDate START = LocalDate.now().plusDays(1);
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private ResourceCategory rooms;
+    private Resource room;
+    private Resource quietRoom;
+    private User member;
+
+    @BeforeEach
+    void setUp() {
+        rooms = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+        room = resource("Room 1", rooms);
+        quietRoom = resource("Room 2", rooms);
+        resource("Lab 1", categoryRepository.save(new ResourceCategory("Labs", "Computer labs", "icon")));
+
+        member = new User();
+        member.setName("Member");
+        member.setEmail("member@campus.edu");
+        member.setPassword("secret");
+        member.setRole(UserRole.FACULTY);
+        member = userRepository.save(member);
+
+        // On slot boundaries: 09:00 - 10:00 is slots 4 to 7
+        booking(room, START, LocalTime.of(9, 0), LocalTime.of(10, 0), BookingStatus.CONFIRMED);
+        // Partly overlapping two slots: 10:10 - 10:20 touches slots 8 and 9
+        booking(room, START.plusDays(1), LocalTime.of(10, 10), LocalTime.of(10, 20), BookingStatus.CONFIRMED);
+        booking(room, START.plusDays(2), LocalTime.of(8, 0), LocalTime.of(20, 0), BookingStatus.CANCELLED);
+        booking(room, START.plusDays(3), LocalTime.of(8, 0), LocalTime.of(9, 0), BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void cellsMarkEveryOverlappedSlot() {
+        AvailabilityMatrixResponse matrix = bookingService.getAvailabilityMatrix(rooms.getId(), START,
+                START.plusDays(2));
+
+        assertThat(matrix.getDayStart()).isEqualTo(LocalTime.of(8, 0));
+        assertThat(matrix.getSlotMinutes()).isEqualTo(15);
+        assertThat(matrix.getSlotsPerDay()).isEqualTo(48);
+        assertThat(matrix.getResources()).extracting(ResourceAvailabilityRow::getResourceName)
+                .containsExactlyInAnyOrder("Room 1", "Room 2");
+
+        List<String> days = row(matrix, room).getDays();
+        assertThat(days).hasSize(3);
+        assertThat(days.get(0)).isEqualTo(cells(4, 8));
+        assertThat(days.get(0).charAt(3)).isEqualTo('0');
+        assertThat(days.get(0).charAt(8)).isEqualTo('0');
+        assertThat(days.get(1)).isEqualTo(cells(8, 10));
+        // Cancelled bookings leave the day free, bookings after the range are not read
+        assertThat(days.get(2)).isEqualTo(cells(0, 0));
+
+        assertThat(row(matrix, quietRoom).getDays()).containsOnly(cells(0, 0));
+    }
+
+    @Test
+    void rangeIsValidated() {
+        assertThatThrownBy(() -> bookingService.getAvailabilityMatrix(rooms.getId(), START, START.minusDays(1)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.getAvailabilityMatrix(rooms.getId(), START, START.plusDays(31)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static String cells(int fromSlot, int toSlot) {
+        StringBuilder cells = new StringBuilder();
+        for (int slot = 0; slot < 48; slot++) {
+            cells.append(slot >= fromSlot && slot < toSlot ? '1' : '0');
+        }
+        return cells.toString();
+    }
+
+    private ResourceAvailabilityRow row(AvailabilityMatrixResponse matrix, Resource resource) {
+        return matrix.getResources().stream()
+                .filter(row -> row.getResourceId().equals(resource.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Resource resource(String name, ResourceCategory category) {
+        Resource resource = new Resource();
+        resource.setName(name);
+        resource.setCategory(category);
+        resource.setCapacity(20);
+        resource.setLocation("Block A");
+        return resourceRepository.save(resource);
+    }
+
+    private void booking(Resource resource, LocalDate date, LocalTime startTime, LocalTime endTime,
+                         BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUser(member);
+        booking.setResource(resource);
+        booking.setBookingDate(date);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        booking.setPurpose("Study session");
+        booking.setStatus(status);
+        bookingRepository.save(booking);
+    }
+}
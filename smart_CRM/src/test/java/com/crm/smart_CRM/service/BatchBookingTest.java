@@ -0,0 +1,161 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.BookingRequest;
+import com.crm.smart_CRM.dto.response.BatchBookingResponse;
+import com.crm.smart_CRM.dto.response.BatchBookingResult;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+/**
+ * A batch reports every item on its own: items failing validation or conflicting, with
+ * existing bookings or with earlier items of the batch, are skipped while the rest are
+ * inserted. An all-or-nothing batch inserts nothing when any item fails.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingService.class, ResourceService.class, UserService.class, BookingResponseAssembler.class,
+        BookingAvailabilityIndex.class, BookingLockManager.class, OptimisticRetryExecutor.class, NdjsonStreamer.class,
+        CatalogVersions.class, ResourceCatalog.class, BookingRollupService.class, DashboardCache.class})
+class BatchBookingTest {
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private final List<Resource> rooms = new ArrayList<>();
+    private User member;
+    private LocalDate bookingDay;
+
+    @BeforeEach
+    void setUp() {
+        seed();
+    }
+
+    @Test
+    void mixedBatchInsertsTheValidItemsAndReportsEachOne() {
+        bookingService.createBooking(request(rooms.get(1), 14));
+
+        BatchBookingResponse response = bookingService.createBookings(mixedBatch());
+
+        assertThat(response.getRequested()).isEqualTo(5);
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BatchBookingResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.getResults()).extracting(BatchBookingResult::isSuccess)
+                .containsExactly(true, false, false, false, true);
+        // Overlaps item 0 of the same batch, an existing booking, then an unknown room
+        assertThat(response.getResults().get(1).getMessage()).isEqualTo("Selected time slot is already booked");
+        assertThat(response.getResults().get(2).getMessage()).isEqualTo("Selected time slot is already booked");
+        assertThat(response.getResults().get(3).getMessage()).isEqualTo("Resource not found");
+        assertThat(response.getResults().get(0).getBooking().getId()).isNotNull();
+        assertThat(bookingRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void allOrNothingBatchInsertsNothingWhenAnItemFails() {
+        bookingService.createBooking(request(rooms.get(1), 14));
+
+        BatchBookingResponse response = bookingService.createBookings(mixedBatch(), true);
+
+        assertThat(response.getSucceeded()).isZero();
+        assertThat(response.getFailed()).isEqualTo(5);
+        assertThat(response.getResults()).noneMatch(BatchBookingResult::isSuccess);
+        assertThat(response.getResults().get(0).getMessage())
+                .isEqualTo("Not booked: another booking in the batch failed");
+        assertThat(response.getResults().get(3).getMessage()).isEqualTo("Resource not found");
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void allOrNothingBatchWithoutFailuresInsertsEverything() {
+        BatchBookingResponse response = bookingService.createBookings(
+                List.of(request(rooms.get(0), 9), request(rooms.get(1), 9), request(rooms.get(0), 11)), true);
+
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getResults()).allMatch(BatchBookingResult::isSuccess);
+        assertThat(bookingRepository.count()).isEqualTo(3);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private List<BookingRequest> mixedBatch() {
+        BookingRequest unknownRoom = request(rooms.get(0), 16);
+        unknownRoom.setResourceId(-1L);
+        return List.of(
+                request(rooms.get(0), 9),
+                request(rooms.get(0), 10),
+                request(rooms.get(1), 14),
+                unknownRoom,
+                request(rooms.get(1), 9));
+    }
+
+    private BookingRequest request(Resource resource, int hour) {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(member.getId());
+        request.setResourceId(resource.getId());
+        request.setBookingDate(bookingDay);
+        request.setStartTime(LocalTime.of(hour, 0));
+        request.setEndTime(LocalTime.of(hour + 1, 30));
+        request.setPurpose("Department meeting");
+        request.setAttendeesCount(2);
+        return request;
+    }
+
+    private void seed() {
+        ResourceCategory category = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+        for (int i = 0; i < 2; i++) {
+            Resource resource = new Resource();
+            resource.setName("Room " + i);
+            resource.setCategory(category);
+            resource.setCapacity(30);
+            resource.setLocation("Block A");
+            rooms.add(resourceRepository.save(resource));
+        }
+
+        member = new User();
+        member.setName("Department admin");
+        member.setEmail("department@campus.edu");
+        member.setPassword("secret");
+        member.setRole(UserRole.FACULTY);
+        member = userRepository.save(member);
+
+        bookingDay = LocalDate.now().plusDays(3);
+        while (bookingDay.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            bookingDay = bookingDay.plusDays(1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+
+/**
+ * Conflict checks answered by the availability index: a single AND when the day is on the slot
+ * grid, the exact intervals when it isn't, nothing for dates it doesn't cover (callers then
+ * ask the database). Bookings from a transaction only show up once it commits.
+ */
+class BookingAvailabilityIndexTest {
+
+    private static final Long ROOM = 1L;
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate TOMORROW = TODAY.plusDays(1);
+
+    private BookingAvailabilityIndex index;
+    private long ids;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingAvailabilityIndex();
+        index.warm(List.of(
+                row(TOMORROW, LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                row(TODAY.minusDays(1), LocalTime.of(9, 0), LocalTime.of(10, 0))), TODAY);
+    }
+
+    @Test
+    void onGridDayIsCheckedAgainstTheBitmap() {
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(9, 45), LocalTime.of(10, 15))).isTrue();
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(8, 0), LocalTime.of(9, 0))).isFalse();
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(10, 0), LocalTime.of(11, 0))).isFalse();
+        assertThat(index.hasConflict(2L, TOMORROW, LocalTime.of(9, 0), LocalTime.of(10, 0))).isFalse();
+        assertThat(index.occupancy(ROOM, TOMORROW))
+                .isEqualTo(SlotBitmap.mask(LocalTime.of(9, 0), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void offGridDayFallsBackToTheExactIntervals() {
+        index.add(booking(TOMORROW, LocalTime.of(10, 5), LocalTime.of(10, 50)));
+
+        // Both touch the 10:45 slot, only the exact intervals tell them apart
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(10, 50), LocalTime.of(11, 0))).isFalse();
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(10, 45), LocalTime.of(11, 0))).isTrue();
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(10, 0), LocalTime.of(10, 5))).isFalse();
+    }
+
+    @Test
+    void uncoveredDatesAreLeftToTheDatabase() {
+        BookingAvailabilityIndex cold = new BookingAvailabilityIndex();
+        assertThat(cold.isCovered(TOMORROW)).isFalse();
+
+        // Warm-up skips days before its start date, which stay with the database
+        assertThat(index.isCovered(TODAY.minusDays(1))).isFalse();
+        assertThat(index.occupancy(ROOM, TODAY.minusDays(1))).isZero();
+        assertThat(index.isCovered(TODAY)).isTrue();
+    }
+
+    @Test
+    void pruneDropsPastDays() {
+        index.add(booking(TODAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+
+        index.pruneBefore(TOMORROW);
+
+        assertThat(index.isCovered(TODAY)).isFalse();
+        assertThat(index.occupancy(ROOM, TODAY)).isZero();
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(9, 0), LocalTime.of(9, 15))).isTrue();
+
+        // Writes to a pruned day are not indexed again
+        index.add(booking(TODAY, LocalTime.of(11, 0), LocalTime.of(12, 0)));
+        assertThat(index.occupancy(ROOM, TODAY)).isZero();
+    }
+
+    @Test
+    void indexIsUpdatedOnlyAfterCommit() {
+        TransactionTemplate transaction = new TransactionTemplate(new NoOpTransactionManager());
+        Booking committed = booking(TOMORROW, LocalTime.of(14, 0), LocalTime.of(15, 0));
+        Booking rolledBack = booking(TOMORROW, LocalTime.of(16, 0), LocalTime.of(17, 0));
+
+        transaction.executeWithoutResult(status -> {
+            index.addAfterCommit(committed);
+            assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(14, 0), LocalTime.of(15, 0))).isFalse();
+        });
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(14, 0), LocalTime.of(15, 0))).isTrue();
+
+        transaction.executeWithoutResult(status -> {
+            index.addAfterCommit(rolledBack);
+            status.setRollbackOnly();
+        });
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(16, 0), LocalTime.of(17, 0))).isFalse();
+
+        transaction.executeWithoutResult(status -> {
+            index.removeAfterCommit(committed);
+            assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(14, 0), LocalTime.of(15, 0))).isTrue();
+        });
+        assertThat(index.hasConflict(ROOM, TOMORROW, LocalTime.of(14, 0), LocalTime.of(15, 0))).isFalse();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private Object[] row(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return new Object[] {++ids, ROOM, date, startTime, endTime};
+    }
+
+    private Booking booking(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Resource resource = new Resource();
+        resource.setId(ROOM);
+        Booking booking = new Booking();
+        booking.setId(++ids);
+        booking.setResource(resource);
+        booking.setBookingDate(date);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        return booking;
+    }
+}
@@ -0,0 +1,192 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.SlotStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.ReviewRequest;
+import com.crm.smart_CRM.dto.response.BookingPageResponse;
+import com.crm.smart_CRM.exception.ResourceNotFoundException;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.ReviewRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+/**
+ * The booking page carries what the separate slot, review and rating endpoints return, and a
+ * section that fails or misses its deadline degrades instead of failing the page. Runs
+ * without a test transaction because sections read on pool threads.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingPageService.class, SectionExecutor.class, BookingService.class, ResourceService.class,
+        ReviewService.class, BookingResponseAssembler.class, UserService.class, BookingAvailabilityIndex.class,
+        BookingLockManager.class, OptimisticRetryExecutor.class, NdjsonStreamer.class, CatalogVersions.class,
+        ResourceCatalog.class, BookingRollupService.class, DashboardCache.class})
+class BookingPageTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(2);
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private BookingPageService bookingPageService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ResourceService resourceService;
+    @Autowired
+    private ReviewService reviewService;
+
+    private Resource resource;
+
+    @BeforeEach
+    void setUp() {
+        seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewRepository.deleteAll();
+        bookingRepository.deleteAll();
+        resourceRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void pageMatchesTheSeparateEndpoints() {
+        Long resourceId = resource.getId();
+
+        BookingPageResponse page = bookingPageService.getBookingPage(resourceId, DATE, 2);
+
+        assertThat(page.getDegradedSections()).isEmpty();
+        assertThat(page.getResource()).isEqualTo(resourceService.getResourceById(resourceId));
+        assertThat(page.getResource().getAverageRating()).isEqualTo(4.0);
+        assertThat(page.getAvailability()).isEqualTo(bookingService.getAvailableSlots(resourceId, DATE));
+        assertThat(page.getAvailability().getSlots()).anyMatch(slot -> slot.getStatus() == SlotStatus.BOOKED);
+        assertThat(page.getRecentReviews()).hasSize(2)
+                .isEqualTo(reviewService.getRecentReviewsByResource(resourceId, 2));
+        assertThat(page.getRatingDistribution()).isEqualTo(reviewService.getRatingDistribution(resourceId));
+    }
+
+    @Test
+    void unknownResourceIsNotFound() {
+        assertThatThrownBy(() -> bookingPageService.getBookingPage(-1L, DATE, 5))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void slowAndFailingSectionsAreDegraded() {
+        SectionExecutor sections = new SectionExecutor(new NoOpTransactionManager(), 4, 4);
+        try {
+            long deadline = SectionExecutor.deadlineIn(100);
+            Future<String> fast = sections.submit(() -> "fast");
+            Future<String> slow = sections.submit(() -> {
+                sleep(5_000);
+                return "slow";
+            });
+            Future<String> failing = sections.submit(() -> {
+                throw new IllegalStateException("broken");
+            });
+
+            List<String> degraded = new ArrayList<>();
+            assertThat(sections.await("fast", fast, deadline, "none", degraded)).isEqualTo("fast");
+            assertThat(sections.await("slow", slow, deadline, "none", degraded)).isEqualTo("none");
+            assertThat(sections.await("failing", failing, deadline, "none", degraded)).isEqualTo("none");
+            assertThat(degraded).containsExactly("slow", "failing");
+            assertThat(slow.isCancelled()).isTrue();
+        } finally {
+            sections.shutdown();
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void seed() {
+        ResourceCategory rooms = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+
+        resource = new Resource();
+        resource.setName("Room 1");
+        resource.setCategory(rooms);
+        resource.setCapacity(10);
+        resource.setLocation("Block A");
+        resource = resourceRepository.save(resource);
+
+        int[] ratings = {5, 3, 4};
+        for (int i = 0; i < ratings.length; i++) {
+            User user = new User();
+            user.setName("Reviewer " + i);
+            user.setEmail("reviewer" + i + "@campus.edu");
+            user.setPassword("secret");
+            user.setRole(UserRole.STUDENT);
+            user = userRepository.save(user);
+
+            Booking completed = bookingRepository.save(booking(user, LocalDate.now().minusDays(i + 1),
+                    BookingStatus.COMPLETED));
+            reviewService.submitReview(new ReviewRequest(resource.getId(), user.getId(), completed.getId(),
+                    ratings[i], "Review " + i));
+            if (i == 0) {
+                bookingRepository.save(booking(user, DATE, BookingStatus.CONFIRMED));
+            }
+        }
+    }
+
+    private Booking booking(User user, LocalDate date, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setResource(resource);
+        booking.setBookingDate(date);
+        booking.setStartTime(LocalTime.of(10, 0));
+        booking.setEndTime(LocalTime.of(11, 0));
+        booking.setPurpose("Study session");
+        booking.setStatus(status);
+        return booking;
+    }
+}
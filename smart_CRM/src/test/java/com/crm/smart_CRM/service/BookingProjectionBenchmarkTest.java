@@ -0,0 +1,205 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.projection.BookingRow;
+import com.crm.smart_CRM.dto.request.BookingView;
+import com.crm.smart_CRM.dto.response.BookingResponse;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.Review;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.ReviewRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The projection-backed list path must return exactly what the entity path returns.
+ * Logs rows/sec and bytes allocated per request for both on an in-memory database.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Slf4j
+class BookingProjectionBenchmarkTest {
+
+    private static final int USERS = 200;
+    private static final int RESOURCES = 40;
+    private static final int BOOKINGS = 5_000;
+    private static final int WARMUP = 3;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private BookingResponseAssembler assembler;
+
+    @BeforeEach
+    void setUp() {
+        EmailService emailService = mock(EmailService.class);
+        UserService userService = new UserService(userRepository, emailService, mock(NdjsonStreamer.class),
+                mock(CatalogVersions.class));
+        ResourceService resourceService = new ResourceService(resourceRepository, categoryRepository,
+                bookingRepository, userRepository, emailService,
+                mock(BookingAvailabilityIndex.class), mock(OptimisticRetryExecutor.class), mock(NdjsonStreamer.class),
+                mock(CatalogVersions.class), mock(ResourceCatalog.class), mock(BookingRollupService.class),
+                new BookingLockManager());
+        assembler = new BookingResponseAssembler(userRepository, resourceRepository, userService,
+                resourceService);
+        seed();
+    }
+
+    @Test
+    void projectionMatchesEntityPathAndIsCheaper() {
+        Measurement entities = measure("entities", () -> assembler.toResponses(bookingRepository.findAll()));
+        Measurement projection = measure("projection", () -> assembler.fromRows(allBookingRows(), BookingView.FULL));
+
+        List<BookingResponse> expected = new ArrayList<>(entities.result());
+        expected.sort(Comparator.comparing(BookingResponse::getId));
+        assertThat(projection.result()).hasSize(BOOKINGS).isEqualTo(expected);
+
+        Long userId = expected.get(0).getUser().getId();
+        entityManager.clear();
+        List<BookingResponse> userExpected = assembler.toResponses(bookingRepository.findByUserId(userId));
+        userExpected.sort(Comparator.comparing(BookingResponse::getId));
+        assertThat(assembler.fromRows(bookingRepository.findBookingRowsByUserId(userId), BookingView.FULL))
+                .isEqualTo(userExpected);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private Measurement measure(String name, Supplier<List<BookingResponse>> path) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<BookingResponse> result = null;
+        long bestNanos = Long.MAX_VALUE;
+        long bestBytes = Long.MAX_VALUE;
+
+        for (int round = 0; round < WARMUP + ROUNDS; round++) {
+            entityManager.clear();
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            result = path.get();
+            long nanos = System.nanoTime() - start;
+            long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            if (round >= WARMUP) {
+                bestNanos = Math.min(bestNanos, nanos);
+                bestBytes = Math.min(bestBytes, bytes);
+            }
+        }
+
+        log.info("{} rows={} rows/s={} heap/request={} KB",
+                name, result.size(), Math.round(result.size() * 1e9 / bestNanos), bestBytes / 1024);
+        return new Measurement(result);
+    }
+
+    // The whole table at once is only wanted here, so the query is not on the repository
+    private List<BookingRow> allBookingRows() {
+        return entityManager.createQuery(BookingRepository.BOOKING_ROW_SELECT + "ORDER BY b.id", BookingRow.class)
+                .getResultList();
+    }
+
+    private void seed() {
+        List<ResourceCategory> categories = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            categories.add(categoryRepository.save(new ResourceCategory("Category " + i, "Description " + i, "icon")));
+        }
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@campus.edu");
+            user.setPassword("secret");
+            user.setDepartment("Dept " + (i % 7));
+            user.setRole(i % 10 == 0 ? UserRole.ADMIN : UserRole.STUDENT);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Resource> resources = new ArrayList<>();
+        for (int i = 0; i < RESOURCES; i++) {
+            Resource resource = new Resource();
+            resource.setName("Room " + i);
+            resource.setCategory(categories.get(i % categories.size()));
+            resource.setCapacity(10 + i);
+            resource.setLocation("Block " + (i % 5));
+            resource.setAmenities("projector,whiteboard");
+            resources.add(resource);
+        }
+        resources = resourceRepository.saveAll(resources);
+
+        List<Booking> bookings = new ArrayList<>();
+        LocalDate firstDay = LocalDate.now().minusDays(60);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setUser(users.get(i % USERS));
+            booking.setResource(resources.get(i % RESOURCES));
+            booking.setBookingDate(firstDay.plusDays(i % 90));
+            booking.setStartTime(LocalTime.of(8 + i % 10, 0));
+            booking.setEndTime(LocalTime.of(9 + i % 10, 0));
+            booking.setPurpose("Study session " + i);
+            booking.setAttendeesCount(1 + i % 8);
+            if (i % 9 == 0) {
+                booking.setStatus(BookingStatus.CANCELLED);
+                booking.setCancellationReason("Plans changed");
+                booking.setCancelledAt(LocalDateTime.now());
+                booking.setCancelledBy(users.get(0));
+            } else if (i % 3 == 0) {
+                booking.setStatus(BookingStatus.COMPLETED);
+            }
+            bookings.add(booking);
+        }
+        bookings = bookingRepository.saveAll(bookings);
+
+        List<Review> reviews = new ArrayList<>();
+        for (Booking booking : bookings) {
+            if (booking.getStatus() == BookingStatus.COMPLETED && booking.getId() % 4 == 0) {
+                Review review = new Review();
+                review.setBooking(booking);
+                review.setUser(booking.getUser());
+                review.setResource(booking.getResource());
+                review.setRating(1 + (int) (booking.getId() % 5));
+                reviews.add(review);
+            }
+        }
+        reviewRepository.saveAll(reviews);
+        resourceRepository.rebuildRatingAggregates();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private record Measurement(List<BookingResponse> result) {
+    }
+}
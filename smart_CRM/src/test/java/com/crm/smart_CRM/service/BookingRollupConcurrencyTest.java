@@ -0,0 +1,208 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.BookingRequest;
+import com.crm.smart_CRM.model.BookingRollup;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingRollupRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+/**
+ * Rollup rebuilds running while bookings commit neither lose a booking nor insert a row twice:
+ * each rebuilt date range waits for the writers in flight and holds off new ones, so afterwards
+ * the rollups still equal a rebuild from the bookings table. Ranges are one day wide here.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "booking.rollup-rebuild.chunk-days=1"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingService.class, ResourceService.class, BookingRollupService.class, UserService.class,
+        BookingResponseAssembler.class, BookingAvailabilityIndex.class, BookingLockManager.class,
+        OptimisticRetryExecutor.class, NdjsonStreamer.class, CatalogVersions.class, ResourceCatalog.class,
+        DashboardCache.class})
+class BookingRollupConcurrencyTest {
+
+    private static final int RESOURCES = 4;
+    private static final int WRITERS = 8;
+    private static final int BOOKINGS_PER_WRITER = 6;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingRollupRepository rollupRepository;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    private final List<Resource> resources = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+    private LocalDate bookingDay;
+
+    @BeforeEach
+    void setUp() {
+        ResourceCategory category = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+        for (int i = 0; i < RESOURCES; i++) {
+            Resource resource = new Resource();
+            resource.setName("Room " + i);
+            resource.setCategory(category);
+            resource.setCapacity(30);
+            resource.setLocation("Block A");
+            resources.add(resourceRepository.save(resource));
+        }
+        for (int i = 0; i < WRITERS; i++) {
+            User user = new User();
+            user.setName("Admin " + i);
+            user.setEmail("admin" + i + "@campus.edu");
+            user.setPassword("secret");
+            user.setRole(UserRole.ADMIN);
+            users.add(userRepository.save(user));
+        }
+
+        bookingDay = LocalDate.now().plusDays(3);
+        while (bookingDay.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            bookingDay = bookingDay.plusDays(1);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+        resourceRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void rebuildsRunningAlongsideBookingsLoseNothing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger rebuilds = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        Future<?> rebuilder = executor.submit(() -> {
+            await(start);
+            while (writing.get()) {
+                try {
+                    bookingRollupService.rebuildRollups();
+                    rebuilds.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failures.add(e);
+                }
+            }
+        });
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int id = writer;
+            writers.add(executor.submit(() -> {
+                await(start);
+                // Every writer books its own slots, so only a lost rollup update could fail the test
+                for (int i = 0; i < BOOKINGS_PER_WRITER; i++) {
+                    int hour = 8 + (id / RESOURCES) * BOOKINGS_PER_WRITER + i;
+                    try {
+                        bookingService.createBooking(request(users.get(id), resources.get(id % RESOURCES), hour));
+                    } catch (RuntimeException e) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> writer : writers) {
+            writer.get(2, TimeUnit.MINUTES);
+        }
+        writing.set(false);
+        rebuilder.get(2, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        assertThat(failures).isEmpty();
+        assertThat(rebuilds.get()).isPositive();
+        assertThat(bookingRepository.count()).isEqualTo(WRITERS * BOOKINGS_PER_WRITER);
+
+        List<BookingRollup> incremental = rollups();
+        assertThat(incremental.stream().mapToLong(BookingRollup::getBookingCount).sum())
+                .isEqualTo(WRITERS * BOOKINGS_PER_WRITER);
+        bookingRollupService.rebuildRollups();
+        assertThat(incremental).isEqualTo(rollups());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private List<BookingRollup> rollups() {
+        return rollupRepository.findAll().stream()
+                .sorted(Comparator.comparing(BookingRollup::getBookingDate)
+                        .thenComparing(BookingRollup::getResourceId)
+                        .thenComparing(BookingRollup::getStartHour)
+                        .thenComparing(BookingRollup::getStatus))
+                .toList();
+    }
+
+    private BookingRequest request(User user, Resource resource, int hour) {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(user.getId());
+        request.setResourceId(resource.getId());
+        request.setBookingDate(bookingDay);
+        request.setStartTime(LocalTime.of(hour, 0));
+        request.setEndTime(LocalTime.of(hour + 1, 0));
+        request.setPurpose("Group study");
+        request.setAttendeesCount(2);
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.crm.smart_CRM.Enum.BookingPeriod;
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.TrendBucket;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.BookingCancellationRequest;
+import com.crm.smart_CRM.dto.request.BookingRequest;
+import com.crm.smart_CRM.dto.request.MaintenanceRequest;
+import com.crm.smart_CRM.dto.request.ResourceRequest;
+import com.crm.smart_CRM.dto.response.BookingPeriodCount;
+import com.crm.smart_CRM.dto.response.BookingStatistics;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.BookingRollup;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingRollupRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ValidationException;
+
+/**
+ * Rollups kept up to date by booking writes equal a rebuild from the bookings table, and the
+ * dashboard aggregates, trends, period counts and cancellation rates equal the same aggregates
+ * computed over the bookings.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingService.class, ResourceService.class, DashboardService.class, BookingRollupService.class,
+        UserService.class, BookingResponseAssembler.class, BookingAvailabilityIndex.class, BookingLockManager.class,
+        OptimisticRetryExecutor.class, NdjsonStreamer.class, CatalogVersions.class, ResourceCatalog.class,
+        SectionExecutor.class, DashboardCache.class})
+class BookingRollupTest {
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingRollupRepository rollupRepository;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ResourceService resourceService;
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    private ResourceCategory rooms;
+    private ResourceCategory labs;
+    private final List<Resource> resources = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+    private LocalDate bookingDay;
+
+    @BeforeEach
+    void setUp() {
+        seed();
+    }
+
+    @Test
+    void bookingWritesKeepRollupsEqualToARebuild() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            created.add(bookingService.createBooking(request(users.get(i), resources.get(i % 2), 9 + i)).getId());
+        }
+        bookingService.createBooking(request(users.get(0), resources.get(2), 14));
+        BookingCancellationRequest cancellation = new BookingCancellationRequest();
+        cancellation.setCancellationReason("Plans changed");
+        bookingService.cancelBooking(created.get(0), cancellation);
+
+        MaintenanceRequest maintenance = new MaintenanceRequest();
+        maintenance.setMaintenanceStart(bookingDay.atTime(8, 0));
+        maintenance.setMaintenanceEnd(bookingDay.atTime(20, 0));
+        maintenance.setMaintenanceReason("Rewiring");
+        resourceService.scheduleMaintenance(resources.get(1).getId(), maintenance);
+        resourceService.updateResource(resources.get(2).getId(), new ResourceRequest("Lab 2", rooms.getId(),
+                "Moved", 30, "Block B", null, null, 180, 60, 7, null));
+
+        List<BookingRollup> incremental = rollups();
+        bookingRollupService.rebuildRollups();
+
+        assertThat(incremental).isEqualTo(rollups());
+        assertThat(incremental).anyMatch(rollup -> rollup.getStatus() == BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void rebuildCoversEveryDateRangeAndDropsRowsOfDeletedBookings() {
+        // Further back than one rebuild range from the other bookings
+        Booking old = new Booking();
+        old.setUser(users.get(0));
+        old.setResource(resources.get(0));
+        old.setBookingDate(LocalDate.now().minusDays(70));
+        old.setStartTime(LocalTime.of(10, 0));
+        old.setEndTime(LocalTime.of(11, 0));
+        old.setDuration(60);
+        old.setPurpose("Study session");
+        old.setStatus(BookingStatus.COMPLETED);
+        old = bookingRepository.save(old);
+        LocalDate oldDate = old.getBookingDate();
+
+        bookingRollupService.rebuildRollups();
+        assertThat(rollups()).anyMatch(rollup -> rollup.getBookingDate().equals(oldDate));
+
+        bookingRepository.delete(bookingRepository.findById(old.getId()).orElseThrow());
+        bookingRollupService.rebuildRollups();
+        assertThat(rollups()).noneMatch(rollup -> rollup.getBookingDate().equals(oldDate));
+        assertThat(rollups().stream().mapToLong(BookingRollup::getBookingCount).sum())
+                .isEqualTo(bookingRepository.count());
+    }
+
+    @Test
+    void dashboardAggregatesMatchTheBookings() {
+        bookingRollupService.rebuildRollups();
+        List<Booking> bookings = bookingRepository.findAll();
+
+        Map<Integer, Long> byHour = bookings.stream()
+                .collect(Collectors.groupingBy(b -> b.getStartTime().getHour(), Collectors.counting()));
+        assertThat(dashboardService.getPeakHoursAnalysis()).containsAllEntriesOf(byHour);
+
+        Map<DayOfWeek, Long> byDay = bookings.stream()
+                .collect(Collectors.groupingBy(b -> b.getBookingDate().getDayOfWeek(), Collectors.counting()));
+        Map<String, Long> dayWise = dashboardService.getDayWiseBookings();
+        byDay.forEach((day, count) -> assertThat(dayWise).containsEntry(
+                day.toString().charAt(0) + day.toString().substring(1).toLowerCase(), count));
+
+        Map<String, Long> byCategory = bookings.stream()
+                .collect(Collectors.groupingBy(b -> b.getResource().getCategory().getName(), Collectors.counting()));
+        assertThat(dashboardService.getAdminDashboard().getCategoryWiseBookings()).isEqualTo(byCategory);
+
+        Map<UserRole, List<Booking>> byRole = bookings.stream()
+                .collect(Collectors.groupingBy(b -> b.getUser().getRole()));
+        Map<String, Double> cancellationRates = dashboardService.getCancellationRateByRole();
+        byRole.forEach((role, roleBookings) -> assertThat(cancellationRates).containsEntry(role.toString(),
+                roleBookings.stream().filter(b -> b.getStatus() == BookingStatus.CANCELLED).count() * 100.0
+                        / roleBookings.size()));
+
+        Map<String, Double> averageDurations = bookings.stream()
+                .collect(Collectors.groupingBy(b -> b.getResource().getCategory().getName(),
+                        Collectors.averagingInt(Booking::getDuration)));
+        assertThat(dashboardService.getAverageBookingDurationByCategory()).isEqualTo(averageDurations);
+
+        BookingStatistics statistics = bookingService.getBookingStatistics();
+        assertThat(statistics.getTotalBookings()).isEqualTo(bookings.size());
+        assertThat(statistics.getCompletedBookings())
+                .isEqualTo(bookings.stream().filter(b -> b.getStatus() == BookingStatus.COMPLETED).count());
+        assertThat(statistics.getAverageBookingDuration())
+                .isEqualTo(bookings.stream().mapToInt(Booking::getDuration).average().orElse(0.0));
+    }
+
+    @Test
+    void trendIsBucketedAndFilteredInOneQuery() {
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.minusDays(10);
+        Resource lab = resources.get(2);
+        List<Booking> bookings = bookingRepository.findAll();
+
+        Map<String, Long> daily = dashboardService.getBookingTrend(start, today, TrendBucket.DAY, null, lab.getId());
+        assertThat(daily).hasSize(11).containsEntry(today.toString(), 0L)
+                .containsEntry(today.minusDays(1).toString(), 1L);
+
+        for (TrendBucket bucket : TrendBucket.values()) {
+            Map<String, Long> expected = bookings.stream()
+                    .filter(b -> b.getResource().getCategory().getId().equals(labs.getId()))
+                    .collect(Collectors.groupingBy(b -> bucket.startOf(b.getBookingDate()).toString(),
+                            Collectors.counting()));
+            Map<String, Long> trend = dashboardService.getBookingTrend(start, today, bucket, labs.getId(), null);
+            assertThat(trend).containsAllEntriesOf(expected);
+            assertThat(trend.keySet()).first().isEqualTo(bucket.startOf(start).toString());
+            assertThat(trend.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(expected.values()
+                    .stream().mapToLong(Long::longValue).sum());
+        }
+
+        assertThat(dashboardService.getBookingTrend(start, today, TrendBucket.MONTH, null, null).values()
+                .stream().mapToLong(Long::longValue).sum()).isEqualTo(bookings.size());
+        assertThatThrownBy(() -> dashboardService.getBookingTrend(today, start, TrendBucket.DAY, null, null))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void periodCountsMatchTheBookings() {
+        LocalDate today = LocalDate.now();
+        List<Booking> bookings = bookingRepository.findAll();
+
+        assertThat(dashboardService.countBookings(BookingPeriod.CUSTOM, today.minusDays(7), today.minusDays(1))
+                .getBookingCount()).isEqualTo(7L * resources.size());
+        assertThat(dashboardService.countBookings(BookingPeriod.TODAY, null, null).getBookingCount()).isZero();
+
+        LocalDate monday = today.minusDays(today.getDayOfWeek().getValue() - 1);
+        assertThat(dashboardService.countBookings(BookingPeriod.WEEK, null, null).getBookingCount())
+                .isEqualTo(bookings.stream().filter(b -> !b.getBookingDate().isBefore(monday)
+                        && b.getBookingDate().isBefore(monday.plusDays(7))).count());
+        assertThat(dashboardService.countBookings(BookingPeriod.MONTH, null, null).getBookingCount())
+                .isEqualTo(bookings.stream().filter(b -> b.getBookingDate().getMonth() == today.getMonth()
+                        && b.getBookingDate().getYear() == today.getYear()).count());
+
+        BookingPeriodCount semester = dashboardService.countBookings(BookingPeriod.SEMESTER, null, null);
+        assertThat(semester.getStartDate().getDayOfMonth()).isEqualTo(1);
+        assertThat(semester.getEndDate()).isEqualTo(semester.getStartDate().plusMonths(6).minusDays(1));
+        assertThat(semester.getBookingCount()).isEqualTo(bookings.stream()
+                .filter(b -> !b.getBookingDate().isBefore(semester.getStartDate())
+                        && !b.getBookingDate().isAfter(semester.getEndDate())).count());
+
+        assertThatThrownBy(() -> dashboardService.countBookings(BookingPeriod.CUSTOM, today, null))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private List<BookingRollup> rollups() {
+        entityManager.flush();
+        entityManager.clear();
+        // Rows emptied by cancellations are kept at zero, a rebuild never creates them
+        return rollupRepository.findAll().stream()
+                .filter(rollup -> rollup.getBookingCount() != 0)
+                .sorted(Comparator.comparing(BookingRollup::getBookingDate)
+                        .thenComparing(BookingRollup::getResourceId)
+                        .thenComparing(BookingRollup::getStartHour)
+                        .thenComparing(BookingRollup::getStatus))
+                .toList();
+    }
+
+    private BookingRequest request(User user, Resource resource, int hour) {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(user.getId());
+        request.setResourceId(resource.getId());
+        request.setBookingDate(bookingDay);
+        request.setStartTime(LocalTime.of(hour, 0));
+        request.setEndTime(LocalTime.of(hour + 1, 30));
+        request.setPurpose("Group study");
+        request.setAttendeesCount(2);
+        return request;
+    }
+
+    private void seed() {
+        rooms = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+        labs = categoryRepository.save(new ResourceCategory("Labs", "Computer labs", "icon"));
+
+        for (int i = 0; i < 3; i++) {
+            Resource resource = new Resource();
+            resource.setName(i < 2 ? "Room " + i : "Lab " + i);
+            resource.setCategory(i < 2 ? rooms : labs);
+            resource.setCapacity(30);
+            resource.setLocation("Block A");
+            resources.add(resourceRepository.save(resource));
+        }
+
+        for (int i = 0; i < 4; i++) {
+            User user = new User();
+            user.setName("Member " + i);
+            user.setEmail("member" + i + "@campus.edu");
+            user.setPassword("secret");
+            user.setRole(i == 3 ? UserRole.STUDENT : UserRole.FACULTY);
+            users.add(userRepository.save(user));
+        }
+
+        bookingDay = LocalDate.now().plusDays(3);
+        while (bookingDay.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            bookingDay = bookingDay.plusDays(1);
+        }
+
+        // Past bookings over a week, added straight to the table like data from before the rollups
+        for (int day = 1; day <= 7; day++) {
+            for (int r = 0; r < resources.size(); r++) {
+                Booking booking = new Booking();
+                booking.setUser(users.get(day % users.size()));
+                booking.setResource(resources.get(r));
+                booking.setBookingDate(LocalDate.now().minusDays(day));
+                booking.setStartTime(LocalTime.of(8 + day + r, 0));
+                booking.setEndTime(LocalTime.of(9 + day + r, 0));
+                booking.setDuration(30 * (1 + r));
+                booking.setPurpose("Study session");
+                booking.setStatus(day % 3 == 0 ? BookingStatus.NO_SHOW
+                        : day % 3 == 1 && r == 0 ? BookingStatus.CANCELLED : BookingStatus.COMPLETED);
+                bookingRepository.save(booking);
+            }
+        }
+        bookingRollupService.rebuildRollups();
+    }
+}
@@ -0,0 +1,192 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.RecurrenceFrequency;
+import com.crm.smart_CRM.Enum.SeriesConflictPolicy;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.BookingSeriesRequest;
+import com.crm.smart_CRM.dto.response.BookingSeriesResponse;
+import com.crm.smart_CRM.dto.response.SeriesOccurrenceResult;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingSeriesRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.validation.ValidationException;
+
+/**
+ * A weekly series over a room booked on one of its dates: SKIP creates the free occurrences and
+ * reports the conflicting one, FAIL creates nothing. Series may not run past the configured
+ * horizon, and a user's upcoming occurrences across series are capped.
+ */
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "booking.series.horizon-days=60",
+        "booking.series.max-active-occurrences=6"})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingSeriesService.class, BookingService.class, ResourceService.class, UserService.class,
+        BookingResponseAssembler.class, BookingAvailabilityIndex.class, BookingLockManager.class,
+        OptimisticRetryExecutor.class, NdjsonStreamer.class, CatalogVersions.class, ResourceCatalog.class,
+        BookingRollupService.class, DashboardCache.class})
+class BookingSeriesTest {
+
+    private static final LocalTime START_TIME = LocalTime.of(10, 0);
+    private static final LocalTime END_TIME = LocalTime.of(12, 0);
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingSeriesRepository seriesRepository;
+
+    @Autowired
+    private BookingSeriesService bookingSeriesService;
+
+    private Resource room;
+    private User member;
+    private LocalDate firstMonday;
+
+    @BeforeEach
+    void setUp() {
+        ResourceCategory category = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+        room = new Resource();
+        room.setName("Seminar room");
+        room.setCategory(category);
+        room.setCapacity(30);
+        room.setLocation("Block A");
+        room = resourceRepository.save(room);
+
+        member = new User();
+        member.setName("Faculty member");
+        member.setEmail("faculty@campus.edu");
+        member.setPassword("secret");
+        member.setRole(UserRole.FACULTY);
+        member = userRepository.save(member);
+
+        firstMonday = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        // Someone else already holds the room on the second Monday
+        Booking existing = new Booking();
+        existing.setUser(userRepository.save(otherUser()));
+        existing.setResource(room);
+        existing.setBookingDate(firstMonday.plusWeeks(1));
+        existing.setStartTime(LocalTime.of(11, 0));
+        existing.setEndTime(LocalTime.of(13, 0));
+        existing.setPurpose("Thesis defence");
+        existing.setStatus(BookingStatus.CONFIRMED);
+        bookingRepository.save(existing);
+    }
+
+    @Test
+    void skipPolicyCreatesTheFreeOccurrences() {
+        BookingSeriesResponse response = bookingSeriesService.createSeries(
+                weekly(firstMonday, 3, SeriesConflictPolicy.SKIP));
+
+        assertThat(response.getSeriesId()).isNotNull();
+        assertThat(response.getCreatedCount()).isEqualTo(3);
+        assertThat(response.getRejectedCount()).isEqualTo(1);
+        assertThat(response.getOccurrences()).extracting(SeriesOccurrenceResult::isCreated)
+                .containsExactly(true, false, true, true);
+        SeriesOccurrenceResult conflicting = response.getOccurrences().get(1);
+        assertThat(conflicting.getDate()).isEqualTo(firstMonday.plusWeeks(1));
+        assertThat(conflicting.getBookingId()).isNull();
+        assertThat(conflicting.getMessage()).isEqualTo("Selected time slot is already booked");
+        assertThat(response.getOccurrences().get(0).getBookingId()).isNotNull();
+        assertThat(bookingRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void failPolicyCreatesNothingWhenAnOccurrenceConflicts() {
+        BookingSeriesResponse response = bookingSeriesService.createSeries(
+                weekly(firstMonday, 3, SeriesConflictPolicy.FAIL));
+
+        assertThat(response.getSeriesId()).isNull();
+        assertThat(response.getCreatedCount()).isZero();
+        assertThat(response.getOccurrences()).noneMatch(SeriesOccurrenceResult::isCreated);
+        assertThat(response.getOccurrences().get(0).getMessage())
+                .isEqualTo("Not created: other occurrences of the series were rejected");
+        assertThat(response.getOccurrences().get(1).getMessage()).isEqualTo("Selected time slot is already booked");
+        assertThat(seriesRepository.count()).isZero();
+        assertThat(bookingRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void seriesMayNotRunPastTheHorizon() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        BookingSeriesRequest request = weekly(start, 0, SeriesConflictPolicy.SKIP);
+        request.setUntilDate(LocalDate.now().plusDays(61));
+
+        assertThatThrownBy(() -> bookingSeriesService.createSeries(request))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("A series cannot run more than 60 days ahead");
+    }
+
+    @Test
+    void upcomingOccurrencesAreCappedAcrossSeries() {
+        LocalDate otherDay = firstMonday.plusDays(1);
+        assertThat(bookingSeriesService.createSeries(weekly(otherDay, 3, SeriesConflictPolicy.SKIP))
+                .getCreatedCount()).isEqualTo(4);
+
+        // 4 + 3 free Mondays would exceed the 6 occurrences allowed
+        assertThatThrownBy(() -> bookingSeriesService.createSeries(weekly(firstMonday, 3, SeriesConflictPolicy.SKIP)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Maximum active recurring occurrences limit reached (6)");
+        assertThat(bookingRepository.count()).isEqualTo(5);
+
+        assertThat(bookingSeriesService.createSeries(weekly(firstMonday.plusDays(4), 1, SeriesConflictPolicy.SKIP))
+                .getCreatedCount()).isEqualTo(2);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private BookingSeriesRequest weekly(LocalDate startDate, int extraWeeks, SeriesConflictPolicy policy) {
+        BookingSeriesRequest request = new BookingSeriesRequest();
+        request.setUserId(member.getId());
+        request.setResourceId(room.getId());
+        request.setFrequency(RecurrenceFrequency.WEEKLY);
+        request.setStartDate(startDate);
+        request.setUntilDate(startDate.plusWeeks(extraWeeks));
+        request.setStartTime(START_TIME);
+        request.setEndTime(END_TIME);
+        request.setPurpose("Weekly seminar series");
+        request.setAttendeesCount(20);
+        request.setConflictPolicy(policy);
+        return request;
+    }
+
+    private User otherUser() {
+        User user = new User();
+        user.setName("Other member");
+        user.setEmail("other@campus.edu");
+        user.setPassword("secret");
+        user.setRole(UserRole.FACULTY);
+        return user;
+    }
+}
@@ -0,0 +1,229 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.ResourceStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.BookingRequest;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingRollupRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.SystemConfigRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Concurrent createBooking calls must never double-book a slot or exceed a user's quota.
+ * Repositories are in-memory and every save is visible immediately, so without the booking
+ * locks the check-then-insert window is wide open.
+ */
+@Slf4j
+class BookingServiceConcurrencyTest {
+
+    private static final int RESOURCES = 4;
+    private static final int ATTEMPTS_PER_WRITER = 200;
+
+    private final ConcurrentLinkedQueue<Booking> saved = new ConcurrentLinkedQueue<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, User> users = new java.util.concurrent.ConcurrentHashMap<>();
+    private final Map<Long, Resource> resources = new java.util.concurrent.ConcurrentHashMap<>();
+
+    private BookingService bookingService;
+    private TransactionTemplate transactionTemplate;
+    private LocalDate bookingDate;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        ResourceRepository resourceRepository = mock(ResourceRepository.class);
+
+        when(userRepository.findById(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(users.get(inv.<Long>getArgument(0))));
+        when(resourceRepository.findById(anyLong()))
+                .thenAnswer(inv -> Optional.ofNullable(resources.get(inv.<Long>getArgument(0))));
+        when(bookingRepository.countActiveBookingsByUser(anyLong(), anyList()))
+                .thenAnswer(inv -> saved.stream()
+                        .filter(b -> b.getUser().getId().equals(inv.getArgument(0)))
+                        .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
+                        .count());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> {
+            Booking booking = inv.getArgument(0);
+            booking.setId(ids.incrementAndGet());
+            saved.add(booking);
+            return booking;
+        });
+
+        BookingAvailabilityIndex availabilityIndex = new BookingAvailabilityIndex();
+        availabilityIndex.warm(Collections.emptyList(), LocalDate.now());
+
+        bookingService = new BookingService(
+                bookingRepository,
+                userRepository,
+                resourceRepository,
+                mock(SystemConfigRepository.class),
+                mock(EmailService.class),
+                mock(BookingResponseAssembler.class),
+                availabilityIndex,
+                new BookingLockManager(),
+                new OptimisticRetryExecutor(new NoOpTransactionManager(), 5, 0),
+                mock(NdjsonStreamer.class),
+                mock(BookingRollupService.class),
+                mock(BookingRollupRepository.class));
+        transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+
+        for (long id = 1; id <= RESOURCES; id++) {
+            Resource resource = new Resource();
+            resource.setId(id);
+            resource.setName("Room " + id);
+            resource.setCapacity(40);
+            resource.setStatus(ResourceStatus.AVAILABLE);
+            resources.put(id, resource);
+        }
+
+        bookingDate = LocalDate.now().plusDays(1);
+        if (bookingDate.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            bookingDate = bookingDate.plusDays(1);
+        }
+    }
+
+    @ParameterizedTest(name = "{0} concurrent writers")
+    @ValueSource(ints = {1, 8, 64})
+    void concurrentWritersNeverDoubleBook(int writers) throws Exception {
+        for (long id = 1; id <= writers; id++) {
+            users.put(id, user(id, UserRole.ADMIN));
+        }
+
+        AtomicInteger accepted = new AtomicInteger();
+        long elapsedNanos = runWriters(writers, writer -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < ATTEMPTS_PER_WRITER; i++) {
+                int startHour = 8 + random.nextInt(11);
+                int hours = 1 + random.nextInt(Math.min(3, 20 - startHour));
+                BookingRequest request = request((long) writer + 1, 1L + random.nextInt(RESOURCES),
+                        LocalTime.of(startHour, 0), LocalTime.of(startHour + hours, 0));
+                if (tryCreate(request)) {
+                    accepted.incrementAndGet();
+                }
+            }
+        });
+
+        assertNoOverlaps();
+        int attempts = writers * ATTEMPTS_PER_WRITER;
+        log.info("writers={} attempts={} accepted={} throughput={} bookings/s",
+                writers, attempts, accepted.get(), Math.round(attempts / (elapsedNanos / 1_000_000_000.0)));
+    }
+
+    @Test
+    void concurrentBookingsRespectStudentQuota() throws Exception {
+        users.put(1L, user(1L, UserRole.STUDENT));
+
+        runWriters(64, writer -> {
+            // Every writer targets a distinct slot so only the quota can reject it
+            long resourceId = 1 + writer % RESOURCES;
+            int startHour = 8 + (writer / RESOURCES) % 12;
+            tryCreate(request(1L, resourceId, LocalTime.of(startHour, 0), LocalTime.of(startHour + 1, 0)));
+        });
+
+        assertThat(saved).hasSize(3);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private boolean tryCreate(BookingRequest request) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> bookingService.createBooking(request));
+            return true;
+        } catch (RuntimeException rejected) {
+            return false;
+        }
+    }
+
+    private long runWriters(int writers, java.util.function.IntConsumer work) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(writers);
+        for (int writer = 0; writer < writers; writer++) {
+            int id = writer;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    work.accept(id);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        return elapsed;
+    }
+
+    private void assertNoOverlaps() {
+        Map<Long, List<Booking>> byResource = saved.stream()
+                .collect(Collectors.groupingBy(b -> b.getResource().getId()));
+        for (List<Booking> bookings : byResource.values()) {
+            List<Booking> sorted = new ArrayList<>(bookings);
+            sorted.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+            for (int i = 1; i < sorted.size(); i++) {
+                assertThat(sorted.get(i).getStartTime())
+                        .as("booking %d overlaps booking %d", sorted.get(i).getId(), sorted.get(i - 1).getId())
+                        .isAfterOrEqualTo(sorted.get(i - 1).getEndTime());
+            }
+        }
+    }
+
+    private BookingRequest request(Long userId, Long resourceId, LocalTime startTime, LocalTime endTime) {
+        return new BookingRequest(userId, resourceId, bookingDate, startTime, endTime,
+                "Concurrency test booking", 10);
+    }
+
+    private static User user(Long id, UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail("user" + id + "@campus.test");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,138 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.ResourceStatus;
+import com.crm.smart_CRM.dto.projection.BookingRow;
+import com.crm.smart_CRM.dto.projection.ResourceRow;
+import com.crm.smart_CRM.dto.request.BookingView;
+import com.crm.smart_CRM.dto.response.BookingResponse;
+import com.crm.smart_CRM.dto.response.ResourceCategoryResponse;
+import com.crm.smart_CRM.dto.response.UserResponse;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.validation.ValidationException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * fields= and expand= decide both what a BookingResponse carries and which lookups the
+ * assembler runs for it.
+ */
+class BookingViewTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private UserRepository userRepository;
+    private ResourceRepository resourceRepository;
+    private BookingResponseAssembler assembler;
+    private final List<BookingRow> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        resourceRepository = mock(ResourceRepository.class);
+        assembler = new BookingResponseAssembler(userRepository, resourceRepository, mock(UserService.class),
+                mock(ResourceService.class));
+
+        LocalDateTime created = LocalDateTime.of(2026, 3, 1, 8, 0);
+        rows.add(new BookingRow(1L, LocalDate.of(2026, 3, 2), LocalTime.of(9, 0), LocalTime.of(10, 0), 60,
+                "Study", 2, BookingStatus.CONFIRMED, null, null, created, 10L, 20L, null));
+        rows.add(new BookingRow(2L, LocalDate.of(2026, 3, 3), LocalTime.of(11, 0), LocalTime.of(12, 0), 60,
+                "Seminar", 8, BookingStatus.CANCELLED, "Ill", created, created, 10L, 20L, 11L));
+    }
+
+    @Test
+    void defaultViewEmbedsEverything() {
+        when(userRepository.findUserResponsesByIds(anyCollection())).thenReturn(List.of(user(10L), user(11L)));
+        when(resourceRepository.findResourceRowsByIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(resourceRow(20L)));
+
+        List<BookingResponse> responses = assembler.fromRows(rows, BookingView.of(null, null));
+
+        BookingResponse cancelled = responses.get(1);
+        assertThat(cancelled.getUser().getName()).isEqualTo("User 10");
+        assertThat(cancelled.getCancelledBy().getName()).isEqualTo("User 11");
+        assertThat(cancelled.getResource().getName()).isEqualTo("Room 20");
+        assertThat(cancelled.getResource().getCategory().getName()).isEqualTo("Rooms");
+        assertThat(json(cancelled)).containsKeys("userId", "resourceId", "cancelledById", "purpose", "createdAt");
+    }
+
+    @Test
+    void listViewOnlyLooksUpResources() {
+        when(resourceRepository.findResourceRowsByIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(resourceRow(20L)));
+
+        BookingView view = BookingView.of("resource, bookingDate,startTime,endTime", "resource");
+        List<BookingResponse> responses = assembler.fromRows(rows, view);
+
+        verifyNoInteractions(userRepository);
+        assertThat(json(responses.get(1)).keySet())
+                .containsExactlyInAnyOrder("id", "resource", "bookingDate", "startTime", "endTime");
+    }
+
+    @Test
+    void unexpandedAssociationsAreIdsWithoutLookups() {
+        List<BookingResponse> responses = assembler.fromRows(rows, BookingView.of("userId,cancelledById,status", ""));
+
+        verifyNoInteractions(userRepository, resourceRepository);
+        assertThat(json(responses.get(0))).containsOnlyKeys("id", "userId", "status");
+        assertThat(json(responses.get(1))).containsOnlyKeys("id", "userId", "cancelledById", "status");
+        assertThat(responses.get(1).getCancelledById()).isEqualTo(11L);
+    }
+
+    @Test
+    void associationInFieldsButNotExpandedFallsBackToItsId() {
+        List<BookingResponse> responses = assembler.fromRows(rows, BookingView.of("user,cancelledBy,status", ""));
+
+        verifyNoInteractions(userRepository, resourceRepository);
+        assertThat(json(responses.get(1))).containsOnlyKeys("id", "userId", "cancelledById", "status");
+        assertThat(responses.get(1).getUserId()).isEqualTo(10L);
+        assertThat(responses.get(1).getUser()).isNull();
+    }
+
+    @Test
+    void unknownNamesAreRejected() {
+        assertThatThrownBy(() -> BookingView.of("bookingDate,price", null))
+                .isInstanceOf(ValidationException.class).hasMessageContaining("price");
+        assertThatThrownBy(() -> BookingView.of(null, "category"))
+                .isInstanceOf(ValidationException.class).hasMessageContaining("category");
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private Map<String, Object> json(BookingResponse response) {
+        return jsonMapper.readValue(jsonMapper.writeValueAsString(response), new TypeReference<>() { });
+    }
+
+    private UserResponse user(Long id) {
+        UserResponse user = new UserResponse();
+        user.setId(id);
+        user.setName("User " + id);
+        return user;
+    }
+
+    private Object[] resourceRow(Long id) {
+        ResourceRow row = new ResourceRow(id, "Room " + id, null, 10, "Block A", null, null, ResourceStatus.AVAILABLE,
+                180, 60, 7, 30, null, null, null, 9, 2, LocalDateTime.of(2026, 1, 1, 0, 0));
+        ResourceCategoryResponse category = new ResourceCategoryResponse(1L, "Rooms", null, null, 30, null);
+        return new Object[] {row, category};
+    }
+}
@@ -0,0 +1,223 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.response.BookingResponse;
+import com.crm.smart_CRM.dto.response.CursorPage;
+import com.crm.smart_CRM.dto.response.ResourceResponse;
+import com.crm.smart_CRM.dto.response.ReviewResponse;
+import com.crm.smart_CRM.dto.response.UserResponse;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.Review;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.ReviewRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ValidationException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Walking the keyset pages of each list endpoint visits every row exactly once, in ID order,
+ * and the NDJSON stream writes the same rows, more of them than fit in one streaming chunk.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingService.class, ResourceService.class, ReviewService.class, UserService.class,
+        BookingResponseAssembler.class, BookingAvailabilityIndex.class, BookingLockManager.class,
+        OptimisticRetryExecutor.class, NdjsonStreamer.class, CatalogVersions.class,
+        ResourceCatalog.class, BookingRollupService.class, DashboardCache.class})
+class CursorPaginationTest {
+
+    private static final int USERS = 12;
+    private static final int RESOURCES = 9;
+    private static final int BOOKINGS = NdjsonStreamer.CHUNK_SIZE + 37;
+    private static final int PAGE_SIZE = 7;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ResourceService resourceService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private UserService userService;
+
+    private Long reviewedResourceId;
+
+    @BeforeEach
+    void setUp() {
+        seed();
+    }
+
+    @Test
+    void bookingPagesAndStreamCoverEveryBooking() {
+        List<Long> expected = bookingRepository.findAll().stream().map(Booking::getId).sorted().toList();
+
+        assertThat(walk(bookingService::getAllBookings, BookingResponse::getId)).isEqualTo(expected);
+        assertThat(stream(out -> bookingService.streamAllBookings(null, out), BookingResponse.class,
+                BookingResponse::getId)).isEqualTo(expected);
+
+        Long after = expected.get(100);
+        assertThat(stream(out -> bookingService.streamAllBookings(after, out), BookingResponse.class,
+                BookingResponse::getId)).isEqualTo(expected.subList(101, expected.size()));
+    }
+
+    @Test
+    void userResourceAndReviewPagesAndStreamsCoverEveryRow() {
+        List<Long> users = userRepository.findAll().stream().map(User::getId).sorted().toList();
+        assertThat(walk(userService::getAllUsers, UserResponse::getId)).isEqualTo(users);
+        assertThat(stream(out -> userService.streamAllUsers(null, out), UserResponse.class,
+                UserResponse::getId)).isEqualTo(users);
+
+        List<Long> resources = resourceRepository.findAll().stream().map(Resource::getId).sorted().toList();
+        assertThat(walk(resourceService::getAllResources, ResourceResponse::getId)).isEqualTo(resources);
+        assertThat(stream(out -> resourceService.streamAllResources(null, out), ResourceResponse.class,
+                ResourceResponse::getId)).isEqualTo(resources);
+
+        List<Long> reviews = reviewRepository.findByResourceId(reviewedResourceId).stream()
+                .map(Review::getId).sorted().toList();
+        assertThat(reviews).hasSizeGreaterThan(PAGE_SIZE);
+        assertThat(walk((after, size) -> reviewService.getReviewsByResource(reviewedResourceId, after, size),
+                ReviewResponse::getId)).isEqualTo(reviews);
+        assertThat(stream(out -> reviewService.streamReviewsByResource(reviewedResourceId, null, out),
+                ReviewResponse.class, ReviewResponse::getId)).isEqualTo(reviews);
+    }
+
+    @Test
+    void lastPageHasNoCursorAndSizeIsBounded() {
+        CursorPage<UserResponse> page = userService.getAllUsers(null, CursorPage.MAX_SIZE);
+        assertThat(page.getItems()).hasSize(USERS);
+        assertThat(page.getNextCursor()).isNull();
+
+        assertThatThrownBy(() -> userService.getAllUsers(null, CursorPage.MAX_SIZE + 1))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> userService.getAllUsers(null, 0))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <T> List<Long> walk(BiFunction<Long, Integer, CursorPage<T>> fetch, Function<T, Long> idOf) {
+        List<Long> ids = new ArrayList<>();
+        Long after = null;
+        do {
+            entityManager.clear();
+            CursorPage<T> page = fetch.apply(after, PAGE_SIZE);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            page.getItems().forEach(item -> ids.add(idOf.apply(item)));
+            after = page.getNextCursor();
+        } while (after != null);
+        return ids;
+    }
+
+    private <T> List<Long> stream(Consumer<ByteArrayOutputStream> write, Class<T> type,
+                                  Function<T, Long> idOf) {
+        entityManager.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write.accept(out);
+
+        List<Long> ids = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                ids.add(idOf.apply(jsonMapper.readValue(line, type)));
+            }
+        }
+        return ids;
+    }
+
+    private void seed() {
+        ResourceCategory category = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@campus.edu");
+            user.setPassword("secret");
+            user.setRole(UserRole.STUDENT);
+            users.add(userRepository.save(user));
+        }
+
+        List<Resource> resources = new ArrayList<>();
+        for (int i = 0; i < RESOURCES; i++) {
+            Resource resource = new Resource();
+            resource.setName("Room " + i);
+            resource.setCategory(category);
+            resource.setCapacity(10);
+            resource.setLocation("Block A");
+            resources.add(resourceRepository.save(resource));
+        }
+        reviewedResourceId = resources.get(0).getId();
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking();
+            booking.setUser(users.get(i % USERS));
+            booking.setResource(resources.get(i % RESOURCES));
+            booking.setBookingDate(LocalDate.now().minusDays(1 + i / 10));
+            booking.setStartTime(LocalTime.of(8 + i % 10, 0));
+            booking.setEndTime(LocalTime.of(9 + i % 10, 0));
+            booking.setPurpose("Study session");
+            booking.setStatus(BookingStatus.COMPLETED);
+            booking = bookingRepository.save(booking);
+
+            if (booking.getResource().getId().equals(reviewedResourceId) && i % 2 == 0) {
+                Review review = new Review();
+                review.setBooking(booking);
+                review.setUser(booking.getUser());
+                review.setResource(booking.getResource());
+                review.setRating(1 + i % 5);
+                reviewRepository.save(review);
+            }
+        }
+        resourceRepository.rebuildRatingAggregates();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
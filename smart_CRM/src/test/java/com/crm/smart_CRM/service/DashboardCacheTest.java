@@ -0,0 +1,142 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Readers of the dashboard cache get a stale payload at once while a single refresh replaces
+ * it, and readers without a payload share one load, so many admins refreshing together cost
+ * one recompute. Invalidations only take effect when the writing transaction commits.
+ */
+class DashboardCacheTest {
+
+    private static final int READERS = 32;
+
+    private final NoOpTransactionManager transactionManager = new NoOpTransactionManager();
+    private final ExecutorService readers = Executors.newFixedThreadPool(READERS);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<DashboardCache> caches = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        readers.shutdownNow();
+        caches.forEach(DashboardCache::shutdown);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        DashboardCache cache = cache(60);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> payloads = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            payloads.add(readers.submit(() -> cache.get("admin", () -> {
+                await(release);
+                return loads.incrementAndGet();
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<Integer> payload : payloads) {
+            assertThat(payload.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void stalePayloadIsServedWhileOneRefreshRuns() throws Exception {
+        DashboardCache cache = cache(0);
+        assertThat(cache.get("admin", loads::incrementAndGet)).isEqualTo(1);
+
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Integer>> payloads = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            payloads.add(readers.submit(() -> cache.get("admin", () -> {
+                refreshing.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            })));
+        }
+
+        // Every reader got the stale payload without waiting for the refresh
+        for (Future<Integer> payload : payloads) {
+            assertThat(payload.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        assertThat(refreshing.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        awaitLoads(2);
+        Thread.sleep(100);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.get("admin", loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void invalidationAppliesOnCommit() throws Exception {
+        DashboardCache cache = cache(60);
+        assertThat(cache.get("admin", loads::incrementAndGet)).isEqualTo(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cache.invalidate();
+            // Not committed yet: the payload is still fresh
+            assertThat(cache.get("admin", loads::incrementAndGet)).isEqualTo(1);
+        });
+        assertThat(loads).hasValue(1);
+
+        // Stale after the commit: served once more while it refreshes
+        assertThat(cache.get("admin", loads::incrementAndGet)).isEqualTo(1);
+        awaitLoads(2);
+        assertThat(cache.get("admin", loads::incrementAndGet)).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void incompletePayloadIsRefreshedOnTheNextRead() throws Exception {
+        DashboardCache cache = cache(60);
+        assertThat(cache.get("admin", loads::incrementAndGet, payload -> payload > 1)).isEqualTo(1);
+
+        assertThat(cache.get("admin", loads::incrementAndGet, payload -> payload > 1)).isEqualTo(1);
+        awaitLoads(2);
+        assertThat(cache.get("admin", loads::incrementAndGet, payload -> payload > 1)).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private DashboardCache cache(long ttlSeconds) {
+        DashboardCache cache = new DashboardCache(ttlSeconds, 600, 2);
+        caches.add(cache);
+        return cache;
+    }
+
+    private void awaitLoads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // The refreshed payload is published right after the load returns
+        Thread.sleep(50);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.ResourceStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.response.ResourceResponse;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.validation.ValidationException;
+
+/**
+ * Free-room search returns the AVAILABLE rooms of a category that fit the group and have no
+ * confirmed booking overlapping the window, smallest fitting room first. Cancelled bookings
+ * and bookings that only touch the window don't make a room busy. Only windows a booking
+ * would be accepted for are searched, so every room returned can actually be booked.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ResourceService.class, ReviewService.class, BookingAvailabilityIndex.class, OptimisticRetryExecutor.class,
+        NdjsonStreamer.class, CatalogVersions.class, ResourceCatalog.class, BookingRollupService.class,
+        BookingLockManager.class, DashboardCache.class})
+class FreeResourceSearchTest {
+
+    private static final LocalDate DATE = workingDay(LocalDate.now().plusDays(2));
+    private static final LocalTime FROM = LocalTime.of(10, 0);
+    private static final LocalTime TO = LocalTime.of(12, 0);
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ResourceService resourceService;
+
+    private ResourceCategory rooms;
+    private User member;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        rooms = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+        ResourceCategory labs = categoryRepository.save(new ResourceCategory("Labs", "Computer labs", "icon"));
+
+        member = new User();
+        member.setName("Member");
+        member.setEmail("member@campus.edu");
+        member.setPassword("secret");
+        member.setRole(UserRole.FACULTY);
+        member = userRepository.save(member);
+
+        student = new User();
+        student.setName("Student");
+        student.setEmail("student@campus.edu");
+        student.setPassword("secret");
+        student.setRole(UserRole.STUDENT);
+        student = userRepository.save(student);
+
+        Resource booked = resource("Booked", rooms, 20, ResourceStatus.AVAILABLE);
+        booking(booked, LocalTime.of(11, 0), LocalTime.of(12, 30), BookingStatus.CONFIRMED);
+
+        Resource cancelled = resource("Cancelled", rooms, 40, ResourceStatus.AVAILABLE);
+        booking(cancelled, FROM, TO, BookingStatus.CANCELLED);
+
+        resource("Maintenance", rooms, 25, ResourceStatus.UNDER_MAINTENANCE);
+
+        Resource adjacent = resource("Adjacent", rooms, 30, ResourceStatus.AVAILABLE);
+        booking(adjacent, LocalTime.of(8, 0), FROM, BookingStatus.CONFIRMED);
+        booking(adjacent, TO, LocalTime.of(13, 0), BookingStatus.CONFIRMED);
+
+        resource("Small", rooms, 8, ResourceStatus.AVAILABLE);
+        resource("Workshop", rooms, 35, ResourceStatus.AVAILABLE).setMinBookingDuration(180);
+        resource("Lab", labs, 50, ResourceStatus.AVAILABLE);
+    }
+
+    @Test
+    void bookedAndMaintenanceRoomsAreExcluded() {
+        assertThat(resourceService.findFreeResources(rooms.getId(), 15, DATE, FROM, TO, null))
+                .extracting(ResourceResponse::getName)
+                .containsExactly("Adjacent", "Cancelled");
+    }
+
+    @Test
+    void withoutCategoryEveryCategoryIsSearched() {
+        assertThat(resourceService.findFreeResources(null, 15, DATE, FROM, TO, null))
+                .extracting(ResourceResponse::getName)
+                .containsExactly("Adjacent", "Cancelled", "Lab");
+    }
+
+    @Test
+    void bookedRoomIsFreeOnAnotherDayOrWindow() {
+        assertThat(resourceService.findFreeResources(rooms.getId(), 15, workingDay(DATE.plusDays(1)),
+                FROM, TO, null))
+                .extracting(ResourceResponse::getName)
+                .containsExactly("Booked", "Adjacent", "Cancelled");
+        assertThat(resourceService.findFreeResources(rooms.getId(), 15, DATE, FROM, LocalTime.of(11, 0), null))
+                .extracting(ResourceResponse::getName)
+                .containsExactly("Booked", "Adjacent", "Cancelled");
+    }
+
+    @Test
+    void emptyWindowIsRejected() {
+        assertThatThrownBy(() -> resourceService.findFreeResources(rooms.getId(), 15, DATE, TO, FROM, null))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void roomsWhoseDurationLimitsExcludeTheWindowAreSkipped() {
+        // Workshop needs at least three hours, so it is only offered for a long enough window
+        assertThat(resourceService.findFreeResources(rooms.getId(), 15, DATE, LocalTime.of(14, 0),
+                LocalTime.of(17, 0), null))
+                .extracting(ResourceResponse::getName)
+                .containsExactly("Booked", "Adjacent", "Workshop", "Cancelled");
+        // No room allows more than the default three hours
+        assertThat(resourceService.findFreeResources(rooms.getId(), 15, DATE, LocalTime.of(14, 0),
+                LocalTime.of(18, 0), null))
+                .isEmpty();
+    }
+
+    @Test
+    void windowsNoBookingWouldBeAcceptedForAreRejected() {
+        assertThatThrownBy(() -> resourceService.findFreeResources(null, 1, LocalDate.now().minusDays(1),
+                FROM, TO, null))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Cannot book for past dates");
+        assertThatThrownBy(() -> resourceService.findFreeResources(null, 1, DATE, LocalTime.of(7, 0),
+                LocalTime.of(9, 0), null))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Bookings must be between 8:00 AM and 8:00 PM");
+        assertThatThrownBy(() -> resourceService.findFreeResources(null, 1,
+                DATE.with(TemporalAdjusters.next(DayOfWeek.SUNDAY)), FROM, TO, null))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Bookings not allowed on Sundays");
+    }
+
+    @Test
+    void userRoleLimitsApplyWhenAUserIsGiven() {
+        LocalDate nextWeek = workingDay(LocalDate.now().plusDays(10));
+        assertThat(resourceService.findFreeResources(rooms.getId(), 15, nextWeek, FROM, TO, member.getId()))
+                .extracting(ResourceResponse::getName)
+                .containsExactly("Booked", "Adjacent", "Cancelled");
+        assertThatThrownBy(() -> resourceService.findFreeResources(rooms.getId(), 15, nextWeek, FROM, TO,
+                student.getId()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Cannot book more than 7 days in advance");
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private Resource resource(String name, ResourceCategory category, int capacity, ResourceStatus status) {
+        Resource resource = new Resource();
+        resource.setName(name);
+        resource.setCategory(category);
+        resource.setCapacity(capacity);
+        resource.setLocation("Block A");
+        resource.setStatus(status);
+        return resourceRepository.save(resource);
+    }
+
+    private static LocalDate workingDay(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SUNDAY ? date.plusDays(1) : date;
+    }
+
+    private void booking(Resource resource, LocalTime startTime, LocalTime endTime, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUser(member);
+        booking.setResource(resource);
+        booking.setBookingDate(DATE);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        booking.setPurpose("Study session");
+        booking.setStatus(status);
+        bookingRepository.save(booking);
+    }
+}
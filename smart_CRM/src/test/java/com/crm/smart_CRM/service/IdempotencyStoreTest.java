@@ -0,0 +1,129 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.crm.smart_CRM.exception.BookingConflictException;
+import com.crm.smart_CRM.exception.ServiceUnavailableException;
+
+/**
+ * A key runs its action once: retries replay the result, or wait for it while the first request
+ * is still running, and a different request under the same key is a conflict. Entries are only
+ * evicted once completed and expired; a store full of live entries turns new keys away.
+ */
+class IdempotencyStoreTest {
+
+    private final ExecutorService clients = Executors.newFixedThreadPool(2);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        clients.shutdownNow();
+    }
+
+    @Test
+    void sameKeyAndBodyReplaysTheResult() {
+        IdempotencyStore store = new IdempotencyStore(60, 10);
+
+        assertThat(store.execute("create", "key-1", "body", runs::incrementAndGet)).isEqualTo(1);
+        assertThat(store.execute("create", "key-1", "body", runs::incrementAndGet)).isEqualTo(1);
+        assertThat(store.execute("cancel:1", "key-1", "body", runs::incrementAndGet)).isEqualTo(2);
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsAConflict() {
+        IdempotencyStore store = new IdempotencyStore(60, 10);
+        store.execute("create", "key-1", "body", runs::incrementAndGet);
+
+        assertThatThrownBy(() -> store.execute("create", "key-1", "other body", runs::incrementAndGet))
+                .isInstanceOf(BookingConflictException.class);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void duplicateWaitsForTheRequestInFlight() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(60, 10);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> first = clients.submit(() -> store.execute("create", "key-1", "body", () -> {
+            running.countDown();
+            await(release);
+            return runs.incrementAndGet();
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Integer> duplicate = clients.submit(
+                () -> store.execute("create", "key-1", "body", runs::incrementAndGet));
+
+        Thread.sleep(100);
+        assertThat(duplicate.isDone()).isFalse();
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void expiredKeysRunAgain() {
+        IdempotencyStore store = new IdempotencyStore(0, 10);
+
+        assertThat(store.execute("create", "key-1", "body", runs::incrementAndGet)).isEqualTo(1);
+        assertThat(store.execute("create", "key-1", "other body", runs::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void fullStoreRejectsNewKeysButKeepsLiveEntries() {
+        IdempotencyStore store = new IdempotencyStore(60, 2);
+        store.execute("create", "key-1", "body", runs::incrementAndGet);
+        store.execute("create", "key-2", "body", runs::incrementAndGet);
+
+        assertThatThrownBy(() -> store.execute("create", "key-3", "body", runs::incrementAndGet))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(store.execute("create", "key-1", "body", runs::incrementAndGet)).isEqualTo(1);
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void requestsInFlightAreNotEvictedWhenExpired() throws Exception {
+        IdempotencyStore store = new IdempotencyStore(0, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> first = clients.submit(() -> store.execute("create", "key-1", "body", () -> {
+            running.countDown();
+            await(release);
+            return runs.incrementAndGet();
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> store.execute("create", "key-2", "body", runs::incrementAndGet))
+                .isInstanceOf(ServiceUnavailableException.class);
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+
+        // Completed and expired now, so it makes room
+        assertThat(store.execute("create", "key-2", "body", runs::incrementAndGet)).isEqualTo(2);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
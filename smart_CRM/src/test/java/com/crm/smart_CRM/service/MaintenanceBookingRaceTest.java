@@ -0,0 +1,172 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.BookingRequest;
+import com.crm.smart_CRM.dto.request.MaintenanceRequest;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.BookingRollupRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.validation.ValidationException;
+
+/**
+ * A booking for a day of a maintenance window that had no bookings yet must not slip in while
+ * the maintenance is being scheduled: it waits for the maintenance to commit and is then
+ * rejected, instead of reading the resource as still available.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingService.class, ResourceService.class, BookingRollupService.class, UserService.class,
+        BookingResponseAssembler.class, BookingAvailabilityIndex.class, BookingLockManager.class,
+        OptimisticRetryExecutor.class, NdjsonStreamer.class, CatalogVersions.class, ResourceCatalog.class,
+        DashboardCache.class})
+class MaintenanceBookingRaceTest {
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingRollupRepository rollupRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ResourceService resourceService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private Resource resource;
+    private User user;
+    private LocalDate bookingDay;
+
+    @BeforeEach
+    void setUp() {
+        ResourceCategory category = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+        Resource room = new Resource();
+        room.setName("Room 1");
+        room.setCategory(category);
+        room.setCapacity(30);
+        room.setLocation("Block A");
+        resource = resourceRepository.save(room);
+
+        User admin = new User();
+        admin.setName("Admin");
+        admin.setEmail("admin@campus.edu");
+        admin.setPassword("secret");
+        admin.setRole(UserRole.ADMIN);
+        user = userRepository.save(admin);
+
+        bookingDay = LocalDate.now().plusDays(3);
+        while (bookingDay.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            bookingDay = bookingDay.plusDays(1);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        rollupRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+        resourceRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void bookingOnAnEmptyMaintenanceDayWaitsAndIsRejected() throws Exception {
+        CountDownLatch scheduled = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        // The maintenance transaction stays open until the booking attempt is under way
+        Future<?> maintenance = executor.submit(() -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> {
+                    resourceService.scheduleMaintenance(resource.getId(), maintenance());
+                    scheduled.countDown();
+                    await(commit);
+                }));
+        assertThat(scheduled.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<?> booking = executor.submit(() -> bookingService.createBooking(request()));
+        Thread.sleep(200);
+        assertThat(booking.isDone()).isFalse();
+        commit.countDown();
+        maintenance.get(10, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> booking.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ValidationException.class);
+        assertThat(bookingRepository.findByResourceIdAndStatus(resource.getId(), BookingStatus.CONFIRMED)).isEmpty();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private MaintenanceRequest maintenance() {
+        MaintenanceRequest request = new MaintenanceRequest();
+        request.setMaintenanceStart(bookingDay.atTime(8, 0));
+        request.setMaintenanceEnd(bookingDay.atTime(20, 0));
+        request.setMaintenanceReason("Rewiring");
+        return request;
+    }
+
+    private BookingRequest request() {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(user.getId());
+        request.setResourceId(resource.getId());
+        request.setBookingDate(bookingDay);
+        request.setStartTime(LocalTime.of(10, 0));
+        request.setEndTime(LocalTime.of(11, 0));
+        request.setPurpose("Group study");
+        request.setAttendeesCount(2);
+        return request;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.ReviewRequest;
+import com.crm.smart_CRM.dto.request.ReviewUpdateRequest;
+import com.crm.smart_CRM.dto.response.ReviewResponse;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.Review;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.ReviewRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Rating aggregates stored on resources follow every review submit, edit and delete, and the
+ * reconciliation rebuild restores them from the reviews table after they drift.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ReviewService.class, NdjsonStreamer.class, CatalogVersions.class, ResourceCatalog.class})
+class RatingAggregateTest {
+
+    private static final int RESOURCES = 3;
+    private static final int BOOKINGS_PER_RESOURCE = 6;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private ReviewService reviewService;
+
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        seed();
+    }
+
+    @Test
+    void writesKeepAggregatesEqualToReviews() {
+        List<ReviewResponse> submitted = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            ReviewRequest request = new ReviewRequest(booking.getResource().getId(), booking.getUser().getId(),
+                    booking.getId(), 1 + i % 5, "Review " + i);
+            submitted.add(reviewService.submitReview(request));
+        }
+        assertAggregatesMatchReviews();
+
+        for (int i = 0; i < submitted.size(); i += 3) {
+            ReviewResponse review = submitted.get(i);
+            reviewService.updateReview(review.getId(), userOf(review), new ReviewUpdateRequest(5, null));
+        }
+        // Comment-only edit leaves the aggregates alone
+        ReviewResponse first = submitted.get(1);
+        reviewService.updateReview(first.getId(), userOf(first), new ReviewUpdateRequest(null, "Edited"));
+        assertAggregatesMatchReviews();
+
+        for (int i = 0; i < submitted.size(); i += 4) {
+            reviewService.deleteReview(submitted.get(i).getId(), null, true);
+        }
+        assertAggregatesMatchReviews();
+
+        Long resourceId = bookings.get(0).getResource().getId();
+        List<Integer> ratings = reviewRepository.findByResourceId(resourceId).stream().map(Review::getRating).toList();
+        assertThat(reviewService.getReviewCount(resourceId)).isEqualTo(ratings.size());
+        assertThat(reviewService.getAverageRating(resourceId))
+                .isEqualTo(ratings.stream().mapToInt(Integer::intValue).average().orElse(0.0));
+    }
+
+    @Test
+    void reconciliationRebuildsDriftedAggregates() {
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            Review review = new Review();
+            review.setBooking(booking);
+            review.setUser(booking.getUser());
+            review.setResource(booking.getResource());
+            review.setRating(1 + i % 5);
+            reviewRepository.save(review);
+        }
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE resources SET rating_sum = 7, rating_count = 99, rating_3_count = 1")
+                .executeUpdate();
+
+        assertThat(resourceRepository.countResourcesWithRatingDrift()).isEqualTo(RESOURCES);
+        assertThat(reviewService.reconcileRatingAggregates()).isEqualTo(RESOURCES);
+        assertThat(resourceRepository.countResourcesWithRatingDrift()).isZero();
+        assertAggregatesMatchReviews();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void assertAggregatesMatchReviews() {
+        entityManager.flush();
+        entityManager.clear();
+        for (Resource resource : resourceRepository.findAll()) {
+            List<Review> reviews = reviewRepository.findByResourceId(resource.getId());
+            assertThat(resource.getRatingCount()).isEqualTo(reviews.size());
+            assertThat(resource.getRatingSum()).isEqualTo(reviews.stream().mapToLong(Review::getRating).sum());
+            for (int rating = 1; rating <= 5; rating++) {
+                int current = rating;
+                assertThat(resource.ratingCountOf(rating))
+                        .isEqualTo(reviews.stream().filter(review -> review.getRating() == current).count());
+            }
+        }
+    }
+
+    private Long userOf(ReviewResponse review) {
+        return reviewRepository.findById(review.getId()).orElseThrow().getUser().getId();
+    }
+
+    private void seed() {
+        ResourceCategory category = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+
+        User user = new User();
+        user.setName("Reviewer");
+        user.setEmail("reviewer@campus.edu");
+        user.setPassword("secret");
+        user.setRole(UserRole.STUDENT);
+        user = userRepository.save(user);
+
+        for (int r = 0; r < RESOURCES; r++) {
+            Resource resource = new Resource();
+            resource.setName("Room " + r);
+            resource.setCategory(category);
+            resource.setCapacity(10);
+            resource.setLocation("Block A");
+            resource = resourceRepository.save(resource);
+
+            for (int i = 0; i < BOOKINGS_PER_RESOURCE; i++) {
+                Booking booking = new Booking();
+                booking.setUser(user);
+                booking.setResource(resource);
+                booking.setBookingDate(LocalDate.now().minusDays(1 + i));
+                booking.setStartTime(LocalTime.of(9, 0));
+                booking.setEndTime(LocalTime.of(10, 0));
+                booking.setPurpose("Study session");
+                booking.setStatus(BookingStatus.COMPLETED);
+                bookings.add(bookingRepository.save(booking));
+            }
+        }
+
+        entityManager.flush();
+    }
+}
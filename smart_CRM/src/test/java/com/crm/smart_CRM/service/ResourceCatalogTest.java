@@ -0,0 +1,235 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.ResourceStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.ResourceRequest;
+import com.crm.smart_CRM.dto.request.ReviewRequest;
+import com.crm.smart_CRM.dto.response.ResourceResponse;
+import com.crm.smart_CRM.exception.ResourceNotFoundException;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.ReviewRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Once warmed, catalog reads are answered from the in-memory snapshot with no statement, give
+ * the same answers as the database, and follow committed writes only. Runs without a test
+ * transaction so service calls commit and trigger the after-commit rebuild.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ResourceService.class, ReviewService.class, BookingAvailabilityIndex.class, OptimisticRetryExecutor.class,
+        NdjsonStreamer.class, CatalogVersions.class, ResourceCatalog.class, BookingRollupService.class,
+        BookingLockManager.class, DashboardCache.class})
+class ResourceCatalogTest {
+
+    private static final int RESOURCES = 6;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ResourceService resourceService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private ResourceCatalog resourceCatalog;
+
+    private Statistics statistics;
+    private ResourceCategory rooms;
+    private ResourceCategory labs;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewRepository.deleteAll();
+        bookingRepository.deleteAll();
+        resourceRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void warmedReadsMatchTheDatabaseWithoutStatements() {
+        List<ResourceResponse> all = ResourceService.mapRowsToResourceResponses(
+                resourceRepository.findResourceRowsAfter(0L, Limit.unlimited()));
+        List<ResourceResponse> inLabs = fromDatabase(resourceRepository.findByCategory(labs));
+        List<ResourceResponse> available = fromDatabase(resourceRepository.findByStatus(ResourceStatus.AVAILABLE));
+        List<ResourceResponse> found = fromDatabase(resourceRepository.findByNameContainingIgnoreCase("ROOM 1"));
+
+        resourceCatalog.warm();
+
+        assertThat(statements(() -> resourceService.getAllResources(null, 4).getItems()))
+                .isEqualTo(all.subList(0, 4));
+        assertThat(statements(() -> resourceService.getAllResources(all.get(1).getId(), 2).getItems()))
+                .isEqualTo(all.subList(2, 4));
+        assertThat(statements(() -> resourceService.getResourcesByCategory(labs.getId()))).isEqualTo(inLabs);
+        assertThat(statements(() -> resourceService.getResourcesByStatus(ResourceStatus.AVAILABLE)))
+                .isEqualTo(available);
+        assertThat(statements(() -> resourceService.searchResources("ROOM 1"))).isEqualTo(found);
+        assertThat(statements(() -> resourceService.getResourceCount())).isEqualTo(RESOURCES);
+        assertThat(statements(() -> resourceService.getResourceCountByStatus(ResourceStatus.UNDER_MAINTENANCE)))
+                .isEqualTo(resourceRepository.countByStatus(ResourceStatus.UNDER_MAINTENANCE));
+        assertThat(statements(() -> resourceService.getResourceById(all.get(0).getId()))).isEqualTo(all.get(0));
+        assertThat(statements(() -> resourceService.getAllCategories())).hasSize(2);
+
+        assertThatThrownBy(() -> resourceService.getResourceById(-1L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> resourceService.getResourcesByCategory(-1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void committedWritesPublishANewSnapshot() {
+        resourceCatalog.warm();
+        ResourceCatalog.Snapshot before = resourceCatalog.current();
+        Long resourceId = booking.getResource().getId();
+
+        ResourceResponse created = resourceService.createResource(request("Lab 9", labs.getId(), 40));
+        resourceService.updateResource(resourceId, request("Room 0 renovated", labs.getId(), 14));
+        resourceService.updateResourceStatus(created.getId(), ResourceStatus.UNDER_MAINTENANCE);
+        reviewService.submitReview(new ReviewRequest(resourceId, booking.getUser().getId(), booking.getId(), 4,
+                "Quiet"));
+
+        assertThat(statements(() -> resourceService.getResourceCount())).isEqualTo(RESOURCES + 1);
+        ResourceResponse updated = statements(() -> resourceService.getResourceById(resourceId));
+        assertThat(updated.getName()).isEqualTo("Room 0 renovated");
+        assertThat(updated.getCategory().getId()).isEqualTo(labs.getId());
+        assertThat(updated.getAverageRating()).isEqualTo(4.0);
+        assertThat(updated.getTotalReviews()).isEqualTo(1);
+        assertThat(resourceService.getResourcesByStatus(ResourceStatus.UNDER_MAINTENANCE))
+                .extracting(ResourceResponse::getId).contains(created.getId());
+
+        // Snapshots are never modified in place
+        assertThat(before.resources()).hasSize(RESOURCES);
+        assertThat(before.resourcesById().get(resourceId).getName()).isEqualTo("Room 0");
+    }
+
+    @Test
+    void rolledBackWritesAreNotPublished() {
+        resourceCatalog.warm();
+        ResourceCatalog.Snapshot before = resourceCatalog.current();
+        Long resourceId = booking.getResource().getId();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            resourceService.updateResource(resourceId, request("Never committed", rooms.getId(), 10));
+            resourceService.createResource(request("Never created", rooms.getId(), 10));
+            status.setRollbackOnly();
+        });
+
+        assertThat(resourceCatalog.current()).isSameAs(before);
+        assertThat(resourceService.getResourceById(resourceId).getName()).isEqualTo("Room 0");
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <T> T statements(Supplier<T> read) {
+        long before = statistics.getPrepareStatementCount();
+        T result = read.get();
+        assertThat(statistics.getPrepareStatementCount() - before).as("statements of a catalog read").isZero();
+        return result;
+    }
+
+    private List<ResourceResponse> fromDatabase(List<Resource> resources) {
+        return resources.stream().map(resourceService::mapToResourceResponse).toList();
+    }
+
+    private ResourceRequest request(String name, Long categoryId, int capacity) {
+        return new ResourceRequest(name, categoryId, "Description", capacity, "Block C", null, null, 180, 60, 7,
+                null);
+    }
+
+    private void seed() {
+        rooms = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+        labs = categoryRepository.save(new ResourceCategory("Labs", "Computer labs", "icon"));
+
+        User user = new User();
+        user.setName("Reviewer");
+        user.setEmail("reviewer@campus.edu");
+        user.setPassword("secret");
+        user.setRole(UserRole.STUDENT);
+        user = userRepository.save(user);
+
+        Resource first = null;
+        for (int i = 0; i < RESOURCES; i++) {
+            Resource resource = new Resource();
+            resource.setName("Room " + i);
+            resource.setCategory(i % 2 == 0 ? rooms : labs);
+            resource.setCapacity(10 + i);
+            resource.setLocation("Block A");
+            resource.setStatus(i % 3 == 2 ? ResourceStatus.UNDER_MAINTENANCE : ResourceStatus.AVAILABLE);
+            resource = resourceRepository.save(resource);
+            if (first == null) {
+                first = resource;
+            }
+        }
+
+        Booking completed = new Booking();
+        completed.setUser(user);
+        completed.setResource(first);
+        completed.setBookingDate(LocalDate.now().minusDays(1));
+        completed.setStartTime(LocalTime.of(9, 0));
+        completed.setEndTime(LocalTime.of(10, 0));
+        completed.setPurpose("Study session");
+        completed.setStatus(BookingStatus.COMPLETED);
+        booking = bookingRepository.save(completed);
+    }
+}
@@ -0,0 +1,174 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.crm.smart_CRM.Enum.AccountStatus;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.ResourceCategoryRequest;
+import com.crm.smart_CRM.dto.request.ResourceRequest;
+import com.crm.smart_CRM.dto.request.UserUpdateRequest;
+import com.crm.smart_CRM.dto.response.ResourceResponse;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.SystemConfig;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.SystemConfigRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Reference entities and the email / config-key lookups are served from the second-level cache
+ * on repeated reads, and the admin / profile updates are visible on the next read. Runs without
+ * a test transaction so every service call commits, as it does in production.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ResourceService.class, UserService.class, CacheStatisticsService.class, BookingAvailabilityIndex.class,
+        OptimisticRetryExecutor.class, NdjsonStreamer.class, CatalogVersions.class,
+        ResourceCatalog.class, BookingRollupService.class, BookingLockManager.class, DashboardCache.class})
+class SecondLevelCacheTest {
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private SystemConfigRepository systemConfigRepository;
+
+    @Autowired
+    private ResourceService resourceService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    private Statistics statistics;
+    private User user;
+    private ResourceCategory category;
+    private Resource resource;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        entityManagerFactory.getCache().evictAll();
+
+        category = categoryRepository.save(new ResourceCategory("Rooms", "Study rooms", "icon"));
+
+        user = new User();
+        user.setName("Asha Rao");
+        user.setEmail("asha@campus.edu");
+        user.setPassword("secret");
+        user.setRole(UserRole.STUDENT);
+        user = userRepository.save(user);
+
+        resource = new Resource();
+        resource.setName("Room 101");
+        resource.setCategory(category);
+        resource.setCapacity(10);
+        resource.setLocation("Block A");
+        resource = resourceRepository.save(resource);
+
+        SystemConfig config = new SystemConfig();
+        config.setConfigKey("booking.max-per-day");
+        config.setConfigValue("3");
+        systemConfigRepository.save(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        systemConfigRepository.deleteAll();
+        resourceRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedReadsHitTheCache() {
+        // First reads may fill the cache; repeated reads must not touch the database
+        resourceService.getResourceById(resource.getId());
+        userService.getUserById(user.getId());
+        userService.getUserByEmail(user.getEmail());
+        systemConfigRepository.findByConfigKey("booking.max-per-day");
+
+        assertThat(statements(() -> resourceService.getResourceById(resource.getId())).getName())
+                .isEqualTo("Room 101");
+        assertThat(statements(() -> userService.getUserById(user.getId())).getName()).isEqualTo("Asha Rao");
+        assertThat(statements(() -> userService.getUserByEmail(user.getEmail())).getId()).isEqualTo(user.getId());
+        assertThat(statements(() -> systemConfigRepository.findByConfigKey("booking.max-per-day")))
+                .hasValueSatisfying(config -> assertThat(config.getConfigValue()).isEqualTo("3"));
+
+        Map<String, Object> stats = cacheStatisticsService.getCacheStatistics();
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> regions = (Map<String, Map<String, Object>>) stats.get("regions");
+        assertThat(regions).containsKeys("users", "resources", "resource-categories", "system-config",
+                "users-by-email", "system-config-by-key");
+        assertThat((Long) regions.get("resources").get("hits")).isPositive();
+        assertThat((Long) regions.get("users-by-email").get("hits")).isPositive();
+    }
+
+    @Test
+    void updatesAreVisibleOnTheNextRead() {
+        resourceService.getResourceById(resource.getId());
+        userService.getUserById(user.getId());
+        userService.getUserByEmail(user.getEmail());
+
+        userService.updateProfile(user.getId(), new UserUpdateRequest("Asha R", null, "Physics", null));
+        assertThat(userService.getUserById(user.getId()).getName()).isEqualTo("Asha R");
+        assertThat(userService.getUserByEmail(user.getEmail()).getDepartment()).isEqualTo("Physics");
+
+        userService.changeAccountStatus(user.getId(), AccountStatus.INACTIVE);
+        assertThat(userService.getUserById(user.getId()).getStatus()).isEqualTo(AccountStatus.INACTIVE);
+
+        resourceService.updateCategory(category.getId(), new ResourceCategoryRequest("Labs", "Labs", "icon", 30));
+        ResourceResponse recategorised = resourceService.getResourceById(resource.getId());
+        assertThat(recategorised.getCategory().getName()).isEqualTo("Labs");
+
+        ResourceRequest request = new ResourceRequest("Room 102", category.getId(), "Renovated", 12, "Block B",
+                null, null, 180, 60, 7, null);
+        resourceService.updateResource(resource.getId(), request);
+        ResourceResponse updated = resourceService.getResourceById(resource.getId());
+        assertThat(updated.getName()).isEqualTo("Room 102");
+        assertThat(updated.getCapacity()).isEqualTo(12);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <T> T statements(Supplier<T> read) {
+        long before = statistics.getPrepareStatementCount();
+        T result = read.get();
+        assertThat(statistics.getPrepareStatementCount() - before).as("statements of a cached read").isZero();
+        return result;
+    }
+}
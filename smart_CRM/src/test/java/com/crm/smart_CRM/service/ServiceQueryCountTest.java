@@ -0,0 +1,436 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.crm.smart_CRM.Enum.AccountStatus;
+import com.crm.smart_CRM.Enum.BookingPeriod;
+import com.crm.smart_CRM.Enum.BookingStatus;
+import com.crm.smart_CRM.Enum.RecurrenceFrequency;
+import com.crm.smart_CRM.Enum.ResourceStatus;
+import com.crm.smart_CRM.Enum.SeriesConflictPolicy;
+import com.crm.smart_CRM.Enum.TrendBucket;
+import com.crm.smart_CRM.Enum.UserRole;
+import com.crm.smart_CRM.dto.request.BookingCancellationRequest;
+import com.crm.smart_CRM.dto.request.BookingRequest;
+import com.crm.smart_CRM.dto.request.BookingSeriesRequest;
+import com.crm.smart_CRM.dto.request.BookingView;
+import com.crm.smart_CRM.dto.request.LoginRequest;
+import com.crm.smart_CRM.dto.request.MaintenanceRequest;
+import com.crm.smart_CRM.dto.request.PasswordChangeRequest;
+import com.crm.smart_CRM.dto.request.ResourceCategoryRequest;
+import com.crm.smart_CRM.dto.request.ResourceRequest;
+import com.crm.smart_CRM.dto.request.ReviewRequest;
+import com.crm.smart_CRM.dto.request.ReviewUpdateRequest;
+import com.crm.smart_CRM.dto.request.UserRegistrationRequest;
+import com.crm.smart_CRM.dto.request.UserUpdateRequest;
+import com.crm.smart_CRM.dto.response.ResourceCategoryResponse;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+import com.crm.smart_CRM.model.ResourceCategory;
+import com.crm.smart_CRM.model.Review;
+import com.crm.smart_CRM.model.User;
+import com.crm.smart_CRM.repository.BookingRepository;
+import com.crm.smart_CRM.repository.ResourceCategoryRepository;
+import com.crm.smart_CRM.repository.ResourceRepository;
+import com.crm.smart_CRM.repository.ReviewRepository;
+import com.crm.smart_CRM.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Statements issued by each public service method, counted with Hibernate statistics against
+ * a cold persistence context. Budgets are constant: they depend neither on the number of users
+ * and resources nor on the number of bookings or reviews, so an association turning EAGER again (or a new
+ * per-booking lookup) fails here instead of in production. The batch writes are the exception: IDs are
+ * IDENTITY-generated, so each new booking is its own INSERT on top of a constant number of lookups.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BookingService.class, BookingSeriesService.class, ResourceService.class, ReviewService.class,
+        DashboardService.class,
+        UserService.class, BookingResponseAssembler.class, BookingAvailabilityIndex.class,
+        BookingLockManager.class, OptimisticRetryExecutor.class, NdjsonStreamer.class, CatalogVersions.class,
+        ResourceCatalog.class, BookingRollupService.class, SectionExecutor.class, DashboardCache.class})
+class ServiceQueryCountTest {
+
+    private static final int USERS = 6;
+    private static final int RESOURCES = 4;
+    private static final int BOOKINGS_PER_PAIR = 3;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceCategoryRepository categoryRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingSeriesService bookingSeriesService;
+    @Autowired
+    private ResourceService resourceService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    private Statistics statistics;
+    private SoftAssertions softly;
+
+    private List<User> users;
+    private List<Resource> resources;
+    private Booking futureBooking;
+    private Review review;
+    private LocalDate bookingDay;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        softly = new SoftAssertions();
+        seed();
+    }
+
+    @Test
+    void bookingServiceQueries() {
+        Long userId = users.get(1).getId();
+        Long resourceId = resources.get(0).getId();
+        Long categoryId = resources.get(0).getCategory().getId();
+
+        assertQueries("getUserBookings", 3, () -> bookingService.getUserBookings(userId));
+        assertQueries("getAllBookings", 3, () -> bookingService.getAllBookings(null, null));
+        assertQueries("streamAllBookings", 3, () -> bookingService.streamAllBookings(null, OutputStream.nullOutputStream()));
+        assertQueries("getBookingById", 3, () -> bookingService.getBookingById(futureBooking.getId()));
+        // Sparse views only look up what they expand
+        BookingView listView = BookingView.of("resource,bookingDate,startTime,endTime", "resource");
+        assertQueries("getUserBookings (resource only)", 2, () -> bookingService.getUserBookings(userId, listView));
+        BookingView idsOnly = BookingView.of(null, "");
+        assertQueries("getAllBookings (ids only)", 1, () -> bookingService.getAllBookings(null, null, idsOnly));
+        assertQueries("getBookingById (ids only)", 1,
+                () -> bookingService.getBookingById(futureBooking.getId(), idsOnly));
+        assertQueries("getAvailableSlots", 2, () -> bookingService.getAvailableSlots(resourceId, bookingDay));
+        assertQueries("getAvailabilityMatrix", 2,
+                () -> bookingService.getAvailabilityMatrix(categoryId, bookingDay, bookingDay.plusDays(6)));
+        assertQueries("checkAvailability", 1,
+                () -> bookingService.checkAvailability(resourceId, bookingDay, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        // Counts and minutes come from the booking rollups
+        assertQueries("getBookingStatistics", 2, () -> bookingService.getBookingStatistics());
+
+        BookingCancellationRequest cancellation = new BookingCancellationRequest();
+        cancellation.setCancellationReason("Plans changed");
+        // Plus moving the booking between rollup rows: one read, then an update and an update or insert
+        assertQueries("cancelBooking", 7, () -> bookingService.cancelBooking(futureBooking.getId(), cancellation));
+
+        User newcomer = user("Newcomer", UserRole.FACULTY);
+        entityManager.flush();
+        BookingRequest request = new BookingRequest();
+        request.setUserId(newcomer.getId());
+        request.setResourceId(resources.get(RESOURCES - 1).getId());
+        request.setBookingDate(bookingDay);
+        request.setStartTime(LocalTime.of(18, 0));
+        request.setEndTime(LocalTime.of(19, 0));
+        request.setPurpose("Lab meeting");
+        request.setAttendeesCount(2);
+        // Plus counting it in its rollup row, created on first use
+        assertQueries("createBooking", 9, () -> bookingService.createBooking(request));
+
+        // The whole batch is checked with grouped lookups, then one INSERT per booking
+        List<BookingRequest> batch = new ArrayList<>();
+        for (int r = 0; r < RESOURCES; r++) {
+            batch.add(new BookingRequest(users.get(0).getId(), resources.get(r).getId(), bookingDay,
+                    LocalTime.of(16, 0), LocalTime.of(17, 0), "Department meeting", 4));
+        }
+        assertQueries("createBookings", 8 + batch.size(), () -> bookingService.createBookings(batch));
+
+        BookingSeriesRequest series = new BookingSeriesRequest();
+        series.setUserId(users.get(0).getId());
+        series.setResourceId(resourceId);
+        series.setFrequency(RecurrenceFrequency.WEEKLY);
+        series.setStartDate(bookingDay);
+        series.setUntilDate(bookingDay.plusWeeks(5));
+        series.setStartTime(LocalTime.of(19, 0));
+        series.setEndTime(LocalTime.of(20, 0));
+        series.setPurpose("Weekly seminar");
+        series.setAttendeesCount(8);
+        series.setConflictPolicy(SeriesConflictPolicy.SKIP);
+        // One range query for the six weekly occurrences, then one INSERT per occurrence
+        assertQueries("createSeries", 6 + 6, () -> bookingSeriesService.createSeries(series));
+
+        softly.assertAll();
+    }
+
+    @Test
+    void resourceServiceQueries() {
+        Resource resource = resources.get(0);
+        Long categoryId = resource.getCategory().getId();
+
+        // Ratings are read from the aggregates stored on each resource
+        assertQueries("getAllResources", 1, () -> resourceService.getAllResources(null, null));
+        assertQueries("streamAllResources", 1,
+                () -> resourceService.streamAllResources(null, OutputStream.nullOutputStream()));
+        assertQueries("getResourceById", 1, () -> resourceService.getResourceById(resource.getId()));
+        assertQueries("getResourcesByCategory", 2,
+                () -> resourceService.getResourcesByCategory(categoryId));
+        assertQueries("getResourcesByStatus", 1,
+                () -> resourceService.getResourcesByStatus(ResourceStatus.AVAILABLE));
+        assertQueries("searchResources", 1, () -> resourceService.searchResources("Room"));
+        assertQueries("findFreeResources", 1,
+                () -> resourceService.findFreeResources(null, 1, bookingDay,
+                        LocalTime.of(8, 0), LocalTime.of(9, 0), null));
+        assertQueries("getAllCategories", 1, () -> resourceService.getAllCategories());
+        assertQueries("getCategoryById", 1, () -> resourceService.getCategoryById(categoryId));
+        assertQueries("getResourceCount", 1, () -> resourceService.getResourceCount());
+        assertQueries("getResourceCountByStatus", 1,
+                () -> resourceService.getResourceCountByStatus(ResourceStatus.AVAILABLE));
+        assertQueries("getTopResourcesByBookings", 2, () -> resourceService.getTopResourcesByBookings(3));
+        assertQueries("updateResourceStatus", 3,
+                () -> resourceService.updateResourceStatus(resources.get(1).getId(), ResourceStatus.AVAILABLE));
+
+        ResourceCategoryRequest categoryRequest = new ResourceCategoryRequest("Studios", "Recording", "mic", 30);
+        ResourceCategoryResponse studios = resourceService.createCategory(categoryRequest);
+        assertQueries("createCategory", 2,
+                () -> resourceService.createCategory(new ResourceCategoryRequest("Halls", "Lecture", "hall", null)));
+        assertQueries("updateCategory", 2, () -> resourceService.updateCategory(studios.getId(),
+                new ResourceCategoryRequest("Studios", "Recording and editing", "mic", 30)));
+        assertQueries("deleteCategory", 3, () -> resourceService.deleteCategory(studios.getId()));
+
+        assertQueries("createResource", 2, () -> resourceService.createResource(new ResourceRequest("Room 9",
+                categoryId, "New room", 12, "Block 9", null, null, 180, 60, 7, null)));
+        // Moving to another category also moves the resource's rollup rows
+        Long otherCategoryId = resources.get(1).getCategory().getId();
+        assertQueries("updateResource", 4, () -> resourceService.updateResource(resources.get(2).getId(),
+                new ResourceRequest("Room 2", otherCategoryId, "Moved", 14, "Block 2", null, null, 180, 60, 7, null)));
+        assertQueries("deleteResource", 3, () -> resourceService.deleteResource(resources.get(RESOURCES - 1).getId()));
+
+        MaintenanceRequest maintenance = new MaintenanceRequest();
+        maintenance.setMaintenanceStart(bookingDay.atTime(8, 0));
+        maintenance.setMaintenanceEnd(bookingDay.plusDays(1).atTime(20, 0));
+        maintenance.setMaintenanceReason("Projector replacement");
+        // The cancelled bookings are written as one JDBC batch, their rollup rows are read in one
+        // query and written back as one batch of updates and one of inserts
+        assertQueries("scheduleMaintenance", 7,
+                () -> resourceService.scheduleMaintenance(resource.getId(), maintenance));
+
+        softly.assertAll();
+    }
+
+    @Test
+    void reviewServiceQueries() {
+        Long resourceId = review.getResource().getId();
+        Long userId = review.getUser().getId();
+
+        assertQueries("getReviewsByResource", 2, () -> reviewService.getReviewsByResource(resourceId, null, null));
+        assertQueries("streamReviewsByResource", 1,
+                () -> reviewService.streamReviewsByResource(resourceId, null, OutputStream.nullOutputStream()));
+        assertQueries("getRecentReviewsByResource", 1, () -> reviewService.getRecentReviewsByResource(resourceId, 5));
+        assertQueries("getReviewsByUser", 2, () -> reviewService.getReviewsByUser(userId));
+        assertQueries("getReviewById", 1, () -> reviewService.getReviewById(review.getId()));
+        assertQueries("getAverageRating", 1, () -> reviewService.getAverageRating(resourceId));
+        assertQueries("getRatingDistribution", 1, () -> reviewService.getRatingDistribution(resourceId));
+        assertQueries("getReviewCount", 1, () -> reviewService.getReviewCount(resourceId));
+        assertQueries("hasUserReviewedBooking", 1,
+                () -> reviewService.hasUserReviewedBooking(review.getBooking().getId()));
+        assertQueries("getReviewStatistics", 3, () -> reviewService.getReviewStatistics());
+        assertQueries("getMostReviewedResources", 1, () -> reviewService.getMostReviewedResources(3));
+        assertQueries("getLowestRatedResources", 1, () -> reviewService.getLowestRatedResources(3));
+
+        Booking unreviewed = booking(users.get(1), resources.get(RESOURCES - 1), LocalDate.now().minusDays(1), 15,
+                BookingStatus.COMPLETED);
+        ReviewRequest reviewRequest = new ReviewRequest(unreviewed.getResource().getId(), users.get(1).getId(),
+                unreviewed.getId(), 4, "Quiet and bright");
+        assertQueries("submitReview", 6, () -> reviewService.submitReview(reviewRequest));
+        assertQueries("updateReview", 4,
+                () -> reviewService.updateReview(review.getId(), userId, new ReviewUpdateRequest(5, "Even better")));
+        assertQueries("deleteReview", 3, () -> reviewService.deleteReview(review.getId(), userId, false));
+
+        softly.assertAll();
+    }
+
+    @Test
+    void dashboardServiceQueries() {
+        Long userId = users.get(1).getId();
+
+        assertQueries("getStudentDashboard", 6, () -> dashboardService.getStudentDashboard(userId));
+        assertQueries("getFacultyDashboard", 6, () -> dashboardService.getFacultyDashboard(userId));
+        // Booking aggregates are read from the rollups
+        assertQueries("getAdminDashboard", 16, () -> dashboardService.getAdminDashboard());
+        assertQueries("getBookingTrend", 1, () -> dashboardService.getBookingTrend(7));
+        assertQueries("getBookingTrend (weekly, one category)", 1,
+                () -> dashboardService.getBookingTrend(LocalDate.now().minusDays(89), LocalDate.now(),
+                        TrendBucket.WEEK, resources.get(0).getCategory().getId(), null));
+        assertQueries("countBookings (semester)", 1,
+                () -> dashboardService.countBookings(BookingPeriod.SEMESTER, null, null));
+        assertQueries("getPeakHoursAnalysis", 1, () -> dashboardService.getPeakHoursAnalysis());
+        assertQueries("getDayWiseBookings", 1, () -> dashboardService.getDayWiseBookings());
+        assertQueries("getCategoryUtilization", 2, () -> dashboardService.getCategoryUtilization());
+        assertQueries("getSystemHealthMetrics", 7, () -> dashboardService.getSystemHealthMetrics());
+        assertQueries("getCancellationRateByRole", 1,
+                () -> dashboardService.getCancellationRateByRole());
+        assertQueries("getAverageBookingDurationByCategory", 1,
+                () -> dashboardService.getAverageBookingDurationByCategory());
+
+        softly.assertAll();
+    }
+
+    @Test
+    void userServiceQueries() {
+        User user = users.get(1);
+
+        assertQueries("getUserById", 1, () -> userService.getUserById(user.getId()));
+        assertQueries("getUserByEmail", 1, () -> userService.getUserByEmail(user.getEmail()));
+        assertQueries("getAllUsers", 1, () -> userService.getAllUsers(null, null));
+        assertQueries("streamAllUsers", 1, () -> userService.streamAllUsers(null, OutputStream.nullOutputStream()));
+        assertQueries("getUsersByRole", 1, () -> userService.getUsersByRole(UserRole.STUDENT));
+        assertQueries("getTotalUserCount", 1, () -> userService.getTotalUserCount());
+        assertQueries("getUserCountByRole", 1, () -> userService.getUserCountByRole(UserRole.STUDENT));
+
+        assertQueries("registerUser", 2, () -> userService.registerUser(new UserRegistrationRequest("New Student",
+                "new.student@campus.edu", "secret1", null, "S-100", null, "Physics", UserRole.STUDENT)));
+        assertQueries("login", 1, () -> userService.login(new LoginRequest(user.getEmail(), "secret")));
+        assertQueries("updateProfile", 2, () -> userService.updateProfile(user.getId(),
+                new UserUpdateRequest("Renamed User", "555-0100", "Chemistry", null)));
+        assertQueries("changePassword", 2, () -> userService.changePassword(user.getId(),
+                new PasswordChangeRequest("secret", "secret2", "secret2")));
+        assertQueries("changeUserRole", 2, () -> userService.changeUserRole(user.getId(), UserRole.FACULTY));
+        assertQueries("changeAccountStatus", 2,
+                () -> userService.changeAccountStatus(user.getId(), AccountStatus.INACTIVE));
+
+        softly.assertAll();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void assertQueries(String method, int budget, Runnable call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        call.run();
+        entityManager.flush();
+
+        long statements = statistics.getPrepareStatementCount();
+        softly.assertThat(statements).as(method + " statements").isLessThanOrEqualTo(budget);
+    }
+
+    private void seed() {
+        List<ResourceCategory> categories = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            categories.add(categoryRepository.save(new ResourceCategory("Category " + i, "Description " + i, "icon")));
+        }
+
+        users = new ArrayList<>();
+        users.add(user("Admin User", UserRole.ADMIN));
+        for (int i = 1; i < USERS; i++) {
+            users.add(user("User " + i, i % 2 == 0 ? UserRole.FACULTY : UserRole.STUDENT));
+        }
+
+        resources = new ArrayList<>();
+        for (int i = 0; i < RESOURCES; i++) {
+            Resource resource = new Resource();
+            resource.setName("Room " + i);
+            resource.setCategory(categories.get(i % categories.size()));
+            resource.setCapacity(10 + i);
+            resource.setLocation("Block " + i);
+            resources.add(resourceRepository.save(resource));
+        }
+
+        bookingDay = LocalDate.now().plusDays(3);
+        while (bookingDay.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            bookingDay = bookingDay.plusDays(1);
+        }
+
+        // Every user books every resource in the past (completed, reviewed) and in the future
+        List<Booking> completed = new ArrayList<>();
+        for (int u = 1; u < USERS; u++) {
+            for (int r = 0; r < RESOURCES - 1; r++) {
+                for (int n = 0; n < BOOKINGS_PER_PAIR; n++) {
+                    completed.add(booking(users.get(u), resources.get(r), LocalDate.now().minusDays(1 + n),
+                            8 + u, BookingStatus.COMPLETED));
+                }
+                futureBooking = booking(users.get(u), resources.get(r), bookingDay, 8 + u, BookingStatus.CONFIRMED);
+            }
+        }
+        Booking cancelled = booking(users.get(1), resources.get(0), bookingDay.plusDays(1), 8, BookingStatus.CANCELLED);
+        cancelled.setCancelledBy(users.get(0));
+        cancelled.setCancelledAt(LocalDateTime.now());
+
+        for (Booking booking : completed) {
+            Review entry = new Review();
+            entry.setBooking(booking);
+            entry.setUser(booking.getUser());
+            entry.setResource(booking.getResource());
+            entry.setRating(1 + (int) (booking.getId() % 5));
+            entry.setComment("Fine");
+            review = reviewRepository.save(entry);
+        }
+        resourceRepository.rebuildRatingAggregates();
+        bookingRollupService.rebuildRollups();
+
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(bookingRepository.count()).isGreaterThan((long) USERS * RESOURCES);
+    }
+
+    private User user(String name, UserRole role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name.toLowerCase().replace(' ', '.') + "@campus.edu");
+        user.setPassword("secret");
+        user.setDepartment("Physics");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Booking booking(User user, Resource resource, LocalDate date, int hour, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setResource(resource);
+        booking.setBookingDate(date);
+        booking.setStartTime(LocalTime.of(hour, 0));
+        booking.setEndTime(LocalTime.of(hour + 1, 0));
+        booking.setDuration(60);
+        booking.setPurpose("Study session");
+        booking.setAttendeesCount(2);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+}
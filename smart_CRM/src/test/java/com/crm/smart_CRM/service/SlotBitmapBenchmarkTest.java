@@ -0,0 +1,194 @@
+package com.crm.smart_CRM.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.crm.smart_CRM.Enum.SlotStatus;
+import com.crm.smart_CRM.dto.response.TimeSlot;
+import com.crm.smart_CRM.model.Booking;
+import com.crm.smart_CRM.model.Resource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The slot bitmap must agree with the interval logic it replaces, and should be faster.
+ * The legacy list-of-slots algorithm is kept here as the reference implementation.
+ */
+@Slf4j
+class SlotBitmapBenchmarkTest {
+
+    private static final int DAYS = 2_000;
+    private static final int ROUNDS = 20;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void hourlyTemplateMatchesLegacySlotsForWholeHourBookings() {
+        for (int day = 0; day < DAYS; day++) {
+            List<LocalTime[]> bookings = randomDay(60);
+
+            assertThat(bitmapSlots(bookings)).isEqualTo(legacySlots(bookings));
+        }
+    }
+
+    @Test
+    void finerTemplatesOnlyMarkTheBookedPartOfAnHour() {
+        long occupancy = SlotBitmap.mask(LocalTime.of(9, 30), LocalTime.of(10, 0));
+
+        assertThat(SlotTemplate.of(30).overlay(occupancy))
+                .hasSize(24)
+                .filteredOn(slot -> slot.getStatus() == SlotStatus.BOOKED)
+                .containsExactly(new TimeSlot(LocalTime.of(9, 30), SlotStatus.BOOKED));
+        assertThat(SlotTemplate.of(60).overlay(occupancy))
+                .filteredOn(slot -> slot.getStatus() == SlotStatus.BOOKED)
+                .containsExactly(new TimeSlot(LocalTime.of(9, 0), SlotStatus.BOOKED));
+        assertThat(SlotTemplate.of(15).overlay(0L)).isSameAs(SlotTemplate.of(15).overlay(0L));
+    }
+
+    @Test
+    void indexConflictCheckMatchesIntervalOverlap() {
+        LocalDate date = LocalDate.now();
+
+        for (int day = 0; day < DAYS; day++) {
+            int unit = day % 2 == 0 ? SlotBitmap.SLOT_MINUTES : 1;
+            List<LocalTime[]> bookings = randomDay(unit);
+            BookingAvailabilityIndex index = new BookingAvailabilityIndex();
+            index.warm(Collections.emptyList(), date);
+            for (int i = 0; i < bookings.size(); i++) {
+                index.add(booking(i, date, bookings.get(i)));
+            }
+
+            for (int probe = 0; probe < 8; probe++) {
+                LocalTime[] window = randomInterval(probe % 2 == 0 ? SlotBitmap.SLOT_MINUTES : 1);
+                boolean expected = bookings.stream()
+                        .anyMatch(b -> b[0].isBefore(window[1]) && b[1].isAfter(window[0]));
+
+                assertThat(index.hasConflict(1L, date, window[0], window[1]))
+                        .as("bookings %s, window %s-%s", describe(bookings), window[0], window[1])
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void offGridBookingsMarkEveryTouchedSlot() {
+        long occupancy = SlotBitmap.mask(LocalTime.of(9, 50), LocalTime.of(10, 5));
+
+        assertThat(SlotBitmap.isBooked(occupancy, SlotBitmap.slotIndex(LocalTime.of(9, 45)))).isTrue();
+        assertThat(SlotBitmap.isBooked(occupancy, SlotBitmap.slotIndex(LocalTime.of(10, 0)))).isTrue();
+        assertThat(SlotBitmap.isBooked(occupancy, SlotBitmap.slotIndex(LocalTime.of(10, 15)))).isFalse();
+        assertThat(SlotBitmap.mask(LocalTime.of(6, 0), LocalTime.of(22, 0))).isEqualTo(SlotBitmap.FULL_DAY);
+    }
+
+    @Test
+    void bitmapIsFasterThanLegacySlots() {
+        List<List<LocalTime[]>> days = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            days.add(randomDay(60));
+        }
+
+        long sink = 0;
+        long legacyNanos = Long.MAX_VALUE;
+        long bitmapNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (List<LocalTime[]> bookings : days) {
+                sink += legacySlots(bookings).size();
+            }
+            legacyNanos = Math.min(legacyNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (List<LocalTime[]> bookings : days) {
+                sink += bitmapSlots(bookings).size();
+            }
+            bitmapNanos = Math.min(bitmapNanos, System.nanoTime() - start);
+        }
+
+        log.info("legacy={} ns/op bitmap={} ns/op (sink={})",
+                legacyNanos / DAYS, bitmapNanos / DAYS, sink);
+        assertThat(sink).isPositive();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    /**
+     * The hourly slot generation getAvailableSlots used before the bitmap, with mutable slots
+     */
+    private List<TimeSlot> legacySlots(List<LocalTime[]> bookings) {
+        List<LocalTime> times = new ArrayList<>();
+        List<SlotStatus> statuses = new ArrayList<>();
+        for (int hour = 8; hour < 20; hour++) {
+            times.add(LocalTime.of(hour, 0));
+            statuses.add(SlotStatus.AVAILABLE);
+        }
+        for (LocalTime[] booking : bookings) {
+            for (int i = 0; i < times.size(); i++) {
+                if (!times.get(i).isBefore(booking[0]) && times.get(i).isBefore(booking[1])) {
+                    statuses.set(i, SlotStatus.BOOKED);
+                }
+            }
+        }
+
+        List<TimeSlot> slots = new ArrayList<>(times.size());
+        for (int i = 0; i < times.size(); i++) {
+            slots.add(new TimeSlot(times.get(i), statuses.get(i)));
+        }
+        return slots;
+    }
+
+    private List<TimeSlot> bitmapSlots(List<LocalTime[]> bookings) {
+        long occupancy = 0L;
+        for (LocalTime[] booking : bookings) {
+            occupancy |= SlotBitmap.mask(booking[0], booking[1]);
+        }
+        return SlotTemplate.of(60).overlay(occupancy);
+    }
+
+    private List<LocalTime[]> randomDay(int unit) {
+        List<LocalTime[]> bookings = new ArrayList<>();
+        int count = random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            bookings.add(randomInterval(unit));
+        }
+        return bookings;
+    }
+
+    private LocalTime[] randomInterval(int unit) {
+        int units = 12 * 60 / unit;
+        int from = random.nextInt(units);
+        int to = from + 1 + random.nextInt(Math.min(units - from, Math.max(1, 240 / unit)));
+        return new LocalTime[] {
+                SlotBitmap.DAY_START.plusMinutes((long) from * unit),
+                SlotBitmap.DAY_START.plusMinutes((long) to * unit)
+        };
+    }
+
+    private Booking booking(long id, LocalDate date, LocalTime[] interval) {
+        Resource resource = new Resource();
+        resource.setId(1L);
+
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setResource(resource);
+        booking.setBookingDate(date);
+        booking.setStartTime(interval[0]);
+        booking.setEndTime(interval[1]);
+        return booking;
+    }
+
+    private String describe(List<LocalTime[]> bookings) {
+        List<String> parts = new ArrayList<>();
+        for (LocalTime[] booking : bookings) {
+            parts.add(booking[0] + "-" + booking[1]);
+        }
+        return parts.toString();
+    }
+}